@@ -0,0 +1,41 @@
+package projet.ynov.dizifymusicapi.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import projet.ynov.dizifymusicapi.DizifymusicApiApplication;
+
+/**
+ * Starts the application with the test configuration, on its own in-memory H2 database.
+ * The benchmarks seed their own data, the default data is not created.
+ *
+ * To run against another database, pass its spring.datasource.* properties to the forks,
+ * e.g. -jvmArgsAppend "-Dspring.datasource.url=jdbc:mysql://..." : use a scratch database,
+ * its tables are dropped and created again.
+ */
+final class BenchmarkApplication {
+
+	private BenchmarkApplication() {
+	}
+
+	/**
+	 * Start the application, without the web server.
+	 *
+	 * @param database the name of the in-memory database
+	 * @return the application context, to close at the end of the trial
+	 */
+	static ConfigurableApplicationContext start(String database) {
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(DizifymusicApiApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"seed.enabled = false",
+						"spring.main.banner-mode = off",
+						"logging.level.root = ERROR");
+
+		if (System.getProperty("spring.datasource.url") == null) {
+			return builder.run("--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+		}
+		return builder.run();
+	}
+}
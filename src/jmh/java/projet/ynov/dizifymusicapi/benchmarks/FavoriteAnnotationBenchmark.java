@@ -0,0 +1,125 @@
+package projet.ynov.dizifymusicapi.benchmarks;
+
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Favorite;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.entity.params.FavoriteParams;
+import projet.ynov.dizifymusicapi.entity.params.TitleParams;
+import projet.ynov.dizifymusicapi.entity.params.UserParams;
+import projet.ynov.dizifymusicapi.pagination.CursorPage;
+import projet.ynov.dizifymusicapi.projections.TitleRow;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.FavoriteRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.services.CatalogService;
+import projet.ynov.dizifymusicapi.services.FavoriteAnnotationService;
+import projet.ynov.dizifymusicapi.services.FavoritesIndex;
+
+/**
+ * Favorite annotation of a title page, for a user with half the catalog in favorites.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FavoriteAnnotationBenchmark {
+
+	private static final int TITLES = 1000;
+	private static final int PAGE_SIZE = 50;
+
+	private ConfigurableApplicationContext context;
+	private FavoriteAnnotationService favoriteAnnotationService;
+	private FavoritesIndex favoritesIndex;
+	private CatalogService catalogService;
+
+	private User user;
+	private List<TitleRow> titles;
+
+	@Setup
+	public void setUp() {
+		context = BenchmarkApplication.start("favorite-annotation");
+		favoriteAnnotationService = context.getBean(FavoriteAnnotationService.class);
+		favoritesIndex = context.getBean(FavoritesIndex.class);
+		catalogService = context.getBean(CatalogService.class);
+
+		Date now = new Date();
+		user = context.getBean(UserRepository.class).save(new User(new UserParams("https://i.pravatar.cc/200", "benchmark@gmail.com", "benchmark", "password", now, now)));
+		Artist artist = context.getBean(ArtistRepository.class).save(new Artist(new ArtistParams("benchmark", "https://i.pravatar.cc/200", "description", now, now)));
+
+		List<Title> created = new ArrayList<Title>();
+		for (int i = 0; i < TITLES; i++) {
+			Title title = new Title(new TitleParams("title " + i, Time.valueOf("00:03:30"), now, now));
+			title.setAuthor(artist);
+			created.add(title);
+		}
+		created = context.getBean(TitleRepository.class).saveAll(created);
+
+		List<Favorite> favorites = new ArrayList<Favorite>();
+		for (int i = 0; i < TITLES; i += 2) {
+			Favorite favorite = new Favorite(new FavoriteParams(now, now));
+			favorite.setUser(user);
+			favorite.setTitle(created.get(i));
+			favorites.add(favorite);
+		}
+		context.getBean(FavoriteRepository.class).saveAll(favorites);
+
+		titles = context.getBean(TitleRepository.class).findRowsAfter(0, PageRequest.of(0, PAGE_SIZE));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	/**
+	 * The user favorites are indexed.
+	 */
+	@Benchmark
+	public List<TitleRow> annotateIndexed() {
+		favoriteAnnotationService.annotateTitleRows(user, titles);
+		return titles;
+	}
+
+	/**
+	 * The user favorites are loaded from the database first.
+	 */
+	@Benchmark
+	public List<TitleRow> annotateNotIndexed() {
+		favoritesIndex.invalidate(user.getId());
+		favoriteAnnotationService.annotateTitleRows(user, titles);
+		return titles;
+	}
+
+	/**
+	 * The /api/titles page read, query and annotation.
+	 */
+	@Benchmark
+	public CursorPage<TitleRow> titlesPage() {
+		return catalogService.getTitles(user, null, PAGE_SIZE);
+	}
+}
@@ -0,0 +1,122 @@
+package projet.ynov.dizifymusicapi.benchmarks;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Favorite;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.entity.params.TitleParams;
+import projet.ynov.dizifymusicapi.entity.params.UserParams;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.FavoriteRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+
+/**
+ * A page of /api/favorites for a user with 100k favorites, by OFFSET and by seeking
+ * on the favorites_user_created_at_id_idx index.
+ *
+ * H2 does not read the index backwards, so both sort all the favorites of the user and
+ * measure the same there. Run it against MySQL (see {@link BenchmarkApplication}), where
+ * seek latency stays flat on deep pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FavoritePaginationBenchmark {
+
+	private static final int FAVORITES = 100000;
+	private static final int TITLES = 1000;
+	private static final int PAGE_SIZE = 50;
+	// Above the ids Hibernate hands out during the trial
+	private static final long FIRST_FAVORITE_ID = 1000000;
+
+	@Param({ "1", "100", "1999" })
+	public int page;
+
+	private ConfigurableApplicationContext context;
+	private TransactionTemplate transactionTemplate;
+	private FavoriteRepository favoriteRepository;
+
+	private long userId;
+	// The last favorite of the previous page
+	private Date createdAt;
+	private long id;
+
+	@Setup
+	public void setUp() {
+		context = BenchmarkApplication.start("favorite-pagination");
+		transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		transactionTemplate.setReadOnly(true);
+		favoriteRepository = context.getBean(FavoriteRepository.class);
+
+		Date now = new Date();
+		User user = context.getBean(UserRepository.class).save(new User(new UserParams("https://i.pravatar.cc/200", "benchmark@gmail.com", "benchmark", "password", now, now)));
+		userId = user.getId();
+		Artist artist = context.getBean(ArtistRepository.class).save(new Artist(new ArtistParams("benchmark", "https://i.pravatar.cc/200", "description", now, now)));
+
+		List<Title> titles = new ArrayList<Title>();
+		for (int i = 0; i < TITLES; i++) {
+			Title title = new Title(new TitleParams("title " + i, Time.valueOf("00:03:30"), now, now));
+			title.setAuthor(artist);
+			titles.add(title);
+		}
+		titles = context.getBean(TitleRepository.class).saveAll(titles);
+
+		// One favorite per second, written in batches
+		List<Object[]> rows = new ArrayList<Object[]>();
+		for (int i = 0; i < FAVORITES; i++) {
+			Timestamp date = new Timestamp(now.getTime() - i * 1000L);
+			rows.add(new Object[] { FIRST_FAVORITE_ID + i, userId, titles.get(i % TITLES).getId(), date, date });
+		}
+		context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO favorites (id, user_id, title_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)", rows);
+
+		List<Favorite> previous = transactionTemplate.execute(status -> favoriteRepository.findPageByUser(userId, PageRequest.of(page - 1, PAGE_SIZE)));
+		Favorite last = previous.get(previous.size() - 1);
+		createdAt = last.getCreatedAt();
+		id = last.getId();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Favorite> offset() {
+		return transactionTemplate.execute(status -> favoriteRepository.findPageByUser(userId, PageRequest.of(page, PAGE_SIZE)));
+	}
+
+	@Benchmark
+	public List<Favorite> seek() {
+		return transactionTemplate.execute(status -> favoriteRepository.findPageByUserBefore(userId, createdAt, id, PageRequest.of(0, PAGE_SIZE)));
+	}
+}
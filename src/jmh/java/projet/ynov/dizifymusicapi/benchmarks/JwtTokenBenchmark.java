@@ -0,0 +1,88 @@
+package projet.ynov.dizifymusicapi.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import projet.ynov.dizifymusicapi.enums.Role;
+import projet.ynov.dizifymusicapi.security.JwtClaims;
+import projet.ynov.dizifymusicapi.security.JwtTokenProvider;
+import projet.ynov.dizifymusicapi.security.VerifiedTokenCache;
+
+/**
+ * Token creation on signin/signup, and the token checks done on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+	private JwtTokenProvider jwtTokenProvider;
+	private String secretKey;
+	private String token;
+	private VerifiedTokenCache verifiedTokenCache;
+
+	@Setup
+	public void setUp() {
+		// The token checks do not use the user details services
+		jwtTokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", "secret-key");
+		ReflectionTestUtils.setField(jwtTokenProvider, "validityInMilliseconds", 3600000L);
+		ReflectionTestUtils.invokeMethod(jwtTokenProvider, "init");
+		secretKey = (String) ReflectionTestUtils.getField(jwtTokenProvider, "secretKey");
+
+		token = jwtTokenProvider.createToken(1L, "user", Role.ROLE_USER);
+
+		verifiedTokenCache = new VerifiedTokenCache(new SimpleMeterRegistry(), 10000);
+		verifiedTokenCache.put(token, jwtTokenProvider.parseToken(token));
+	}
+
+	@Benchmark
+	public String createToken() {
+		return jwtTokenProvider.createToken(1L, "user", Role.ROLE_USER);
+	}
+
+	/**
+	 * What the token filter reads from the token before loading the user.
+	 */
+	@Benchmark
+	public JwtClaims parseToken() {
+		return jwtTokenProvider.parseToken(token);
+	}
+
+	/**
+	 * The same before the claims were parsed once: validateToken, getRole and getUsername each
+	 * parsed and verified the token, with the key decoded again.
+	 */
+	@Benchmark
+	public void parseTokenThreeTimes(Blackhole blackhole) {
+		blackhole.consume(Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token));
+		blackhole.consume(((Map<?, ?>) Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().get("role")).get("authority"));
+		blackhole.consume(Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().getSubject());
+	}
+
+	/**
+	 * What the token filter reads for a token it has already verified, before loading its user.
+	 */
+	@Benchmark
+	public JwtClaims cachedToken() {
+		return verifiedTokenCache.get(token);
+	}
+}
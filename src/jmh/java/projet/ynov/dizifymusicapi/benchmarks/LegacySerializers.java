@@ -0,0 +1,495 @@
+package projet.ynov.dizifymusicapi.benchmarks;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Favorite;
+import projet.ynov.dizifymusicapi.entity.Playlist;
+import projet.ynov.dizifymusicapi.entity.PlaylistTitle;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.enums.Role;
+
+/**
+ * Copy of the serializers as they were before the shared formatter and field names,
+ * the baseline of {@link SerializerBenchmark}. Same output as the current ones.
+ */
+final class LegacySerializers {
+
+	private LegacySerializers() {
+	}
+
+	/**
+	 * An object mapper serializing the entities with the legacy serializers.
+	 */
+	static ObjectMapper objectMapper() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		objectMapper.addMixIn(Title.class, LegacyTitle.class);
+		objectMapper.addMixIn(Album.class, LegacyAlbum.class);
+		objectMapper.addMixIn(Artist.class, LegacyArtist.class);
+		objectMapper.addMixIn(Favorite.class, LegacyFavorite.class);
+		objectMapper.addMixIn(Playlist.class, LegacyPlaylist.class);
+		objectMapper.addMixIn(User.class, LegacyUser.class);
+		return objectMapper;
+	}
+
+	@JsonSerialize(using = LegacyTitleSerializer.class)
+	abstract static class LegacyTitle {
+	}
+
+	@JsonSerialize(using = LegacyAlbumSerializer.class)
+	abstract static class LegacyAlbum {
+	}
+
+	@JsonSerialize(using = LegacyArtistSerializer.class)
+	abstract static class LegacyArtist {
+	}
+
+	@JsonSerialize(using = LegacyFavoriteSerializer.class)
+	abstract static class LegacyFavorite {
+	}
+
+	@JsonSerialize(using = LegacyPlaylistSerializer.class)
+	abstract static class LegacyPlaylist {
+	}
+
+	@JsonSerialize(using = LegacyUserSerializer.class)
+	abstract static class LegacyUser {
+	}
+
+	static class LegacyTitleSerializer extends StdSerializer<Title> {
+    
+	    /**
+		 * 
+		 */
+		private static final long serialVersionUID = 1L;
+
+		LegacyTitleSerializer() {
+	        this(null);
+	    }
+  
+	    LegacyTitleSerializer(Class<Title> title) {
+	        super(title);
+	    }
+ 
+	    @Override
+	    public void serialize(Title title, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+			SimpleDateFormat sdf;
+			sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+			sdf.setTimeZone(TimeZone.getTimeZone("CET"));
+		
+	        jgen.writeStartObject();
+	        jgen.writeNumberField("id", title.getId());
+	        jgen.writeStringField("name", title.getName());
+	        jgen.writeStringField("duration", title.getDuration().toString());
+	        jgen.writeStringField("updatedAt", sdf.format(title.getUpdatedAt()));
+	        jgen.writeStringField("createdAt", sdf.format(title.getCreatedAt()));
+        
+	        if (title.getFavoriteId() == 0L) {        	
+	        	jgen.writeStringField("favoriteId", null);
+	        } else {
+	        	jgen.writeNumberField("favoriteId", title.getFavoriteId());
+	        }
+        
+	    	// Set album
+	        Album album = title.getAlbum();
+	        if (album == null) {
+	        	jgen.writeStringField("album", null);
+	        } else {
+	        	jgen.writeFieldName("album");
+	        	jgen.writeStartObject();
+	            jgen.writeNumberField("id", album.getId());
+	            jgen.writeStringField("name", album.getName());
+	            jgen.writeStringField("publicationDate", album.getPublicationDate().toString());
+	            jgen.writeStringField("image", album.getImage());
+	            jgen.writeStringField("updatedAt", sdf.format(album.getUpdatedAt()));
+	            jgen.writeStringField("createdAt", sdf.format(album.getCreatedAt()));
+	            jgen.writeEndObject();
+	        }
+
+	    	// Set author
+	        Artist author = title.getAuthor();
+	    	jgen.writeFieldName("author");
+	    	jgen.writeStartObject();
+	        jgen.writeNumberField("id", author.getId());
+	        jgen.writeStringField("name", author.getName());
+	        jgen.writeStringField("image", author.getImage());
+	        jgen.writeStringField("description", author.getDescription());
+	        jgen.writeStringField("updatedAt", sdf.format(author.getUpdatedAt()));
+	        jgen.writeStringField("createdAt", sdf.format(author.getCreatedAt()));
+	        jgen.writeEndObject();
+
+	    	jgen.writeEndObject();
+	    }
+	}
+
+	static class LegacyAlbumSerializer extends StdSerializer<Album> {
+    
+	    /**
+		 * 
+		 */
+		private static final long serialVersionUID = 1L;
+
+		LegacyAlbumSerializer() {
+	        this(null);
+	    }
+  
+	    LegacyAlbumSerializer(Class<Album> album) {
+	        super(album);
+	    }
+ 
+	    @Override
+	    public void serialize(Album album, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+			SimpleDateFormat sdf;
+			sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+			sdf.setTimeZone(TimeZone.getTimeZone("CET"));
+		
+	        jgen.writeStartObject();
+	        jgen.writeNumberField("id", album.getId());
+	        jgen.writeStringField("name", album.getName());
+	        jgen.writeStringField("image", album.getImage());
+	        jgen.writeStringField("publicationDate", album.getPublicationDate().toString());
+	        jgen.writeStringField("updatedAt", sdf.format(album.getUpdatedAt()));
+	        jgen.writeStringField("createdAt", sdf.format(album.getCreatedAt()));
+        
+	        if (album.getFavoriteId() == 0L) {        	
+	        	jgen.writeStringField("favoriteId", null);
+	        } else {
+	        	jgen.writeNumberField("favoriteId", album.getFavoriteId());
+	        }
+        
+	    	// Set list of titles
+			jgen.writeFieldName("titles");
+	        jgen.writeStartArray();
+	        if (album.getTitles() != null) {
+		        for (Title title : album.getTitles()) {
+		        	jgen.writeStartObject();
+		            jgen.writeNumberField("id", title.getId());
+		            jgen.writeStringField("name", title.getName());
+		            jgen.writeStringField("duration", title.getDuration().toString());
+		            jgen.writeStringField("updatedAt", sdf.format(title.getUpdatedAt()));
+		            jgen.writeStringField("createdAt", sdf.format(title.getCreatedAt()));
+	            
+		            if (title.getFavoriteId() == 0L) {
+		            	jgen.writeStringField("favoriteId", null);
+		            } else {
+		            	jgen.writeNumberField("favoriteId", title.getFavoriteId());
+		            }
+	            
+		            jgen.writeEndObject();
+		        }
+	    	}
+	        jgen.writeEndArray();
+        
+	    	// Set author
+	        Artist author = album.getAuthor();
+	    	jgen.writeFieldName("author");
+	    	jgen.writeStartObject();
+	        jgen.writeNumberField("id", author.getId());
+	        jgen.writeStringField("name", author.getName());
+	        jgen.writeStringField("updatedAt", sdf.format(author.getUpdatedAt()));
+	        jgen.writeStringField("createdAt", sdf.format(author.getCreatedAt()));
+	        jgen.writeEndObject();
+        
+	    	jgen.writeEndObject();
+	    }
+	}
+
+	static class LegacyArtistSerializer extends StdSerializer<Artist> {
+    
+	    /**
+		 * 
+		 */
+		private static final long serialVersionUID = 1L;
+
+		LegacyArtistSerializer() {
+	        this(null);
+	    }
+  
+	    LegacyArtistSerializer(Class<Artist> artist) {
+	        super(artist);
+	    }
+ 
+	    @Override
+	    public void serialize(Artist artist, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+			SimpleDateFormat sdf;
+			sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+			sdf.setTimeZone(TimeZone.getTimeZone("CET"));
+		
+	        jgen.writeStartObject();
+	        jgen.writeNumberField("id", artist.getId());
+	        jgen.writeStringField("name", artist.getName());
+	        jgen.writeStringField("image", artist.getImage());
+	        jgen.writeStringField("description", artist.getDescription());
+	        jgen.writeStringField("updatedAt", sdf.format(artist.getUpdatedAt()));
+	        jgen.writeStringField("createdAt", sdf.format(artist.getCreatedAt()));
+
+	        if (artist.getFavoriteId() == 0L) {        	
+	        	jgen.writeStringField("favoriteId", null);
+	        } else {
+	        	jgen.writeNumberField("favoriteId", artist.getFavoriteId());
+	        }
+        
+	        // Set list of titles
+	    	jgen.writeFieldName("titles");
+	        jgen.writeStartArray();
+	        if (artist.getTitles() != null) {
+		        for (Title title : artist.getTitles()) {
+		        	jgen.writeStartObject();
+		            jgen.writeNumberField("id", title.getId());
+		            jgen.writeStringField("name", title.getName());
+		            jgen.writeStringField("duration", title.getDuration().toString());
+		            jgen.writeStringField("updatedAt", sdf.format(title.getUpdatedAt()));
+		            jgen.writeStringField("createdAt", sdf.format(title.getCreatedAt()));
+	            
+		            if (title.getFavoriteId() == 0L) {
+		            	jgen.writeStringField("favoriteId", null);
+		            } else {
+		            	jgen.writeNumberField("favoriteId", title.getFavoriteId());
+		            }
+	            
+		            if (title.getAlbum() != null) {
+		            	jgen.writeNumberField("album", title.getAlbum().getId());
+		            } else {
+		            	jgen.writeStringField("album", null);
+		            }
+	            
+		            jgen.writeEndObject();
+		        }
+	        }
+	        jgen.writeEndArray();
+
+	        // Set list of albums
+	    	jgen.writeFieldName("albums");
+	        jgen.writeStartArray();
+	        if (artist.getAlbums() != null) {
+		        for (Album album : artist.getAlbums()) {
+		        	jgen.writeStartObject();
+		            jgen.writeNumberField("id", album.getId());
+		            jgen.writeStringField("name", album.getName());
+		            jgen.writeStringField("image", album.getImage());
+		            jgen.writeStringField("publicationDate", sdf.format(album.getPublicationDate()));
+		            jgen.writeStringField("updatedAt", sdf.format(album.getUpdatedAt()));
+		            jgen.writeStringField("createdAt", sdf.format(album.getCreatedAt()));
+		            jgen.writeEndObject();
+		        }
+	        }
+	        jgen.writeEndArray();
+        
+	        jgen.writeEndObject();
+	    }
+	}
+
+	static class LegacyFavoriteSerializer extends StdSerializer<Favorite> {
+    
+	    /**
+		 * 
+		 */
+		private static final long serialVersionUID = 1L;
+
+		LegacyFavoriteSerializer() {
+	        this(null);
+	    }
+  
+	    LegacyFavoriteSerializer(Class<Favorite> favorite) {
+	        super(favorite);
+	    }
+ 
+	    @Override
+	    public void serialize(Favorite favorite, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+			SimpleDateFormat sdf;
+			sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+			sdf.setTimeZone(TimeZone.getTimeZone("CET"));
+		
+	        jgen.writeStartObject();
+	        jgen.writeNumberField("id", favorite.getId());
+	        jgen.writeStringField("updatedAt", sdf.format(favorite.getUpdatedAt()));
+	        jgen.writeStringField("createdAt", sdf.format(favorite.getCreatedAt()));
+        
+	        // Set album
+	        Album album = favorite.getAlbum();
+	        if (album != null) {
+	        	jgen.writeStringField("type", "ALBUM_TYPE");
+	            jgen.writeNumberField("album_id", album.getId());
+	            jgen.writeStringField("name", album.getName());
+	            jgen.writeStringField("publicationDate", album.getPublicationDate().toString());
+	            jgen.writeStringField("image", album.getImage());
+            
+	            Artist albumArtist = album.getAuthor();
+	            if (albumArtist == null) {
+	            	jgen.writeStringField("artist", null);
+	            } else {
+	            	jgen.writeFieldName("artist");
+	            	jgen.writeStartObject();
+	                jgen.writeNumberField("id", albumArtist.getId());
+	                jgen.writeStringField("name", albumArtist.getName());
+	                jgen.writeStringField("image", albumArtist.getImage());
+	                jgen.writeStringField("description", albumArtist.getDescription());
+	                jgen.writeStringField("updatedAt", sdf.format(albumArtist.getUpdatedAt()));
+	                jgen.writeStringField("createdAt", sdf.format(albumArtist.getCreatedAt()));
+	                jgen.writeEndObject();
+	            }
+	        }
+        
+	        // Set artist
+	        Artist artist = favorite.getArtist();
+	        if (artist != null) {
+	        	jgen.writeStringField("type", "ARTIST_TYPE");
+	            jgen.writeNumberField("artist_id", artist.getId());
+	            jgen.writeStringField("name", artist.getName());
+	            jgen.writeStringField("image", artist.getImage());
+	            jgen.writeStringField("image", artist.getImage());
+	        }
+        
+	        // Set titles
+	        Title title = favorite.getTitle();
+	        if (title != null) {
+	        	jgen.writeStringField("type", "TITLE_TYPE");
+	            jgen.writeNumberField("title_id", title.getId());
+	            jgen.writeStringField("name", title.getName());
+	            jgen.writeStringField("duration", title.getDuration().toString());
+            
+	            Artist titleArtist = title.getAuthor();
+	            if (titleArtist == null) {
+	            	jgen.writeStringField("artist", null);
+	            } else {
+	            	jgen.writeFieldName("artist");
+	            	jgen.writeStartObject();
+	                jgen.writeNumberField("id", titleArtist.getId());
+	                jgen.writeStringField("name", titleArtist.getName());
+	                jgen.writeStringField("image", titleArtist.getImage());
+	                jgen.writeStringField("description", titleArtist.getDescription());
+	                jgen.writeStringField("updatedAt", sdf.format(titleArtist.getUpdatedAt()));
+	                jgen.writeStringField("createdAt", sdf.format(titleArtist.getCreatedAt()));
+	                jgen.writeEndObject();
+	            }
+	        }
+        
+	    	jgen.writeEndObject();
+	    }
+	}
+
+	static class LegacyPlaylistSerializer extends StdSerializer<Playlist> {
+    
+	    /**
+		 * 
+		 */
+		private static final long serialVersionUID = 1L;
+
+		LegacyPlaylistSerializer() {
+	        this(null);
+	    }
+  
+	    LegacyPlaylistSerializer(Class<Playlist> playlist) {
+	        super(playlist);
+	    }
+ 
+	    @Override
+	    public void serialize(Playlist playlist, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+			SimpleDateFormat sdf;
+			sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+			sdf.setTimeZone(TimeZone.getTimeZone("CET"));
+		
+	        jgen.writeStartObject();
+	        jgen.writeNumberField("id", playlist.getId());
+	        jgen.writeStringField("name", playlist.getName());
+	        jgen.writeStringField("updatedAt", sdf.format(playlist.getUpdatedAt()));
+	        jgen.writeStringField("createdAt", sdf.format(playlist.getCreatedAt()));
+
+		    // Set list of titles
+		    jgen.writeFieldName("titles");
+		    jgen.writeStartArray();
+		    if (playlist.getTitles() != null) {
+		      for (PlaylistTitle playlistTitle : playlist.getTitles()) {
+		    	   Title title = playlistTitle.getTitle();
+		    	   jgen.writeStartObject();
+		           jgen.writeNumberField("id", title.getId());
+		           jgen.writeStringField("name", title.getName());
+		           jgen.writeStringField("duration", title.getDuration().toString());
+		           jgen.writeStringField("updatedAt", sdf.format(title.getUpdatedAt()));
+		           jgen.writeStringField("createdAt", sdf.format(title.getCreatedAt()));
+	           
+
+		           Artist author = title.getAuthor();
+			       jgen.writeFieldName("author");
+			       jgen.writeStartObject();
+		           jgen.writeNumberField("id", author.getId());
+		           jgen.writeStringField("name", author.getName());
+		           jgen.writeStringField("image", author.getImage());
+		           jgen.writeStringField("description", author.getDescription());
+		           jgen.writeStringField("updatedAt", sdf.format(author.getUpdatedAt()));
+		           jgen.writeStringField("createdAt", sdf.format(author.getCreatedAt()));
+		           jgen.writeEndObject();
+	           
+		           jgen.writeEndObject();
+		        }
+		  	 }
+		     jgen.writeEndArray();
+        
+	    	jgen.writeEndObject();
+	    }
+	}
+
+	static class LegacyUserSerializer extends StdSerializer<User> {
+    
+	    /**
+		 * 
+		 */
+		private static final long serialVersionUID = 1L;
+
+		LegacyUserSerializer() {
+	        this(null);
+	    }
+  
+	    LegacyUserSerializer(Class<User> user) {
+	        super(user);
+	    }
+ 
+	    @Override
+	    public void serialize(User user, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+			SimpleDateFormat sdf;
+			sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+			sdf.setTimeZone(TimeZone.getTimeZone("CET"));
+		
+	        jgen.writeStartObject();
+	        jgen.writeNumberField("id", user.getId());
+	        jgen.writeStringField("username", user.getUsername());
+	        jgen.writeStringField("email", user.getEmail());
+	        jgen.writeStringField("image", user.getImage());
+	        jgen.writeStringField("role", Role.ROLE_USER.toString());
+	        jgen.writeStringField("updatedAt", sdf.format(user.getUpdatedAt()));
+	        jgen.writeStringField("createdAt", sdf.format(user.getCreatedAt()));
+        
+	        if (user.getToken() != null) {
+	        	jgen.writeStringField("token", user.getToken());        	
+	        }
+        
+	        // Set list of playlists
+	 		jgen.writeFieldName("playlists");
+	        jgen.writeStartArray();
+	        if (user.getPlaylists() != null) {
+	 	       for (Playlist playlist : user.getPlaylists()) {
+	 	    	   jgen.writeStartObject();
+	 	           jgen.writeNumberField("id", playlist.getId());
+	 	           jgen.writeStringField("name", playlist.getName());
+	 	           jgen.writeStringField("updatedAt", sdf.format(playlist.getUpdatedAt()));
+	 	           jgen.writeStringField("createdAt", sdf.format(playlist.getCreatedAt()));
+	 	           jgen.writeEndObject();
+	 	        }
+	     	}
+	        jgen.writeEndArray();
+             
+	    	jgen.writeEndObject();
+	    }
+	}
+}
@@ -0,0 +1,205 @@
+package projet.ynov.dizifymusicapi.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Favorite;
+import projet.ynov.dizifymusicapi.entity.Playlist;
+import projet.ynov.dizifymusicapi.entity.PlaylistTitle;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+
+/**
+ * The custom serializers over a page sized catalog, against the legacy ones.
+ *
+ * Run with -prof gc to compare their allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark {
+
+	private static final int ARTISTS = 10;
+	private static final int ALBUMS_PER_ARTIST = 5;
+	private static final int TITLES_PER_ALBUM = 10;
+
+	@Param({ "current", "legacy" })
+	public String serializers;
+
+	private ObjectMapper objectMapper;
+	private OutputStream out;
+
+	private List<Title> titles;
+	private Album album;
+	private Artist artist;
+	private List<Favorite> favorites;
+	private Playlist playlist;
+	private User user;
+
+	@Setup
+	public void setUp() {
+		objectMapper = "legacy".equals(serializers) ? LegacySerializers.objectMapper() : new ObjectMapper();
+		// The output is discarded, and kept open across invocations
+		objectMapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+		out = OutputStream.nullOutputStream();
+
+		List<Artist> artists = catalog();
+		artist = artists.get(0);
+		album = artist.getAlbums().iterator().next();
+
+		// A page of the title list
+		titles = new ArrayList<Title>();
+		for (Artist author : artists) {
+			titles.addAll(author.getTitles());
+		}
+		titles = titles.subList(0, 50);
+
+		favorites = new ArrayList<Favorite>();
+		for (int i = 0; i < 50; i++) {
+			Favorite favorite = new Favorite();
+			favorite.setId(i + 1);
+			favorite.setCreatedAt(new Date());
+			favorite.setUpdatedAt(new Date());
+			if (i % 3 == 0) {
+				favorite.setAlbum(artists.get(i % ARTISTS).getAlbums().iterator().next());
+			} else if (i % 3 == 1) {
+				favorite.setArtist(artists.get(i % ARTISTS));
+			} else {
+				favorite.setTitle(titles.get(i));
+			}
+			favorites.add(favorite);
+		}
+
+		user = new User();
+		user.setId(1);
+		user.setUsername("user");
+		user.setEmail("user@gmail.com");
+		user.setImage("https://i.pravatar.cc/200");
+		user.setCreatedAt(new Date());
+		user.setUpdatedAt(new Date());
+		user.setToken("eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJ1c2VyIn0.signature");
+		Set<Playlist> playlists = new LinkedHashSet<Playlist>();
+		for (int i = 0; i < 10; i++) {
+			Playlist created = new Playlist();
+			created.setId(i + 1);
+			created.setName("playlist " + i);
+			created.setCreatedAt(new Date());
+			created.setUpdatedAt(new Date());
+			created.setUser(user);
+			List<PlaylistTitle> playlistTitles = new ArrayList<PlaylistTitle>();
+			for (Title title : titles.subList(i, i + 20)) {
+				playlistTitles.add(new PlaylistTitle(created, title, (playlistTitles.size() + 1) * PlaylistTitle.POSITION_GAP));
+			}
+			created.setTitles(playlistTitles);
+			playlists.add(created);
+		}
+		user.setPlaylists(playlists);
+		playlist = playlists.iterator().next();
+	}
+
+	@Benchmark
+	public void titles() throws IOException {
+		objectMapper.writeValue(out, titles);
+	}
+
+	@Benchmark
+	public void album() throws IOException {
+		objectMapper.writeValue(out, album);
+	}
+
+	@Benchmark
+	public void artist() throws IOException {
+		objectMapper.writeValue(out, artist);
+	}
+
+	@Benchmark
+	public void favorites() throws IOException {
+		objectMapper.writeValue(out, favorites);
+	}
+
+	@Benchmark
+	public void playlist() throws IOException {
+		objectMapper.writeValue(out, playlist);
+	}
+
+	@Benchmark
+	public void user() throws IOException {
+		objectMapper.writeValue(out, user);
+	}
+
+	private List<Artist> catalog() {
+		List<Artist> artists = new ArrayList<Artist>();
+		long titleId = 1;
+
+		for (int a = 0; a < ARTISTS; a++) {
+			Artist author = new Artist();
+			author.setId(a + 1);
+			author.setName("Artist " + a);
+			author.setImage("https://i.pravatar.cc/200");
+			author.setDescription("Lorem ipsum dolor sit amet, consectetur adipiscing elit.");
+			author.setCreatedAt(new Date());
+			author.setUpdatedAt(new Date());
+			author.setFavoriteId(a % 2 == 0 ? a + 1 : 0);
+			author.setAlbums(new LinkedHashSet<Album>());
+			author.setTitles(new LinkedHashSet<Title>());
+
+			for (int b = 0; b < ALBUMS_PER_ARTIST; b++) {
+				Album created = new Album();
+				created.setId(a * ALBUMS_PER_ARTIST + b + 1);
+				created.setName("Album " + a + "-" + b);
+				created.setImage("https://picsum.photos/200");
+				created.setPublicationDate(new Timestamp(System.currentTimeMillis()));
+				created.setCreatedAt(new Date());
+				created.setUpdatedAt(new Date());
+				created.setAuthor(author);
+				created.setTitles(new LinkedHashSet<Title>());
+
+				for (int t = 0; t < TITLES_PER_ALBUM; t++) {
+					Title title = new Title();
+					title.setId(titleId);
+					title.setName("Title " + titleId);
+					title.setDuration(Time.valueOf("00:03:30"));
+					title.setCreatedAt(new Date());
+					title.setUpdatedAt(new Date());
+					title.setFavoriteId(titleId % 4 == 0 ? titleId : 0);
+					title.setAuthor(author);
+					title.setAlbum(created);
+					created.getTitles().add(title);
+					author.getTitles().add(title);
+					titleId++;
+				}
+				author.getAlbums().add(created);
+			}
+			artists.add(author);
+		}
+		return artists;
+	}
+}
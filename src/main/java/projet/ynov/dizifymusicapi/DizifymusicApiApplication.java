@@ -2,8 +2,10 @@ package projet.ynov.dizifymusicapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class DizifymusicApiApplication {
 
 	public static void main(String[] args) {
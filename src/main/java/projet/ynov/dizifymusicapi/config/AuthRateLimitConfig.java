@@ -0,0 +1,33 @@
+package projet.ynov.dizifymusicapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import projet.ynov.dizifymusicapi.security.AuthRateLimitFilter;
+import projet.ynov.dizifymusicapi.security.RateLimiter;
+
+@Configuration
+@ConditionalOnProperty(name = "security.auth.rate-limit.enabled", matchIfMissing = true)
+public class AuthRateLimitConfig {
+
+	@Bean
+	public FilterRegistrationBean<AuthRateLimitFilter> authRateLimitFilter(MeterRegistry meterRegistry,
+			@Value("${security.auth.rate-limit.address.capacity:20}") int addressCapacity,
+			@Value("${security.auth.rate-limit.address.per-minute:20}") int addressPerMinute,
+			@Value("${security.auth.rate-limit.username.capacity:5}") int usernameCapacity,
+			@Value("${security.auth.rate-limit.username.per-minute:5}") int usernamePerMinute) {
+		AuthRateLimitFilter filter = new AuthRateLimitFilter(new RateLimiter(addressCapacity, addressPerMinute),
+				new RateLimiter(usernameCapacity, usernamePerMinute), meterRegistry);
+
+		FilterRegistrationBean<AuthRateLimitFilter> bean = new FilterRegistrationBean<AuthRateLimitFilter>(filter);
+		bean.addUrlPatterns("/api/auth/*");
+		// Before the security filters, a rejected request costs nothing more
+		bean.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+		return bean;
+	}
+}
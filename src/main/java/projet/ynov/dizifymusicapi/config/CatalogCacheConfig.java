@@ -0,0 +1,75 @@
+package projet.ynov.dizifymusicapi.config;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Hibernate second-level cache of the catalog, backed by Caffeine through JCache.
+ *
+ * Every region is created here with the same bounds, Hibernate fails on a region
+ * missing from {@link #REGIONS}. Region hits, misses and sizes are published as
+ * cache metrics tagged with the region name. The Hibernate region statistics are
+ * only collected with spring.jpa.properties.hibernate.generate_statistics = true.
+ */
+@Configuration
+public class CatalogCacheConfig {
+
+	public static final String ARTISTS = "catalog.artists";
+	public static final String ARTIST_TITLES = "catalog.artists.titles";
+	public static final String ARTIST_ALBUMS = "catalog.artists.albums";
+	public static final String ALBUMS = "catalog.albums";
+	public static final String ALBUM_TITLES = "catalog.albums.titles";
+	public static final String TITLES = "catalog.titles";
+
+	static final String[] REGIONS = { ARTISTS, ARTIST_TITLES, ARTIST_ALBUMS, ALBUMS, ALBUM_TITLES, TITLES };
+
+	@Bean(destroyMethod = "close")
+	public CacheManager catalogCacheManager(MeterRegistry meterRegistry,
+			@Value("${catalog.cache.maximum-size:10000}") long maximumSize,
+			@Value("${catalog.cache.expire-after-write-minutes:60}") long expireAfterWrite) {
+		// One manager per application context, the provider would share it by URI
+		URI uri = URI.create("dizifymusic-catalog-" + UUID.randomUUID());
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager(uri, getClass().getClassLoader());
+
+		for (String region : REGIONS) {
+			CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<Object, Object>();
+			configuration.setMaximumSize(OptionalLong.of(maximumSize));
+			configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(expireAfterWrite)));
+			// Hibernate already stores disassembled entries, no copy on read
+			configuration.setStoreByValue(false);
+			configuration.setNativeStatisticsEnabled(true);
+
+			Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+			CaffeineCacheMetrics.monitor(meterRegistry, cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class), region);
+		}
+
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer catalogCacheCustomizer(CacheManager catalogCacheManager) {
+		return properties -> {
+			properties.put("hibernate.cache.use_second_level_cache", true);
+			properties.put("hibernate.cache.region.factory_class", "jcache");
+			properties.put("hibernate.javax.cache.cache_manager", catalogCacheManager);
+			properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+		};
+	}
+}
@@ -0,0 +1,29 @@
+package projet.ynov.dizifymusicapi.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JDBC batching of the inserts and updates.
+ *
+ * The entity ids are allocated by blocks of 50 from a sequence per table, so Hibernate does
+ * not have to run each insert to know its id and sends them in batches of the same size.
+ * Each property can be overridden with spring.jpa.properties.
+ */
+@Configuration
+public class JdbcBatchConfig {
+
+	public static final int BATCH_SIZE = 50;
+
+	@Bean
+	public HibernatePropertiesCustomizer jdbcBatchCustomizer() {
+		return properties -> {
+			properties.putIfAbsent("hibernate.jdbc.batch_size", BATCH_SIZE);
+			// Groups the statements by table, a batch is sent whenever the table changes
+			properties.putIfAbsent("hibernate.order_inserts", true);
+			properties.putIfAbsent("hibernate.order_updates", true);
+			properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+		};
+	}
+}
@@ -1,9 +1,11 @@
 package projet.ynov.dizifymusicapi.config;
 
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import projet.ynov.dizifymusicapi.security.CurrentUser;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.service.ApiKey;
@@ -22,6 +24,10 @@ public class SwaggerConfig {
           .apis(RequestHandlerSelectors.any())              
           .paths(PathSelectors.any())
           .build()
+          // The @CurrentUser parameters are not sent by the client
+          .ignoredParameterTypes(CurrentUser.class)
+          // The authentication endpoints answer once the password is hashed
+          .genericModelSubstitutes(CompletableFuture.class)
           .securitySchemes(Collections.singletonList(apiKey()));
     }
 	
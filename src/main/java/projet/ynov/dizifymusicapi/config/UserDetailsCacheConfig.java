@@ -0,0 +1,57 @@
+package projet.ynov.dizifymusicapi.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.CachingUserDetailsService;
+import org.springframework.security.core.userdetails.UserCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import projet.ynov.dizifymusicapi.security.CaffeineUserCache;
+import projet.ynov.dizifymusicapi.security.MyAdminDetails;
+import projet.ynov.dizifymusicapi.security.MyUserDetails;
+
+/**
+ * Caches the users and admins loaded to authenticate the tokens, so a user sending requests
+ * is not loaded on each of them.
+ *
+ * Users and admins are cached apart, their usernames may be the same. Their caches are published
+ * as the "user.details" and "admin.details" cache metrics.
+ */
+@Configuration
+public class UserDetailsCacheConfig {
+
+	public static final String USER_DETAILS_CACHE = "userDetailsCache";
+	public static final String ADMIN_DETAILS_CACHE = "adminDetailsCache";
+
+	@Value("${security.user-details.cache.maximum-size:10000}")
+	private long maximumSize;
+
+	@Value("${security.user-details.cache.expire-after-write-seconds:60}")
+	private long expireAfterWriteSeconds;
+
+	@Bean(USER_DETAILS_CACHE)
+	public UserCache userDetailsCache(MeterRegistry meterRegistry) {
+		return new CaffeineUserCache("user.details", maximumSize, expireAfterWriteSeconds, meterRegistry);
+	}
+
+	@Bean(ADMIN_DETAILS_CACHE)
+	public UserCache adminDetailsCache(MeterRegistry meterRegistry) {
+		return new CaffeineUserCache("admin.details", maximumSize, expireAfterWriteSeconds, meterRegistry);
+	}
+
+	@Bean
+	public CachingUserDetailsService cachingUserDetails(MyUserDetails myUserDetails, @Qualifier(USER_DETAILS_CACHE) UserCache userCache) {
+		CachingUserDetailsService cachingUserDetails = new CachingUserDetailsService(myUserDetails);
+		cachingUserDetails.setUserCache(userCache);
+		return cachingUserDetails;
+	}
+
+	@Bean
+	public CachingUserDetailsService cachingAdminDetails(MyAdminDetails myAdminDetails, @Qualifier(ADMIN_DETAILS_CACHE) UserCache adminCache) {
+		CachingUserDetailsService cachingAdminDetails = new CachingUserDetailsService(myAdminDetails);
+		cachingAdminDetails.setUserCache(adminCache);
+		return cachingAdminDetails;
+	}
+}
@@ -16,6 +16,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import projet.ynov.dizifymusicapi.security.JwtTokenFilterConfigurer;
 import projet.ynov.dizifymusicapi.security.JwtTokenProvider;
+import projet.ynov.dizifymusicapi.security.RevokedTokens;
+import projet.ynov.dizifymusicapi.security.VerifiedTokenCache;
 
 @Configuration
 @EnableWebSecurity
@@ -25,6 +27,12 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
   @Autowired
   private JwtTokenProvider jwtTokenProvider;
 
+  @Autowired
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @Autowired
+  private RevokedTokens revokedTokens;
+
   @Override
   protected void configure(HttpSecurity http) throws Exception {
 
@@ -55,7 +63,7 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
     http.exceptionHandling().accessDeniedPage("/login");
 
     // Apply JWT
-    http.apply(new JwtTokenFilterConfigurer(jwtTokenProvider));
+    http.apply(new JwtTokenFilterConfigurer(jwtTokenProvider, verifiedTokenCache, revokedTokens));
 
     // Optional, if you want to test the API from a browser
     // http.httpBasic();
@@ -11,8 +11,6 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,20 +19,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import projet.ynov.dizifymusicapi.entity.Album;
 import projet.ynov.dizifymusicapi.entity.Artist;
-import projet.ynov.dizifymusicapi.entity.Favorite;
 import projet.ynov.dizifymusicapi.entity.Title;
 import projet.ynov.dizifymusicapi.entity.User;
 import projet.ynov.dizifymusicapi.entity.params.AlbumParams;
 import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+import projet.ynov.dizifymusicapi.pagination.CursorPage;
+import projet.ynov.dizifymusicapi.projections.AlbumRow;
 import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
 import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
-import projet.ynov.dizifymusicapi.repositories.FavoriteRepository;
 import projet.ynov.dizifymusicapi.repositories.TitleRepository;
-import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.security.CurrentUser;
+import projet.ynov.dizifymusicapi.services.CatalogCacheEvictor;
+import projet.ynov.dizifymusicapi.services.CatalogService;
+import projet.ynov.dizifymusicapi.services.CatalogWriteService;
 
 @RestController
 @RequestMapping("/api")
@@ -47,60 +49,22 @@ public class AlbumController {
 	@Autowired
 	private TitleRepository titleRepository;
 	@Autowired
-	private UserRepository userRepository;
+	private CatalogService catalogService;
 	@Autowired
-	private FavoriteRepository favoriteRepository;
-	
-	private User getUserLogged() {
-		Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-		String username;
-		
-		if (principal instanceof UserDetails) {
-			username = ((UserDetails)principal).getUsername();
-		} else {
-			username = principal.toString();
-		}
-		
-		return userRepository.findByUsername(username);
-	}
+	private CatalogCacheEvictor catalogCacheEvictor;
+	@Autowired
+	private CatalogWriteService catalogWriteService;
 	
 	/**
-	 * Get all Album list.
+	 * Get a page of the Album list, ordered by id.
 	 *
-	 * @return the list
+	 * @param cursor the next cursor of the previous page, null for the first page
+	 * @param limit the page size
+	 * @return the page
 	 */
 	@GetMapping("/albums")
-	public List<Album> getAllAlbums() {
-		List<Album> albums = albumRepository.findAll();
-		User userLogged = getUserLogged();
-		
-		
-		for (Album album : albums) {
-			if(userLogged == null) {
-				album.setFavoriteId(0L);
-			} else {
-				Favorite albumfavorite = favoriteRepository.findByUserAndAlbum(userLogged.getId(), album.getId());
-				
-				if (albumfavorite == null) {
-					album.setFavoriteId(0L);
-				} else {
-					album.setFavoriteId(albumfavorite.getId());
-				}
-				
-				for (Title title : album.getTitles()) {
-					Favorite titleFavorite = favoriteRepository.findByUserAndTitle(userLogged.getId(), title.getId());
-					
-					if (titleFavorite == null) {
-						title.setFavoriteId(0L);
-					} else {
-						title.setFavoriteId(titleFavorite.getId());
-					}
-				}
-			}
-		}
-	
-		
-		return albums;
+	public CursorPage<AlbumRow> getAllAlbums(@RequestParam(value = "cursor", required = false) String cursor, @RequestParam(value = "limit", defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit, @CurrentUser User userLogged) {
+		return catalogService.getAlbums(userLogged, cursor, limit);
     }
 
 	/**
@@ -111,36 +75,8 @@ public class AlbumController {
 	 * @throws GlobalHttpException the resource not found exception
 	 */
 	@GetMapping("/albums/{id}")
-	public ResponseEntity<Album> getAlbumsById(@PathVariable(value = "id") Long albumId) throws GlobalHttpException {
-		Album album = albumRepository
-			  				.findById(albumId)
-	  						.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Album not found with id : " + albumId));
-		
-		User userLogged = getUserLogged();
-		
-		if(userLogged == null) {
-			album.setFavoriteId(0L);
-		} else {
-			Favorite albumfavorite = favoriteRepository.findByUserAndAlbum(userLogged.getId(), album.getId());
-			
-			if (albumfavorite == null) {
-				album.setFavoriteId(0L);
-			} else {
-				album.setFavoriteId(albumfavorite.getId());
-			}
-			
-			for (Title title : album.getTitles()) {
-				Favorite titleFavorite = favoriteRepository.findByUserAndTitle(userLogged.getId(), title.getId());
-				
-				if (titleFavorite == null) {
-					title.setFavoriteId(0L);
-				} else {
-					title.setFavoriteId(titleFavorite.getId());
-				}
-			}
-		}
-	  
-		return ResponseEntity.ok().body(album);
+	public ResponseEntity<Album> getAlbumsById(@PathVariable(value = "id") Long albumId, @CurrentUser User userLogged) throws GlobalHttpException {
+		return ResponseEntity.ok().body(catalogService.getAlbum(albumId, userLogged));
 	}
 
 	/**
@@ -175,7 +111,9 @@ public class AlbumController {
 	    }
 		
 		try {
-			return albumRepository.save(album);
+			Album albumCreated = albumRepository.save(album);
+			catalogCacheEvictor.albumChanged(albumCreated);
+			return albumCreated;
 		} catch (DataIntegrityViolationException e) {
 			throw new DataIntegrityViolationException("Name already taken.");
 		}
@@ -214,7 +152,8 @@ public class AlbumController {
 
 	    album.setUpdatedAt(new Date());
 	    final Album updatedAlbum = albumRepository.save(album);
-	    return ResponseEntity.ok(updatedAlbum);
+	    catalogCacheEvictor.albumChanged(updatedAlbum);
+	    return ResponseEntity.ok(catalogService.getAlbum(updatedAlbum.getId(), null));
 	}
 
 	/**
@@ -227,11 +166,8 @@ public class AlbumController {
 	@PreAuthorize("hasRole('ROLE_ADMIN')")
 	@DeleteMapping("/albums/{id}")
 	public Map<String, Boolean> deleteAlbum(@PathVariable(value = "id") Long albumId) throws Exception {
-	    Album album = albumRepository
-	            			.findById(albumId)
-	            			.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Album not found with id : " + albumId));
-
-	    albumRepository.delete(album);
+	    Album album = catalogWriteService.deleteAlbum(albumId);
+	    catalogCacheEvictor.albumChanged(album);
 	    Map<String, Boolean> response = new HashMap<>();
 	    response.put("deleted", Boolean.TRUE);
 	    return response;
@@ -2,7 +2,6 @@ package projet.ynov.dizifymusicapi.controllers;
 
 import java.util.Date;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,8 +9,6 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,19 +17,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import projet.ynov.dizifymusicapi.entity.Album;
 import projet.ynov.dizifymusicapi.entity.Artist;
-import projet.ynov.dizifymusicapi.entity.Favorite;
-import projet.ynov.dizifymusicapi.entity.Title;
 import projet.ynov.dizifymusicapi.entity.User;
 import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
 import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+import projet.ynov.dizifymusicapi.pagination.CursorPage;
+import projet.ynov.dizifymusicapi.projections.ArtistRow;
 import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
-import projet.ynov.dizifymusicapi.repositories.FavoriteRepository;
-import projet.ynov.dizifymusicapi.repositories.TitleRepository;
-import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.security.CurrentUser;
+import projet.ynov.dizifymusicapi.services.CatalogCacheEvictor;
+import projet.ynov.dizifymusicapi.services.CatalogService;
+import projet.ynov.dizifymusicapi.services.CatalogWriteService;
 
 @RestController
 @RequestMapping("/api")
@@ -41,58 +39,22 @@ public class ArtistController {
 	@Autowired
 	private ArtistRepository artistRepository;
 	@Autowired
-	private UserRepository userRepository;
+	private CatalogService catalogService;
 	@Autowired
-	private FavoriteRepository favoriteRepository;
-	
-	private User getUserLogged() {
-		Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-		String username;
-		
-		if (principal instanceof UserDetails) {
-			username = ((UserDetails)principal).getUsername();
-		} else {
-			username = principal.toString();
-		}
-		
-		return userRepository.findByUsername(username);
-	}
+	private CatalogCacheEvictor catalogCacheEvictor;
+	@Autowired
+	private CatalogWriteService catalogWriteService;
 	
 	/**
-	 * Get all Artist list.
+	 * Get a page of the Artist list, ordered by id.
 	 *
-	 * @return the list
+	 * @param cursor the next cursor of the previous page, null for the first page
+	 * @param limit the page size
+	 * @return the page
 	 */
 	@GetMapping("/artists")
-	public List<Artist> getAllArtists() {
-		List<Artist> artists = artistRepository.findAll();
-		User userLogged = getUserLogged();
-		
-		
-		for (Artist artist: artists) {
-			if(userLogged == null) {
-				artist.setFavoriteId(0L);
-			} else {
-				Favorite artistFavorite = favoriteRepository.findByUserAndAlbum(userLogged.getId(), artist.getId());
-				
-				if (artistFavorite == null) {
-					artist.setFavoriteId(0L);
-				} else {
-					artist.setFavoriteId(artistFavorite.getId());
-				}
-				
-				for (Title title : artist.getTitles()) {
-					Favorite titleFavorite = favoriteRepository.findByUserAndTitle(userLogged.getId(), title.getId());
-					
-					if (titleFavorite == null) {
-						title.setFavoriteId(0L);
-					} else {
-						title.setFavoriteId(titleFavorite.getId());
-					}
-				}
-			}
-		}
-		return artistRepository.findAll();
+	public CursorPage<ArtistRow> getAllArtists(@RequestParam(value = "cursor", required = false) String cursor, @RequestParam(value = "limit", defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit, @CurrentUser User userLogged) {
+		return catalogService.getArtists(userLogged, cursor, limit);
     }
 
 	/**
@@ -103,36 +65,8 @@ public class ArtistController {
 	 * @throws GlobalHttpException the resource not found exception
 	 */
 	@GetMapping("/artists/{id}")
-	public ResponseEntity<Artist> getArtistsById(@PathVariable(value = "id") Long artistId) throws GlobalHttpException {
-		
-		Artist artist = artistRepository
-			  				.findById(artistId)
-	  						.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Artist not found with id : " + artistId));
-		
-		User userLogged = getUserLogged();
-		if(userLogged == null) {
-			artist.setFavoriteId(0L);
-		} else {
-			Favorite artistFavorite = favoriteRepository.findByUserAndArtist(userLogged.getId(), artist.getId());
-			
-			if (artistFavorite == null) {
-				artist.setFavoriteId(0L);
-			} else {
-				artist.setFavoriteId(artistFavorite.getId());
-			}
-			
-			for (Title title : artist.getTitles()) {
-				Favorite titleFavorite = favoriteRepository.findByUserAndTitle(userLogged.getId(), title.getId());
-				
-				if (titleFavorite == null) {
-					title.setFavoriteId(0L);
-				} else {
-					title.setFavoriteId(titleFavorite.getId());
-				}
-			}
-		}
-	  
-		return ResponseEntity.ok().body(artist);
+	public ResponseEntity<Artist> getArtistsById(@PathVariable(value = "id") Long artistId, @CurrentUser User userLogged) throws GlobalHttpException {
+		return ResponseEntity.ok().body(catalogService.getArtist(artistId, userLogged));
 	}
 
 	/**
@@ -155,7 +89,9 @@ public class ArtistController {
 		Artist artist = new Artist(params);
 		
 		try {
-			return artistRepository.save(artist);
+			Artist artistCreated = artistRepository.save(artist);
+			catalogCacheEvictor.artistChanged(artistCreated);
+			return artistCreated;
 		} catch (DataIntegrityViolationException e) {
 			throw new DataIntegrityViolationException("Name already taken.");
 		}
@@ -190,7 +126,8 @@ public class ArtistController {
 
 	    artist.setUpdatedAt(new Date());
 	    final Artist updatedArtist = artistRepository.save(artist);
-	    return ResponseEntity.ok(updatedArtist);
+	    catalogCacheEvictor.artistChanged(updatedArtist);
+	    return ResponseEntity.ok(catalogService.getArtist(updatedArtist.getId(), null));
 	}
 
 	/**
@@ -203,11 +140,8 @@ public class ArtistController {
 	@PreAuthorize("hasRole('ROLE_ADMIN')")
 	@DeleteMapping("/artists/{id}")
 	public Map<String, Boolean> deleteArtist(@PathVariable(value = "id") Long artistId) throws Exception {
-	    Artist artist = artistRepository
-	            			.findById(artistId)
-	            			.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Artist not found with id : " + artistId));
-
-	    artistRepository.delete(artist);
+	    Artist artist = catalogWriteService.deleteArtist(artistId);
+	    catalogCacheEvictor.artistChanged(artist);
 	    Map<String, Boolean> response = new HashMap<>();
 	    response.put("deleted", Boolean.TRUE);
 	    return response;
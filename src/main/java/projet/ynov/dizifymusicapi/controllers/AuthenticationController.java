@@ -1,12 +1,20 @@
 package projet.ynov.dizifymusicapi.controllers;
 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -17,12 +25,13 @@ import projet.ynov.dizifymusicapi.entity.Admin;
 import projet.ynov.dizifymusicapi.entity.User;
 import projet.ynov.dizifymusicapi.entity.params.UserParams;
 import projet.ynov.dizifymusicapi.enums.Role;
-import projet.ynov.dizifymusicapi.exceptions.CustomException;
 import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
 import projet.ynov.dizifymusicapi.repositories.AdminRepository;
 import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.security.JwtClaims;
 import projet.ynov.dizifymusicapi.security.JwtTokenProvider;
-import org.springframework.security.core.AuthenticationException;
+import projet.ynov.dizifymusicapi.security.RevokedTokens;
+import projet.ynov.dizifymusicapi.services.PasswordHashingService;
 
 @RestController
 @RequestMapping("/api")
@@ -32,11 +41,17 @@ public class AuthenticationController {
 	@Autowired
 	private AdminRepository adminRepository;
 	@Autowired
-	private PasswordEncoder passwordEncoder;
+	private PasswordHashingService passwordHashingService;
+	@Autowired
+	@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	private TaskExecutor taskExecutor;
 
 	@Autowired
 	private JwtTokenProvider jwtTokenProvider;
 
+	@Autowired
+	private RevokedTokens revokedTokens;
+
 	@Autowired
 	private AuthenticationManager authenticationManager;
 	
@@ -47,28 +62,31 @@ public class AuthenticationController {
 	 * @return the User
 	 */
 	@PostMapping("/auth/signup")
-	public User signupUser(@Validated @RequestBody UserParams params) {
-
-		params.setPassword(passwordEncoder.encode(params.getPassword()));
-		params.setCreatedAt(new Date());
-		params.setUpdatedAt(new Date());
+	public CompletableFuture<User> signupUser(@Validated @RequestBody UserParams params) {
+		// The hash is computed on the hashing executor, the user is then saved on the application
+		// task executor so the hashing threads are not held by the database
+		return passwordHashingService.encode(params.getPassword()).thenApplyAsync(encodedPassword -> {
+			params.setPassword(encodedPassword);
+			params.setCreatedAt(new Date());
+			params.setUpdatedAt(new Date());
 		
-		if (params.getImage() == null || params.getImage() == "") {
-			params.setImage("https://i.pravatar.cc/200");
-		}
+			if (params.getImage() == null || params.getImage().isEmpty()) {
+				params.setImage("https://i.pravatar.cc/200");
+			}
 		
-		User user = new User(params);
+			User user = new User(params);
 		
-		try {
-			User userCreated = userRepository.save(user);
+			try {
+				User userCreated = userRepository.save(user);
 
-			String token = jwtTokenProvider.createToken(user.getUsername(), Role.ROLE_USER);
-			userCreated.setToken(token);
+				String token = jwtTokenProvider.createToken(userCreated.getId(), userCreated.getUsername(), Role.ROLE_USER);
+				userCreated.setToken(token);
 			
-			return userCreated;
-		} catch (DataIntegrityViolationException e) {
-			throw new DataIntegrityViolationException("Email or username already taken.");
-		}
+				return userCreated;
+			} catch (DataIntegrityViolationException e) {
+				throw new DataIntegrityViolationException("Email or username already taken.");
+			}
+		}, taskExecutor);
 	}
 	
 	/**
@@ -78,28 +96,29 @@ public class AuthenticationController {
 	 * @return the Admin
 	 */
 	@PostMapping("/auth/admin/signup")
-	public Admin signupAdmin(@Validated @RequestBody UserParams params) {
-
-		params.setPassword(passwordEncoder.encode(params.getPassword()));
-		params.setCreatedAt(new Date());
-		params.setUpdatedAt(new Date());
+	public CompletableFuture<Admin> signupAdmin(@Validated @RequestBody UserParams params) {
+		return passwordHashingService.encode(params.getPassword()).thenApplyAsync(encodedPassword -> {
+			params.setPassword(encodedPassword);
+			params.setCreatedAt(new Date());
+			params.setUpdatedAt(new Date());
 		
-		if (params.getImage() == null || params.getImage() == "") {
-			params.setImage("https://i.pravatar.cc/200");
-		}
+			if (params.getImage() == null || params.getImage().isEmpty()) {
+				params.setImage("https://i.pravatar.cc/200");
+			}
 		
-		Admin admin = new Admin(params);
+			Admin admin = new Admin(params);
 		
-		try {
-			Admin adminCreated = adminRepository.save(admin);
+			try {
+				Admin adminCreated = adminRepository.save(admin);
 
-			String token = jwtTokenProvider.createToken(admin.getUsername(), Role.ROLE_ADMIN);
-			adminCreated.setToken(token);
+				String token = jwtTokenProvider.createToken(adminCreated.getId(), adminCreated.getUsername(), Role.ROLE_ADMIN);
+				adminCreated.setToken(token);
 			
-			return adminCreated;
-		} catch (DataIntegrityViolationException e) {
-			throw new DataIntegrityViolationException("Email or username already taken.");
-		}
+				return adminCreated;
+			} catch (DataIntegrityViolationException e) {
+				throw new DataIntegrityViolationException("Email or username already taken.");
+			}
+		}, taskExecutor);
 	}
 	
 
@@ -111,21 +130,23 @@ public class AuthenticationController {
 	 * @return the Admin
 	 */
 	@PostMapping("/auth/admin/signin")
-	public Admin signinAdmin(@RequestBody UserParams params) {
-		try {
-		  Admin adminFinded = adminRepository.findByUsername(params.getUsername());
-		  
-		  if (adminFinded != null && passwordEncoder.matches(params.getPassword(), adminFinded.getPassword())) {	    	  
-		      String token = jwtTokenProvider.createToken(params.getUsername(), Role.ROLE_ADMIN);
-		      adminFinded.setToken(token);
-		      
-		      return adminFinded;
-	      }
-	      
-		  throw new CustomException("Invalid username/password supplied", HttpStatus.UNPROCESSABLE_ENTITY);
-	    } catch (AuthenticationException e) {
-	    	throw new GlobalHttpException(HttpStatus.NOT_FOUND, "Admin not found with username : " + params.getUsername());
-	    }
+	public CompletableFuture<Admin> signinAdmin(@RequestBody UserParams params) {
+		Admin adminFinded = adminRepository.findByUsername(params.getUsername());
+		if (adminFinded == null) {
+			throw invalidCredentials();
+		}
+
+		// A wrong password fails the future, its status is answered on the async dispatch
+		return passwordHashingService.matches(params.getPassword(), adminFinded.getPassword()).thenApply(matches -> {
+			if (!matches) {
+				throw invalidCredentials();
+			}
+
+			String token = jwtTokenProvider.createToken(adminFinded.getId(), adminFinded.getUsername(), Role.ROLE_ADMIN);
+			adminFinded.setToken(token);
+
+			return adminFinded;
+		});
 	}
 	
 	/**
@@ -135,20 +156,65 @@ public class AuthenticationController {
 	 * @return the User
 	 */
 	@PostMapping("/auth/signin")
-	public User signin(@RequestBody UserParams params) {
-		try {	  
-	      User userFinded = userRepository.findByUsername(params.getUsername());
-	      
-	      if (userFinded != null && passwordEncoder.matches(params.getPassword(), userFinded.getPassword())) {	    	  
-	    	  String token = jwtTokenProvider.createToken(params.getUsername(), Role.ROLE_USER);
-	    	  userFinded.setToken(token);
-	    	  
-	    	  return userFinded;
-	      }
-
-	      throw new CustomException("Invalid username/password supplied", HttpStatus.UNPROCESSABLE_ENTITY);
-	    } catch (AuthenticationException e) {
-	      throw new GlobalHttpException(HttpStatus.NOT_FOUND, "User not found with username : " + params.getUsername());
-	    }
+	public CompletableFuture<User> signin(@RequestBody UserParams params) {
+		User userFinded = userRepository.findWithPlaylistsByUsername(params.getUsername());
+		if (userFinded == null) {
+			throw invalidCredentials();
+		}
+
+		// A wrong password fails the future, its status is answered on the async dispatch
+		return passwordHashingService.matches(params.getPassword(), userFinded.getPassword()).thenApply(matches -> {
+			if (!matches) {
+				throw invalidCredentials();
+			}
+
+			String token = jwtTokenProvider.createToken(userFinded.getId(), userFinded.getUsername(), Role.ROLE_USER);
+			userFinded.setToken(token);
+
+			return userFinded;
+		});
+	}
+	
+	/**
+	 * Logout, the token of the request is revoked until its expiration.
+	 *
+	 * @param request the request
+	 * @return the response
+	 */
+	@PostMapping("/logout")
+	public Map<String, Boolean> logout(HttpServletRequest request) {
+		return revoke(jwtTokenProvider.resolveToken(request));
+	}
+	
+	/**
+	 * Revoke a token, the user or admin is signed out of it.
+	 *
+	 * @param body the token to revoke
+	 * @return the response
+	 */
+	@PreAuthorize("hasRole('ROLE_ADMIN')")
+	@PostMapping("/tokens/revoke")
+	public Map<String, Boolean> revokeToken(@RequestBody Map<String, String> body) {
+		String token = body.get("token");
+		if (token == null) {
+			throw new GlobalHttpException(HttpStatus.BAD_REQUEST, "Token is required");
+		}
+		return revoke(token);
+	}
+	
+	private Map<String, Boolean> revoke(String token) {
+		JwtClaims claims = jwtTokenProvider.parseToken(token);
+		if (claims.getTokenId() == null) {
+			throw new GlobalHttpException(HttpStatus.BAD_REQUEST, "Token issued without id, it cannot be revoked");
+		}
+		revokedTokens.revoke(token, claims);
+		
+		Map<String, Boolean> response = new HashMap<>();
+		response.put("revoked", Boolean.TRUE);
+		return response;
+	}
+
+	private static GlobalHttpException invalidCredentials() {
+		return new GlobalHttpException(HttpStatus.UNPROCESSABLE_ENTITY, "Invalid username/password supplied");
 	}
 }
@@ -0,0 +1,40 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import projet.ynov.dizifymusicapi.entity.params.CatalogImportParams;
+import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+import projet.ynov.dizifymusicapi.services.CatalogImportResult;
+import projet.ynov.dizifymusicapi.services.CatalogImportService;
+
+@RestController
+@RequestMapping("/api")
+public class CatalogImportController {
+
+	@Autowired
+	private CatalogImportService catalogImportService;
+
+	/**
+	 * Import artists, albums and titles.
+	 *
+	 * @param params the artists, albums and titles, referencing each other by ref
+	 * @return the result of each row
+	 * @throws GlobalHttpException if the import has too many rows
+	 */
+	@PreAuthorize("hasRole('ROLE_ADMIN')")
+	@PostMapping("/catalog/import")
+	public CatalogImportResult importCatalog(@RequestBody CatalogImportParams params) throws GlobalHttpException {
+		try {
+			return catalogImportService.importCatalog(params);
+		} catch (DataIntegrityViolationException e) {
+			// A name taken by another write since the import checked it, nothing was imported
+			throw new DataIntegrityViolationException("Name already taken.");
+		}
+	}
+}
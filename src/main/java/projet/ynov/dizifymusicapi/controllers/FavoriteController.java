@@ -6,14 +6,9 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -31,11 +26,14 @@ import projet.ynov.dizifymusicapi.entity.Title;
 import projet.ynov.dizifymusicapi.entity.User;
 import projet.ynov.dizifymusicapi.entity.params.FavoriteParams;
 import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+import projet.ynov.dizifymusicapi.pagination.CursorPage;
 import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
 import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
 import projet.ynov.dizifymusicapi.repositories.FavoriteRepository;
 import projet.ynov.dizifymusicapi.repositories.TitleRepository;
-import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.security.CurrentUser;
+import projet.ynov.dizifymusicapi.services.FavoriteService;
+import projet.ynov.dizifymusicapi.services.FavoritesIndex;
 
 @RestController
 @RequestMapping("/api")
@@ -50,32 +48,21 @@ public class FavoriteController {
 	@Autowired
 	private TitleRepository titleRepository;
 	@Autowired
-	private UserRepository userRepository;
-	
-	private User getUserLogged() {
-		Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-		String username;
-		
-		if (principal instanceof UserDetails) {
-			username = ((UserDetails)principal).getUsername();
-		} else {
-			username = principal.toString();
-		}
-		
-		return userRepository.findByUsername(username);
-	}
+	private FavoritesIndex favoritesIndex;
+	@Autowired
+	private FavoriteService favoriteService;
 	
 	/**
-	 * Get paginate Favorite list.
+	 * Get a page of the Favorite list, newest first.
 	 *
-	 * @return the list
+	 * @param cursor the next cursor of the previous page, null for the first page
+	 * @param limit the page size
+	 * @return the page
 	 */
 	@PreAuthorize("hasRole('ROLE_USER')")
 	@GetMapping("/favorites")
-	public List<Favorite> getAllPaginateFavorites(@RequestParam("page") int page, @RequestParam("per") int per) {		
-		Pageable sortedDesc = PageRequest.of(page, per, Sort.by("createdAt").descending());
-		
-		return favoriteRepository.findAllByUser(getUserLogged(), sortedDesc);
+	public CursorPage<Favorite> getAllPaginateFavorites(@RequestParam(value = "cursor", required = false) String cursor, @RequestParam(value = "limit", defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit, @CurrentUser User userLogged) {		
+		return favoriteService.getFavorites(userLogged, cursor, limit);
     }
 	
 	/**
@@ -85,8 +72,8 @@ public class FavoriteController {
 	 */
 	@PreAuthorize("hasRole('ROLE_USER')")
 	@GetMapping("/all-favorites")
-	public List<Favorite> getAllFavorites() {			
-		return favoriteRepository.findAllByUser(getUserLogged());
+	public List<Favorite> getAllFavorites(@CurrentUser User userLogged) {			
+		return favoriteService.getAllFavorites(userLogged);
     }
 
 	/**
@@ -98,19 +85,8 @@ public class FavoriteController {
 	 */
 	@PreAuthorize("hasRole('ROLE_USER')")
 	@GetMapping("/favorites/{id}")
-	public ResponseEntity<Favorite> getFavoritesById(@PathVariable(value = "id") Long favoriteId) throws GlobalHttpException {
-		
-		User userLogged = getUserLogged();
-
-		Favorite favorite = favoriteRepository
-			  				.findById(favoriteId)
-	  						.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Favorite not found with id : " + favoriteId));
-		
-		if (favorite.getUser().getId() == userLogged.getId()) {			
-			return ResponseEntity.ok().body(favorite);
-		}
-		
-		throw new GlobalHttpException(HttpStatus.FORBIDDEN, "Not authorized");
+	public ResponseEntity<Favorite> getFavoritesById(@PathVariable(value = "id") Long favoriteId, @CurrentUser User userLogged) throws GlobalHttpException {
+		return ResponseEntity.ok().body(favoriteService.getFavorite(favoriteId, userLogged));
 	}
 
 	/**
@@ -122,9 +98,7 @@ public class FavoriteController {
 	 */
 	@PreAuthorize("hasRole('ROLE_USER')")
 	@PostMapping("/favorites")
-	public Favorite createFavorite(@Validated @RequestBody FavoriteParams params) throws Exception {
-		User userLogged = getUserLogged();
-		
+	public Favorite createFavorite(@Validated @RequestBody FavoriteParams params, @CurrentUser User userLogged) throws Exception {
 		params.setCreatedAt(new Date());
 		params.setUpdatedAt(new Date());
 
@@ -153,8 +127,10 @@ public class FavoriteController {
 			throw new Exception("album_id or title_id or artist_id must be not null");
 		}
 		
+		Favorite favoriteCreated = favoriteRepository.save(favorite);
+		favoritesIndex.added(favoriteCreated);
 		
-		return favoriteRepository.save(favorite);
+		return favoriteCreated;
 	}
 
 	/**
@@ -166,16 +142,15 @@ public class FavoriteController {
 	 */
 	@PreAuthorize("hasRole('ROLE_USER')")
 	@DeleteMapping("/favorites/{id}")
-	public Map<String, Boolean> deleteFavorite(@PathVariable(value = "id") Long favoriteId) throws Exception {
+	public Map<String, Boolean> deleteFavorite(@PathVariable(value = "id") Long favoriteId, @CurrentUser User userLogged) throws Exception {
 
-		User userLogged = getUserLogged();
-		
 	    Favorite favorite = favoriteRepository
     			.findById(favoriteId)
     			.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Favorite not found with id : " + favoriteId));
 		
 		if (favorite.getUser().getId() == userLogged.getId()) {
 		    favoriteRepository.delete(favorite);
+		    favoritesIndex.removed(favorite);
 		    Map<String, Boolean> response = new HashMap<>();
 		    response.put("deleted", Boolean.TRUE);
 		    return response;
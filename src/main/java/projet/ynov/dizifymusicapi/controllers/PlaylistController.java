@@ -1,8 +1,6 @@
 package projet.ynov.dizifymusicapi.controllers;
 
-import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -10,8 +8,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,16 +16,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import projet.ynov.dizifymusicapi.entity.Playlist;
-import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.PlaylistTitle;
 import projet.ynov.dizifymusicapi.entity.User;
 import projet.ynov.dizifymusicapi.entity.params.PlaylistParams;
+import projet.ynov.dizifymusicapi.entity.params.PlaylistTitleParams;
 import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+import projet.ynov.dizifymusicapi.pagination.CursorPage;
+import projet.ynov.dizifymusicapi.projections.PlaylistRow;
 import projet.ynov.dizifymusicapi.repositories.PlaylistRepository;
-import projet.ynov.dizifymusicapi.repositories.TitleRepository;
-import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.security.CurrentUser;
+import projet.ynov.dizifymusicapi.services.PlaylistService;
+import projet.ynov.dizifymusicapi.services.PlaylistTotalsService;
 
 @RestController
 @RequestMapping("/api")
@@ -38,33 +39,19 @@ public class PlaylistController {
 	@Autowired
 	private PlaylistRepository playlistRepository;
 	@Autowired
-	private UserRepository userRepository;
+	private PlaylistService playlistService;
 	@Autowired
-	private TitleRepository titleRepository;
-	
-	private User getUserLogged() {
-		Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-		String username;
-		
-		if (principal instanceof UserDetails) {
-			username = ((UserDetails)principal).getUsername();
-		} else {
-			username = principal.toString();
-		}
-		
-		return userRepository.findByUsername(username);
-	}
+	private PlaylistTotalsService playlistTotalsService;
 	
 	/**
-	 * Get all Playlist list.
+	 * Get all Playlist list, the titles of a playlist are read from /playlists/{id}/titles.
 	 *
 	 * @return the list
 	 */
 	@GetMapping("/playlists")
 	@PreAuthorize("hasRole('ROLE_USER')")
-	public List<Playlist> getAllPlaylists() {
-		System.out.println(getUserLogged());
-		return playlistRepository.findAllByUser(getUserLogged());
+	public List<PlaylistRow> getAllPlaylists(@CurrentUser User userLogged) {
+		return playlistService.getPlaylists(userLogged);
     }
 
 	/**
@@ -76,18 +63,8 @@ public class PlaylistController {
 	 */
 	@PreAuthorize("hasRole('ROLE_USER')")
 	@GetMapping("/playlists/{id}")
-	public ResponseEntity<Playlist> getPlaylistsById(@PathVariable(value = "id") Long playlistId) throws GlobalHttpException {		
-		User userLogged = getUserLogged();
-		
-		Playlist playlist = playlistRepository
-			  				.findById(playlistId)
-	  						.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Playlist not found with id : " + playlistId));
-		
-		if (playlist.getUser().getId() == userLogged.getId()) {			
-			return ResponseEntity.ok().body(playlist);
-		}
-		
-		throw new GlobalHttpException(HttpStatus.FORBIDDEN, "Not authorized"); 
+	public ResponseEntity<Playlist> getPlaylistsById(@PathVariable(value = "id") Long playlistId, @CurrentUser User userLogged) throws GlobalHttpException {
+		return ResponseEntity.ok().body(playlistService.getPlaylist(playlistId, userLogged));
 	}
 
 	/**
@@ -98,21 +75,9 @@ public class PlaylistController {
 	 */
 	@PreAuthorize("hasRole('ROLE_USER')")
 	@PostMapping("/playlists")
-	public Playlist createPlaylist(@Validated @RequestBody PlaylistParams params) {
-		User userLogged = getUserLogged();
-		
-		params.setCreatedAt(new Date());
-		params.setUpdatedAt(new Date());
-		
-		Playlist playlist = new Playlist(params);
-		playlist.setUser(userLogged);
-		
-		if (params.getTitle_ids() != null) {
-	    	List<Title> titles = titleRepository.findAllById(params.getTitle_ids());
-	    	playlist.setTitles(new HashSet<Title>(titles));
-	    }
-		
-		return playlistRepository.save(playlist);
+	public Playlist createPlaylist(@Validated @RequestBody PlaylistParams params, @CurrentUser User userLogged) {
+		Playlist playlist = playlistService.createPlaylist(params, userLogged);
+		return playlistService.getPlaylist(playlist.getId(), userLogged);
 	}
 
 	/**
@@ -125,31 +90,71 @@ public class PlaylistController {
 	 */
 	@PreAuthorize("hasRole('ROLE_USER')")
 	@PutMapping("/playlists/{id}")
-	public ResponseEntity<Playlist> updatePlaylist(@PathVariable(value = "id") Long playlistId, @RequestBody PlaylistParams playlistDetails)
+	public ResponseEntity<Playlist> updatePlaylist(@PathVariable(value = "id") Long playlistId, @RequestBody PlaylistParams playlistDetails, @CurrentUser User userLogged)
 			throws GlobalHttpException {
-		
-		User userLogged = getUserLogged();
-		
-		Playlist playlist = playlistRepository
-			  				.findById(playlistId)
-	  						.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Playlist not found with id : " + playlistId));
-		
-		if (playlist.getUser().getId() == userLogged.getId()) {			
-		    if (playlistDetails.getName() != null) {
-		    	playlist.setName(playlistDetails.getName());
-		    }
-		    
-		    if (playlistDetails.getTitle_ids() != null) {
-		    	List<Title> titles = titleRepository.findAllById(playlistDetails.getTitle_ids());
-		    	playlist.setTitles(new HashSet<Title>(titles));
-		    }
-		    
-		    playlist.setUpdatedAt(new Date());
-		    final Playlist updatedPlaylist = playlistRepository.save(playlist);
-		    return ResponseEntity.ok(updatedPlaylist);
-		}
-		
-		throw new GlobalHttpException(HttpStatus.FORBIDDEN, "Not authorized");
+		playlistService.updatePlaylist(playlistId, playlistDetails, userLogged);
+		return ResponseEntity.ok(playlistService.getPlaylist(playlistId, userLogged));
+	}
+
+	/**
+	 * Get a page of the titles of a Playlist, in their playlist order.
+	 *
+	 * @param playlistId the Playlist id
+	 * @param cursor the next cursor of the previous page, absent for the first page
+	 * @param limit the page size
+	 * @return the page
+	 * @throws GlobalHttpException the resource not found exception
+	 */
+	@PreAuthorize("hasRole('ROLE_USER')")
+	@GetMapping("/playlists/{id}/titles")
+	public CursorPage<PlaylistTitle> getPlaylistTitles(@PathVariable(value = "id") Long playlistId, @RequestParam(value = "cursor", required = false) String cursor, @RequestParam(value = "limit", defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit, @CurrentUser User userLogged) throws GlobalHttpException {
+		return playlistService.getTitles(playlistId, userLogged, cursor, limit);
+	}
+
+	/**
+	 * Add a title to a Playlist, last or before params.before_title_id.
+	 *
+	 * @param playlistId the Playlist id
+	 * @param params the PlaylistTitleParams
+	 * @return the added title
+	 * @throws GlobalHttpException the resource not found or already added exception
+	 */
+	@PreAuthorize("hasRole('ROLE_USER')")
+	@PostMapping("/playlists/{id}/titles")
+	public PlaylistTitle addPlaylistTitle(@PathVariable(value = "id") Long playlistId, @RequestBody PlaylistTitleParams params, @CurrentUser User userLogged) throws GlobalHttpException {
+		return playlistService.addTitle(playlistId, params.getTitle_id(), params.getBefore_title_id(), userLogged);
+	}
+
+	/**
+	 * Move a title of a Playlist, last or before params.before_title_id.
+	 *
+	 * @param playlistId the Playlist id
+	 * @param titleId the Title id
+	 * @param params the PlaylistTitleParams
+	 * @return the moved title
+	 * @throws GlobalHttpException the resource not found exception
+	 */
+	@PreAuthorize("hasRole('ROLE_USER')")
+	@PutMapping("/playlists/{id}/titles/{titleId}")
+	public PlaylistTitle movePlaylistTitle(@PathVariable(value = "id") Long playlistId, @PathVariable(value = "titleId") Long titleId, @RequestBody PlaylistTitleParams params, @CurrentUser User userLogged) throws GlobalHttpException {
+		return playlistService.moveTitle(playlistId, titleId, params.getBefore_title_id(), userLogged);
+	}
+
+	/**
+	 * Remove a title from a Playlist.
+	 *
+	 * @param playlistId the Playlist id
+	 * @param titleId the Title id
+	 * @return the map
+	 * @throws GlobalHttpException the resource not found exception
+	 */
+	@PreAuthorize("hasRole('ROLE_USER')")
+	@DeleteMapping("/playlists/{id}/titles/{titleId}")
+	public Map<String, Boolean> removePlaylistTitle(@PathVariable(value = "id") Long playlistId, @PathVariable(value = "titleId") Long titleId, @CurrentUser User userLogged) throws GlobalHttpException {
+		playlistService.removeTitle(playlistId, titleId, userLogged);
+		Map<String, Boolean> response = new HashMap<>();
+		response.put("deleted", Boolean.TRUE);
+		return response;
 	}
 	
 
@@ -162,9 +167,7 @@ public class PlaylistController {
 	 */
 	@PreAuthorize("hasRole('ROLE_USER')")
 	@DeleteMapping("/playlists/{id}")
-	public Map<String, Boolean> deletePlaylist(@PathVariable(value = "id") Long playlistId) throws Exception {
-		User userLogged = getUserLogged();
-		
+	public Map<String, Boolean> deletePlaylist(@PathVariable(value = "id") Long playlistId, @CurrentUser User userLogged) throws Exception {
 		Playlist playlist = playlistRepository
 			  				.findById(playlistId)
 	  						.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Playlist not found with id : " + playlistId));
@@ -178,4 +181,17 @@ public class PlaylistController {
 		
 		throw new GlobalHttpException(HttpStatus.FORBIDDEN, "Not authorized");
 	}
+
+	/**
+	 * Count the titles of every Playlist again, and fix the track count and total duration kept by the playlists.
+	 *
+	 * @return the map, with the number of playlists fixed
+	 */
+	@PreAuthorize("hasRole('ROLE_ADMIN')")
+	@PostMapping("/playlists/totals/repair")
+	public Map<String, Long> repairPlaylistTotals() {
+		Map<String, Long> response = new HashMap<>();
+		response.put("repaired", playlistTotalsService.repairAll());
+		return response;
+	}
 }
@@ -2,7 +2,6 @@ package projet.ynov.dizifymusicapi.controllers;
 
 import java.util.Date;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -11,8 +10,6 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,20 +18,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import projet.ynov.dizifymusicapi.entity.Album;
 import projet.ynov.dizifymusicapi.entity.Artist;
-import projet.ynov.dizifymusicapi.entity.Favorite;
 import projet.ynov.dizifymusicapi.entity.Title;
 import projet.ynov.dizifymusicapi.entity.User;
 import projet.ynov.dizifymusicapi.entity.params.TitleParams;
 import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+import projet.ynov.dizifymusicapi.pagination.CursorPage;
+import projet.ynov.dizifymusicapi.projections.TitleRow;
 import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
 import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
-import projet.ynov.dizifymusicapi.repositories.FavoriteRepository;
 import projet.ynov.dizifymusicapi.repositories.TitleRepository;
-import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.security.CurrentUser;
+import projet.ynov.dizifymusicapi.services.CatalogCacheEvictor;
+import projet.ynov.dizifymusicapi.services.CatalogService;
+import projet.ynov.dizifymusicapi.services.CatalogWriteService;
 
 @RestController
 @RequestMapping("/api")
@@ -47,48 +48,22 @@ public class TitleController {
 	@Autowired
 	private AlbumRepository albumRepository;
 	@Autowired
-	private UserRepository userRepository;
+	private CatalogService catalogService;
 	@Autowired
-	private FavoriteRepository favoriteRepository;
-	
-	private User getUserLogged() {
-		Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-		String username;
-		
-		if (principal instanceof UserDetails) {
-			username = ((UserDetails)principal).getUsername();
-		} else {
-			username = principal.toString();
-		}
-		
-		return userRepository.findByUsername(username);
-	}
+	private CatalogCacheEvictor catalogCacheEvictor;
+	@Autowired
+	private CatalogWriteService catalogWriteService;
 	
 	/**
-	 * Get all Title list.
+	 * Get a page of the Title list, ordered by id.
 	 *
-	 * @return the list
+	 * @param cursor the next cursor of the previous page, null for the first page
+	 * @param limit the page size
+	 * @return the page
 	 */
 	@GetMapping("/titles")
-	public List<Title> getAllTitles() {
-		List<Title> titles = titleRepository.findAll();
-		User userLogged = getUserLogged();
-		
-		for (Title title : titles) {
-			if(userLogged == null) {
-				title.setFavoriteId(0L);
-			} else {
-				Favorite titlefavorite = favoriteRepository.findByUserAndAlbum(userLogged.getId(), title.getId());
-				
-				if (titlefavorite == null) {
-					title.setFavoriteId(0L);
-				} else {
-					title.setFavoriteId(titlefavorite.getId());
-				}
-			}
-		}
-		
-		return titles;
+	public CursorPage<TitleRow> getAllTitles(@RequestParam(value = "cursor", required = false) String cursor, @RequestParam(value = "limit", defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit, @CurrentUser User userLogged) {
+		return catalogService.getTitles(userLogged, cursor, limit);
     }
 
 	/**
@@ -99,25 +74,8 @@ public class TitleController {
 	 * @throws GlobalHttpException the resource not found exception
 	 */
 	@GetMapping("/titles/{id}")
-	public ResponseEntity<Title> getTitlesById(@PathVariable(value = "id") Long titleId) throws GlobalHttpException {
-		Title title = titleRepository
-			  				.findById(titleId)
-	  						.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Title not found with id : " + titleId));
-		
-		User userLogged = getUserLogged();
-		if(userLogged == null) {
-			title.setFavoriteId(0L);
-		} else {
-			Favorite titlefavorite = favoriteRepository.findByUserAndAlbum(userLogged.getId(), title.getId());
-			
-			if (titlefavorite == null) {
-				title.setFavoriteId(0L);
-			} else {
-				title.setFavoriteId(titlefavorite.getId());
-			}
-		}
-	  
-		return ResponseEntity.ok().body(title);
+	public ResponseEntity<Title> getTitlesById(@PathVariable(value = "id") Long titleId, @CurrentUser User userLogged) throws GlobalHttpException {
+		return ResponseEntity.ok().body(catalogService.getTitle(titleId, userLogged));
 	}
 
 	/**
@@ -149,7 +107,9 @@ public class TitleController {
 		title.setAlbum(album);
 		
 		try {
-			return titleRepository.save(title);
+			Title titleCreated = titleRepository.save(title);
+			catalogCacheEvictor.titleChanged(titleCreated);
+			return titleCreated;
 		} catch (DataIntegrityViolationException e) {
 			throw new DataIntegrityViolationException("Name already taken.");
 		}
@@ -166,20 +126,8 @@ public class TitleController {
 	@PreAuthorize("hasRole('ROLE_ADMIN')")
 	@PutMapping("/titles/{id}")
 	public ResponseEntity<Title> updateTitle(@PathVariable(value = "id") Long titleId, @Validated @RequestBody TitleParams titleDetails) throws GlobalHttpException {
-	    Title title = titleRepository
-	            			.findById(titleId)
-	            			.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Title not found with id : " + titleId));
-	    
-	    if (titleDetails.getName() != null) {
-	    	titleDetails.setName(titleDetails.getName());
-	    }
-	    
-	    if (titleDetails.getDuration() != null) {
-	    	titleDetails.setDuration(titleDetails.getDuration());
-	    }
-
-	    title.setUpdatedAt(new Date());
-	    final Title updatedTitle = titleRepository.save(title);
+	    final Title updatedTitle = catalogWriteService.updateTitle(titleId, titleDetails);
+	    catalogCacheEvictor.titleChanged(updatedTitle);
 	    return ResponseEntity.ok(updatedTitle);
 	}
 
@@ -193,11 +141,8 @@ public class TitleController {
 	@PreAuthorize("hasRole('ROLE_ADMIN')")
 	@DeleteMapping("/titles/{id}")
 	public Map<String, Boolean> deleteTitle(@PathVariable(value = "id") Long titleId) throws Exception {
-	    Title title = titleRepository
-	            			.findById(titleId)
-	            			.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Title not found with id : " + titleId));
-
-	    titleRepository.delete(title);
+	    Title title = catalogWriteService.deleteTitle(titleId);
+	    catalogCacheEvictor.titleChanged(title);
 	    Map<String, Boolean> response = new HashMap<>();
 	    response.put("deleted", Boolean.TRUE);
 	    return response;
@@ -6,9 +6,11 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,10 +19,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import projet.ynov.dizifymusicapi.config.UserDetailsCacheConfig;
 import projet.ynov.dizifymusicapi.entity.User;
 import projet.ynov.dizifymusicapi.entity.params.UserParams;
 import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
 import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.services.FavoritesIndex;
 
 @RestController
 @RequestMapping("/api")
@@ -28,6 +32,11 @@ public class UserController {
 
 	@Autowired
 	private UserRepository userRepository;
+	@Autowired
+	private FavoritesIndex favoritesIndex;
+	@Autowired
+	@Qualifier(UserDetailsCacheConfig.USER_DETAILS_CACHE)
+	private UserCache userDetailsCache;
 	
 	/**
 	 * Get all User list.
@@ -36,7 +45,7 @@ public class UserController {
 	 */
 	@GetMapping("/users")
 	public List<User> getAllUsers() {
-		return userRepository.findAll();
+		return userRepository.findAllWithPlaylists();
     }
 
 	/**
@@ -49,7 +58,7 @@ public class UserController {
 	@GetMapping("/users/{id}")
 	public ResponseEntity<User> getUsersById(@PathVariable(value = "id") Long userId) throws GlobalHttpException {
 		User user = userRepository
-			  				.findById(userId)
+			  				.findWithPlaylistsById(userId)
 	  						.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "User not found with id : " + userId));
 	  
 		return ResponseEntity.ok().body(user);
@@ -66,8 +75,9 @@ public class UserController {
 	@PutMapping("/users/{id}")
 	public ResponseEntity<User> updateUser(@PathVariable(value = "id") Long userId, @RequestBody UserParams userDetails) throws GlobalHttpException {
 	    User user = userRepository
-	            			.findById(userId)
+	            			.findWithPlaylistsById(userId)
 	            			.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "User not found with id : " + userId));
+	    String username = user.getUsername();
 	    	    
 	    if(userDetails.getUsername() != null) {	    	
 	    	user.setUsername(userDetails.getUsername());
@@ -84,8 +94,10 @@ public class UserController {
 	    user.setUpdatedAt(new Date());
 	    
 	    try {
-		    final User updatedUser = userRepository.save(user);
-		    return ResponseEntity.ok(updatedUser);
+		    userRepository.save(user);
+		    userDetailsCache.removeUserFromCache(username);
+		    // The merged copy returned by save has its playlists not loaded, the user loaded above has them
+		    return ResponseEntity.ok(user);
 		} catch (DataIntegrityViolationException e) {
 			throw new DataIntegrityViolationException("Email already taken.");
 		}
@@ -105,6 +117,8 @@ public class UserController {
 	            			.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "User not found with id : " + userId));
 
 	    userRepository.delete(user);
+	    favoritesIndex.invalidate(userId);
+	    userDetailsCache.removeUserFromCache(user.getUsername());
 	    Map<String, Boolean> response = new HashMap<>();
 	    response.put("deleted", Boolean.TRUE);
 	    return response;
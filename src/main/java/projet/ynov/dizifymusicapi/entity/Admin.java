@@ -8,6 +8,7 @@ import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 
@@ -27,7 +28,8 @@ import projet.ynov.dizifymusicapi.serializers.AdminSerializer;
 @EntityListeners(AuditingEntityListener.class)
 public class Admin {
 	@Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admins_seq")
+    @SequenceGenerator(name = "admins_seq", sequenceName = "admins_seq", allocationSize = 50)
     private long id;
 	
     @Column(name = "email", unique=true, nullable = false)
@@ -3,6 +3,7 @@ package projet.ynov.dizifymusicapi.entity;
 import java.util.Date;
 import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -12,9 +13,12 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.data.annotation.CreatedDate;
@@ -24,17 +28,21 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
+import projet.ynov.dizifymusicapi.config.CatalogCacheConfig;
 import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
 import projet.ynov.dizifymusicapi.serializers.ArtistSerializer;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheConfig.ARTISTS)
 @Table(name = "artists")
 @EntityListeners(AuditingEntityListener.class)
 @JsonSerialize(using = ArtistSerializer.class)
 public class Artist {
 
 	@Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "artists_seq")
+    @SequenceGenerator(name = "artists_seq", sequenceName = "artists_seq", allocationSize = 50)
     private long id;
 	
     @Column(name = "name", unique=true, nullable = false)
@@ -49,10 +57,12 @@ public class Artist {
     
     @OneToMany(mappedBy="author", cascade={CascadeType.ALL})
     @OnDelete(action = OnDeleteAction.CASCADE)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheConfig.ARTIST_TITLES)
     private Set<Title> titles;
     
     @OneToMany(mappedBy="author", cascade={CascadeType.ALL})
     @OnDelete(action = OnDeleteAction.CASCADE)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheConfig.ARTIST_ALBUMS)
     private Set<Album> albums;
     
     @Column(name = "created_at", nullable = false)
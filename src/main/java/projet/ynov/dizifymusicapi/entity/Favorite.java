@@ -8,7 +8,9 @@ import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 import org.hibernate.annotations.OnDelete;
@@ -23,13 +25,14 @@ import projet.ynov.dizifymusicapi.entity.params.FavoriteParams;
 import projet.ynov.dizifymusicapi.serializers.FavoriteSerializer;
 
 @Entity
-@Table(name = "favorites")
+@Table(name = "favorites", indexes = @Index(name = "favorites_user_created_at_id_idx", columnList = "user_id, created_at, id"))
 @JsonSerialize(using = FavoriteSerializer.class)
 @EntityListeners(AuditingEntityListener.class)
 public class Favorite {
 
 	@Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "favorites_seq")
+    @SequenceGenerator(name = "favorites_seq", sequenceName = "favorites_seq", allocationSize = 50)
     private long id;
 
 	@ManyToOne
@@ -1,7 +1,7 @@
 package projet.ynov.dizifymusicapi.entity;
 
 import java.util.Date;
-import java.util.Set;
+import java.util.List;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -9,8 +9,10 @@ import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
-import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OrderBy;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 import org.springframework.data.annotation.CreatedDate;
@@ -29,18 +31,28 @@ import projet.ynov.dizifymusicapi.serializers.PlaylistSerializer;
 public class Playlist {
 
 	@Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "playlists_seq")
+    @SequenceGenerator(name = "playlists_seq", sequenceName = "playlists_seq", allocationSize = 50)
     private long id;
 	
     @Column(name = "name", nullable = false)
     private String name;
 
-    @ManyToMany
-    private Set<Title> titles;
+    // Ordered by position, changed through PlaylistTitle rows
+    @OneToMany(mappedBy = "playlist")
+    @OrderBy("position")
+    private List<PlaylistTitle> titles;
 
 	@ManyToOne
     private User user;
 
+    // Kept up to date with the titles, so the playlist list reads no title
+    @Column(name = "track_count", nullable = false)
+    private long trackCount;
+
+    @Column(name = "total_duration_seconds", nullable = false)
+    private long totalDurationSeconds;
+
     @Column(name = "created_at", nullable = false)
     @CreatedDate
     private Date createdAt;
@@ -76,14 +88,38 @@ public class Playlist {
 		this.name = name;
 	}
 
-	public Set<Title> getTitles() {
+	public List<PlaylistTitle> getTitles() {
 		return titles;
 	}
 
-	public void setTitles(Set<Title> titles) {
+	public void setTitles(List<PlaylistTitle> titles) {
 		this.titles = titles;
 	}
 
+	public long getTrackCount() {
+		return trackCount;
+	}
+
+	public void setTrackCount(long trackCount) {
+		this.trackCount = trackCount;
+	}
+
+	public long getTotalDurationSeconds() {
+		return totalDurationSeconds;
+	}
+
+	public void setTotalDurationSeconds(long totalDurationSeconds) {
+		this.totalDurationSeconds = totalDurationSeconds;
+	}
+
+	/**
+	 * Count titles added, or removed with negative values, in the totals.
+	 */
+	public void addToTotals(long tracks, long durationSeconds) {
+		this.trackCount += tracks;
+		this.totalDurationSeconds += durationSeconds;
+	}
+
 	public User getUser() {
 		return user;
 	}
@@ -110,8 +146,8 @@ public class Playlist {
 
 	@Override
 	public String toString() {
-		return "Playlist [id=" + id + ", name=" + name + ", titles=" + titles + ", user=" + user + ", createdAt="
-				+ createdAt + ", updatedAt=" + updatedAt + "]";
+		return "Playlist [id=" + id + ", name=" + name + ", user=" + user + ", trackCount=" + trackCount
+				+ ", totalDurationSeconds=" + totalDurationSeconds + ", createdAt=" + createdAt + ", updatedAt=" + updatedAt + "]";
 	}
     
 	
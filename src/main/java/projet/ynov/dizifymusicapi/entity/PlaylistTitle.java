@@ -0,0 +1,101 @@
+package projet.ynov.dizifymusicapi.entity;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import projet.ynov.dizifymusicapi.serializers.PlaylistTitleSerializer;
+
+/**
+ * A title of a playlist, at its position in the playlist.
+ *
+ * Positions are sparse, {@link #POSITION_GAP} apart when appended, so a title is added or
+ * moved between two others by updating its own row only. The positions of a playlist are
+ * spread again when two neighbours have no room left between them.
+ */
+@Entity
+@Table(name = "playlist_titles",
+		uniqueConstraints = @UniqueConstraint(name = "playlist_titles_playlist_title_uk", columnNames = { "playlist_id", "title_id" }),
+		indexes = @Index(name = "playlist_titles_playlist_position_idx", columnList = "playlist_id, position"))
+@JsonSerialize(using = PlaylistTitleSerializer.class)
+public class PlaylistTitle {
+
+	public static final long POSITION_GAP = 1L << 16;
+
+	@Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "playlist_titles_seq")
+    @SequenceGenerator(name = "playlist_titles_seq", sequenceName = "playlist_titles_seq", allocationSize = 50)
+    private long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "playlist_id", nullable = false)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+    private Playlist playlist;
+
+	@ManyToOne
+	@JoinColumn(name = "title_id", nullable = false)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+    private Title title;
+
+    @Column(name = "position", nullable = false)
+    private long position;
+
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+
+    public PlaylistTitle() {
+    	super();
+    }
+
+    public PlaylistTitle(Playlist playlist, Title title, long position) {
+		this.playlist = playlist;
+		this.title = title;
+		this.position = position;
+		this.createdAt = new Date();
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public Playlist getPlaylist() {
+		return playlist;
+	}
+
+	public Title getTitle() {
+		return title;
+	}
+
+	public long getPosition() {
+		return position;
+	}
+
+	public void setPosition(long position) {
+		this.position = position;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+	@Override
+	public String toString() {
+		return "PlaylistTitle [id=" + id + ", title=" + title + ", position=" + position + "]";
+	}
+}
@@ -0,0 +1,60 @@
+package projet.ynov.dizifymusicapi.entity;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * A token revoked before its expiration, by its jti claim.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+	@Id
+	@Column(name = "token_id", length = 36)
+	private String tokenId;
+
+	@Column(name = "expires_at", nullable = false)
+	private Date expiresAt;
+
+	@Column(name = "revoked_at", nullable = false)
+	private Date revokedAt;
+
+	public RevokedToken() {
+		super();
+	}
+
+	public RevokedToken(String tokenId, Date expiresAt) {
+		this.tokenId = tokenId;
+		this.expiresAt = expiresAt;
+		this.revokedAt = new Date();
+	}
+
+	public String getTokenId() {
+		return tokenId;
+	}
+
+	public void setTokenId(String tokenId) {
+		this.tokenId = tokenId;
+	}
+
+	public Date getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(Date expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	public Date getRevokedAt() {
+		return revokedAt;
+	}
+
+	public void setRevokedAt(Date revokedAt) {
+		this.revokedAt = revokedAt;
+	}
+}
@@ -2,8 +2,8 @@ package projet.ynov.dizifymusicapi.entity;
 
 import java.sql.Time;
 import java.util.Date;
-import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -11,13 +11,13 @@ import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
-import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 
-import org.hibernate.annotations.OnDelete;
-import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -25,16 +25,20 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
+import projet.ynov.dizifymusicapi.config.CatalogCacheConfig;
 import projet.ynov.dizifymusicapi.entity.params.TitleParams;
 import projet.ynov.dizifymusicapi.serializers.TitleSerializer;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheConfig.TITLES)
 @Table(name = "titles")
 @EntityListeners(AuditingEntityListener.class)
 @JsonSerialize(using = TitleSerializer.class)
 public class Title {
 	@Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "titles_seq")
+    @SequenceGenerator(name = "titles_seq", sequenceName = "titles_seq", allocationSize = 50)
     private long id;
     
     @Column(name = "name", unique=true, nullable = false)
@@ -49,10 +53,6 @@ public class Title {
     @ManyToOne
     private Artist author;
     
-    @ManyToMany(mappedBy="titles")
-    @OnDelete(action = OnDeleteAction.CASCADE)
-    private Set<Playlist> playlists;
-
     @Column(name = "created_at", nullable = false)
     @CreatedDate
     private Date createdAt;
@@ -101,6 +101,17 @@ public class Title {
 		this.duration = duration;
 	}
 
+	/**
+	 * @return the duration, in seconds
+	 */
+	public long getDurationSeconds() {
+		return durationSeconds(duration);
+	}
+
+	public static long durationSeconds(Time duration) {
+		return duration.toLocalTime().toSecondOfDay();
+	}
+
 	public Date getCreatedAt() {
 		return createdAt;
 	}
@@ -133,14 +144,6 @@ public class Title {
 		this.album = album;
 	}
 	
-	public Set<Playlist> getPlaylists() {
-		return playlists;
-	}
-
-	public void setPlaylists(Set<Playlist> playlists) {
-		this.playlists = playlists;
-	}
-
 	public long getFavoriteId() {
 		return favoriteId;
 	}
@@ -152,7 +155,7 @@ public class Title {
 	@Override
 	public String toString() {
 		return "Title [id=" + id + ", name=" + name + ", duration=" + duration + ", album=" + album + ", author="
-				+ author + ", playlists=" + playlists + ", createdAt=" + createdAt + ", updatedAt=" + updatedAt + "]";
+				+ author + ", createdAt=" + createdAt + ", updatedAt=" + updatedAt + "]";
 	}
     
     
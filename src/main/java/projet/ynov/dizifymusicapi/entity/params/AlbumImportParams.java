@@ -0,0 +1,32 @@
+package projet.ynov.dizifymusicapi.entity.params;
+
+/**
+ * An album of a catalog import, its artist is either an artist of the import (author_ref) or
+ * an existing one (author_id).
+ */
+public class AlbumImportParams extends AlbumParams {
+
+    private String ref;
+
+    private String author_ref;
+
+    public AlbumImportParams() {
+    	super();
+    }
+
+	public String getRef() {
+		return ref;
+	}
+
+	public void setRef(String ref) {
+		this.ref = ref;
+	}
+
+	public String getAuthor_ref() {
+		return author_ref;
+	}
+
+	public void setAuthor_ref(String author_ref) {
+		this.author_ref = author_ref;
+	}
+}
@@ -0,0 +1,21 @@
+package projet.ynov.dizifymusicapi.entity.params;
+
+/**
+ * An artist of a catalog import, named by the client reference the albums and titles of the import use.
+ */
+public class ArtistImportParams extends ArtistParams {
+
+    private String ref;
+
+    public ArtistImportParams() {
+    	super();
+    }
+
+	public String getRef() {
+		return ref;
+	}
+
+	public void setRef(String ref) {
+		this.ref = ref;
+	}
+}
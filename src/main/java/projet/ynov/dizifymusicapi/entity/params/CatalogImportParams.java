@@ -0,0 +1,41 @@
+package projet.ynov.dizifymusicapi.entity.params;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CatalogImportParams {
+
+    private List<ArtistImportParams> artists = new ArrayList<ArtistImportParams>();
+
+    private List<AlbumImportParams> albums = new ArrayList<AlbumImportParams>();
+
+    private List<TitleImportParams> titles = new ArrayList<TitleImportParams>();
+
+    public CatalogImportParams() {
+    	super();
+    }
+
+	public List<ArtistImportParams> getArtists() {
+		return artists;
+	}
+
+	public void setArtists(List<ArtistImportParams> artists) {
+		this.artists = artists;
+	}
+
+	public List<AlbumImportParams> getAlbums() {
+		return albums;
+	}
+
+	public void setAlbums(List<AlbumImportParams> albums) {
+		this.albums = albums;
+	}
+
+	public List<TitleImportParams> getTitles() {
+		return titles;
+	}
+
+	public void setTitles(List<TitleImportParams> titles) {
+		this.titles = titles;
+	}
+}
@@ -0,0 +1,31 @@
+package projet.ynov.dizifymusicapi.entity.params;
+
+public class PlaylistTitleParams {
+
+    private long title_id;
+
+    private Long before_title_id;
+
+    public PlaylistTitleParams() {
+    	super();
+    }
+
+	public long getTitle_id() {
+		return title_id;
+	}
+
+	public void setTitle_id(long title_id) {
+		this.title_id = title_id;
+	}
+
+	/**
+	 * @return the title to place the title before, null to place it last
+	 */
+	public Long getBefore_title_id() {
+		return before_title_id;
+	}
+
+	public void setBefore_title_id(Long before_title_id) {
+		this.before_title_id = before_title_id;
+	}
+}
@@ -0,0 +1,42 @@
+package projet.ynov.dizifymusicapi.entity.params;
+
+/**
+ * A title of a catalog import, its artist and its optional album are either in the import
+ * (author_ref, album_ref) or existing ones (author_id, album_id).
+ */
+public class TitleImportParams extends TitleParams {
+
+    private String ref;
+
+    private String author_ref;
+
+    private String album_ref;
+
+    public TitleImportParams() {
+    	super();
+    }
+
+	public String getRef() {
+		return ref;
+	}
+
+	public void setRef(String ref) {
+		this.ref = ref;
+	}
+
+	public String getAuthor_ref() {
+		return author_ref;
+	}
+
+	public void setAuthor_ref(String author_ref) {
+		this.author_ref = author_ref;
+	}
+
+	public String getAlbum_ref() {
+		return album_ref;
+	}
+
+	public void setAlbum_ref(String album_ref) {
+		this.album_ref = album_ref;
+	}
+}
@@ -0,0 +1,5 @@
+package projet.ynov.dizifymusicapi.enums;
+
+public enum FavoriteType {
+  ALBUM, ARTIST, TITLE;
+}
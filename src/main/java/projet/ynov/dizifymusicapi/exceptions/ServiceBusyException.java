@@ -0,0 +1,21 @@
+package projet.ynov.dizifymusicapi.exceptions;
+
+/**
+ * Thrown when a bounded resource is saturated, answered with a 503 and a Retry-After header
+ * by {@link ServiceBusyExceptionHandler}.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long retryAfterSeconds;
+
+	public ServiceBusyException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
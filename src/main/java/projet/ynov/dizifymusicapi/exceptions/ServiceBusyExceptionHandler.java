@@ -0,0 +1,23 @@
+package projet.ynov.dizifymusicapi.exceptions;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+public class ServiceBusyExceptionHandler {
+
+	/**
+	 * Answer a 503 right away, the error body is written as for the other errors.
+	 */
+	@ExceptionHandler(ServiceBusyException.class)
+	public void handleServiceBusy(ServiceBusyException ex, HttpServletResponse response) throws IOException {
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()));
+		response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage());
+	}
+}
@@ -0,0 +1,63 @@
+package projet.ynov.dizifymusicapi.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+
+import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+
+/**
+ * Opaque cursor of a keyset pagination : the sort key values of the last row of a page,
+ * encoded in URL safe base64.
+ */
+public final class Cursor {
+	
+	private Cursor() {}
+	
+	public static String encode(long... values) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				builder.append(':');
+			}
+			builder.append(values[i]);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.US_ASCII));
+	}
+	
+	/**
+	 * Decode a cursor.
+	 *
+	 * @param cursor the cursor sent by the client
+	 * @param length the expected number of values
+	 * @return the values
+	 * @throws GlobalHttpException if the cursor is malformed
+	 */
+	public static long[] decode(String cursor, int length) throws GlobalHttpException {
+		try {
+			String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+			if (parts.length != length) {
+				throw new IllegalArgumentException();
+			}
+			
+			long[] values = new long[length];
+			for (int i = 0; i < length; i++) {
+				values[i] = Long.parseLong(parts[i]);
+			}
+			return values;
+		} catch (IllegalArgumentException e) {
+			throw new GlobalHttpException(HttpStatus.BAD_REQUEST, "Invalid cursor : " + cursor);
+		}
+	}
+	
+	/**
+	 * Decode the id of an id ordered pagination.
+	 *
+	 * @param cursor the cursor sent by the client, may be null for the first page
+	 * @return the id to start after, 0 for the first page
+	 */
+	public static long decodeId(String cursor) throws GlobalHttpException {
+		return cursor == null ? 0L : decode(cursor, 1)[0];
+	}
+}
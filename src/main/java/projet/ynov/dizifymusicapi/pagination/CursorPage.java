@@ -0,0 +1,60 @@
+package projet.ynov.dizifymusicapi.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a keyset pagination, next is the cursor of the following page or null on the last one.
+ *
+ * @param <T> the type of the items
+ */
+public class CursorPage<T> {
+	
+	public static final int DEFAULT_LIMIT = 50;
+	public static final int MAX_LIMIT = 100;
+	
+	private final List<T> items;
+	
+	private final String next;
+	
+	public CursorPage(List<T> items, String next) {
+		this.items = items;
+		this.next = next;
+	}
+	
+	/**
+	 * Build a page from rows fetched with a limit of {@link #limit(int)} + 1.
+	 * The extra row only tells there is a next page, it is dropped.
+	 *
+	 * @param rows the fetched rows
+	 * @param limit the page size
+	 * @param cursorOf the cursor pointing after a row
+	 * @return the page
+	 */
+	public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+		if (rows.size() <= limit) {
+			return new CursorPage<T>(rows, null);
+		}
+		
+		List<T> items = rows.subList(0, limit);
+		return new CursorPage<T>(items, cursorOf.apply(items.get(limit - 1)));
+	}
+	
+	/**
+	 * Clamp the page size asked by the client.
+	 *
+	 * @param limit the page size asked
+	 * @return a page size between 1 and {@link #MAX_LIMIT}
+	 */
+	public static int limit(int limit) {
+		return Math.max(1, Math.min(limit, MAX_LIMIT));
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	public String getNext() {
+		return next;
+	}
+}
@@ -0,0 +1,101 @@
+package projet.ynov.dizifymusicapi.projections;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import projet.ynov.dizifymusicapi.serializers.AlbumRowSerializer;
+
+/**
+ * Read-only Album columns of the catalog listings.
+ */
+@JsonSerialize(using = AlbumRowSerializer.class)
+public class AlbumRow {
+	
+	private final long id;
+	
+	private final String name;
+	
+	private final String image;
+	
+	private final Date publicationDate;
+	
+	private final Date createdAt;
+	
+	private final Date updatedAt;
+	
+	private final Long authorId;
+	
+	private ArtistRow author;
+	
+	private long favoriteId;
+	
+	private List<TitleRow> titles = new ArrayList<TitleRow>();
+
+	public AlbumRow(long id, String name, String image, Date publicationDate, Date createdAt, Date updatedAt, Long authorId) {
+		this.id = id;
+		this.name = name;
+		this.image = image;
+		this.publicationDate = publicationDate;
+		this.createdAt = createdAt;
+		this.updatedAt = updatedAt;
+		this.authorId = authorId;
+	}
+	
+	/**
+	 * Album joined with the author columns of the album listing.
+	 */
+	public AlbumRow(long id, String name, String image, Date publicationDate, Date createdAt, Date updatedAt,
+			Long authorId, String authorName, Date authorCreatedAt, Date authorUpdatedAt) {
+		this(id, name, image, publicationDate, createdAt, updatedAt, authorId);
+		if (authorId != null) {
+			this.author = new ArtistRow(authorId, authorName, null, null, authorCreatedAt, authorUpdatedAt);
+		}
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getImage() {
+		return image;
+	}
+
+	public Date getPublicationDate() {
+		return publicationDate;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public Long getAuthorId() {
+		return authorId;
+	}
+
+	public ArtistRow getAuthor() {
+		return author;
+	}
+
+	public long getFavoriteId() {
+		return favoriteId;
+	}
+
+	public void setFavoriteId(long favoriteId) {
+		this.favoriteId = favoriteId;
+	}
+
+	public List<TitleRow> getTitles() {
+		return titles;
+	}
+}
@@ -0,0 +1,83 @@
+package projet.ynov.dizifymusicapi.projections;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import projet.ynov.dizifymusicapi.serializers.ArtistRowSerializer;
+
+/**
+ * Read-only Artist columns of the catalog listings.
+ */
+@JsonSerialize(using = ArtistRowSerializer.class)
+public class ArtistRow {
+	
+	private final long id;
+	
+	private final String name;
+	
+	private final String image;
+	
+	private final String description;
+	
+	private final Date createdAt;
+	
+	private final Date updatedAt;
+	
+	private long favoriteId;
+	
+	private List<TitleRow> titles = new ArrayList<TitleRow>();
+	
+	private List<AlbumRow> albums = new ArrayList<AlbumRow>();
+
+	public ArtistRow(long id, String name, String image, String description, Date createdAt, Date updatedAt) {
+		this.id = id;
+		this.name = name;
+		this.image = image;
+		this.description = description;
+		this.createdAt = createdAt;
+		this.updatedAt = updatedAt;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getImage() {
+		return image;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public long getFavoriteId() {
+		return favoriteId;
+	}
+
+	public void setFavoriteId(long favoriteId) {
+		this.favoriteId = favoriteId;
+	}
+
+	public List<TitleRow> getTitles() {
+		return titles;
+	}
+
+	public List<AlbumRow> getAlbums() {
+		return albums;
+	}
+}
@@ -0,0 +1,60 @@
+package projet.ynov.dizifymusicapi.projections;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import projet.ynov.dizifymusicapi.serializers.PlaylistRowSerializer;
+
+/**
+ * Read-only Playlist columns of the playlist listing, with the count and the total duration of its titles.
+ */
+@JsonSerialize(using = PlaylistRowSerializer.class)
+public class PlaylistRow {
+	
+	private final long id;
+	
+	private final String name;
+	
+	private final Date createdAt;
+	
+	private final Date updatedAt;
+	
+	private final long trackCount;
+	
+	private final long totalDurationSeconds;
+
+	public PlaylistRow(long id, String name, Date createdAt, Date updatedAt, long trackCount, Long totalDurationSeconds) {
+		this.id = id;
+		this.name = name;
+		this.createdAt = createdAt;
+		this.updatedAt = updatedAt;
+		this.trackCount = trackCount;
+		// SUM is null for a playlist without titles
+		this.totalDurationSeconds = totalDurationSeconds == null ? 0L : totalDurationSeconds;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public long getTrackCount() {
+		return trackCount;
+	}
+
+	public long getTotalDurationSeconds() {
+		return totalDurationSeconds;
+	}
+}
@@ -0,0 +1,106 @@
+package projet.ynov.dizifymusicapi.projections;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import projet.ynov.dizifymusicapi.serializers.TitleRowSerializer;
+
+/**
+ * Read-only Title columns of the catalog listings.
+ */
+@JsonSerialize(using = TitleRowSerializer.class)
+public class TitleRow {
+	
+	private final long id;
+	
+	private final String name;
+	
+	/**
+	 * A java.sql.Time at runtime, Hibernate types the duration column as a Date.
+	 */
+	private final Date duration;
+	
+	private final Date createdAt;
+	
+	private final Date updatedAt;
+	
+	private final Long albumId;
+	
+	private final Long authorId;
+	
+	private AlbumRow album;
+	
+	private ArtistRow author;
+	
+	private long favoriteId;
+
+	public TitleRow(long id, String name, Date duration, Date createdAt, Date updatedAt, Long albumId, Long authorId) {
+		this.id = id;
+		this.name = name;
+		this.duration = duration;
+		this.createdAt = createdAt;
+		this.updatedAt = updatedAt;
+		this.albumId = albumId;
+		this.authorId = authorId;
+	}
+	
+	/**
+	 * Title joined with the album and author columns of the title listing.
+	 */
+	public TitleRow(long id, String name, Date duration, Date createdAt, Date updatedAt,
+			Long albumId, String albumName, String albumImage, Date albumPublicationDate, Date albumCreatedAt, Date albumUpdatedAt,
+			Long authorId, String authorName, String authorImage, String authorDescription, Date authorCreatedAt, Date authorUpdatedAt) {
+		this(id, name, duration, createdAt, updatedAt, albumId, authorId);
+		if (albumId != null) {
+			this.album = new AlbumRow(albumId, albumName, albumImage, albumPublicationDate, albumCreatedAt, albumUpdatedAt, null);
+		}
+		if (authorId != null) {
+			this.author = new ArtistRow(authorId, authorName, authorImage, authorDescription, authorCreatedAt, authorUpdatedAt);
+		}
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Date getDuration() {
+		return duration;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public Long getAlbumId() {
+		return albumId;
+	}
+
+	public Long getAuthorId() {
+		return authorId;
+	}
+
+	public AlbumRow getAlbum() {
+		return album;
+	}
+
+	public ArtistRow getAuthor() {
+		return author;
+	}
+
+	public long getFavoriteId() {
+		return favoriteId;
+	}
+
+	public void setFavoriteId(long favoriteId) {
+		this.favoriteId = favoriteId;
+	}
+}
@@ -1,11 +1,40 @@
 package projet.ynov.dizifymusicapi.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.projections.AlbumRow;
 
 
 //@Repository
 public interface AlbumRepository extends JpaRepository<Album, Long> {
 	Album findByName(String name);
+
+	@EntityGraph(attributePaths = {"author", "titles", "titles.author"})
+	Optional<Album> findWithTitlesAndAuthorById(long id);
+
+	/**
+	 * Keyset page of album rows with their author, the pageable only carries the limit.
+	 */
+	@Query("SELECT new projet.ynov.dizifymusicapi.projections.AlbumRow(a.id, a.name, a.image, a.publicationDate, a.createdAt, a.updatedAt, "
+			+ "au.id, au.name, au.createdAt, au.updatedAt) "
+			+ "FROM Album a LEFT JOIN a.author au WHERE a.id > ?1 ORDER BY a.id")
+	List<AlbumRow> findRowsAfter(long id, Pageable pageable);
+
+	@Query("SELECT new projet.ynov.dizifymusicapi.projections.AlbumRow(a.id, a.name, a.image, a.publicationDate, a.createdAt, a.updatedAt, a.author.id) "
+			+ "FROM Album a WHERE a.author.id IN ?1 ORDER BY a.id")
+	List<AlbumRow> findRowsByAuthorIdIn(Collection<Long> authorIds);
+
+	/**
+	 * The names already taken among the given ones.
+	 */
+	@Query("SELECT a.name FROM Album a WHERE a.name IN ?1")
+	List<String> findNamesIn(Collection<String> names);
 }
@@ -1,8 +1,39 @@
 package projet.ynov.dizifymusicapi.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.projections.ArtistRow;
 
 //@Repository
-public interface ArtistRepository extends JpaRepository<Artist, Long> {}
+public interface ArtistRepository extends JpaRepository<Artist, Long> {
+
+	@EntityGraph(attributePaths = {"titles", "titles.album", "titles.album.author"})
+	Optional<Artist> findWithTitlesById(long id);
+
+	/**
+	 * Initializes the albums of the artist already loaded by {@link #findWithTitlesById(long)}.
+	 */
+	@EntityGraph(attributePaths = {"albums"})
+	Optional<Artist> findWithAlbumsById(long id);
+
+	/**
+	 * Keyset page of artist rows, the pageable only carries the limit.
+	 */
+	@Query("SELECT new projet.ynov.dizifymusicapi.projections.ArtistRow(ar.id, ar.name, ar.image, ar.description, ar.createdAt, ar.updatedAt) "
+			+ "FROM Artist ar WHERE ar.id > ?1 ORDER BY ar.id")
+	List<ArtistRow> findRowsAfter(long id, Pageable pageable);
+
+	/**
+	 * The names already taken among the given ones.
+	 */
+	@Query("SELECT ar.name FROM Artist ar WHERE ar.name IN ?1")
+	List<String> findNamesIn(Collection<String> names);
+}
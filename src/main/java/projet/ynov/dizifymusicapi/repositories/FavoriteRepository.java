@@ -1,5 +1,6 @@
 package projet.ynov.dizifymusicapi.repositories;
 
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.data.domain.Pageable;
@@ -12,9 +13,24 @@ import projet.ynov.dizifymusicapi.entity.User;
 
 //@Repository
 public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
-	List<Favorite> findAllByUser(User user, Pageable pageable);
+	String FETCH_TARGETS = "LEFT JOIN FETCH f.album al LEFT JOIN FETCH al.author LEFT JOIN FETCH f.artist "
+			+ "LEFT JOIN FETCH f.title t LEFT JOIN FETCH t.author LEFT JOIN FETCH t.album tal LEFT JOIN FETCH tal.author";
+	
 	List<Favorite> findAllByUser(User user);
 
+	/**
+	 * First page of the favorites of a user, newest first. The pageable only carries the limit.
+	 */
+	@Query("SELECT f FROM Favorite f " + FETCH_TARGETS + " WHERE f.user.id = ?1 ORDER BY f.createdAt DESC, f.id DESC")
+	List<Favorite> findPageByUser(long userId, Pageable pageable);
+
+	/**
+	 * Next page of the favorites of a user, seeking after the (createdAt, id) of the last favorite
+	 * of the previous page. The pageable only carries the limit.
+	 */
+	@Query("SELECT f FROM Favorite f " + FETCH_TARGETS + " WHERE f.user.id = ?1 AND (f.createdAt < ?2 OR (f.createdAt = ?2 AND f.id < ?3)) ORDER BY f.createdAt DESC, f.id DESC")
+	List<Favorite> findPageByUserBefore(long userId, Date createdAt, long id, Pageable pageable);
+
 	@Query(value = "SELECT * FROM favorites WHERE user_id = ?1 and album_id = ?2", nativeQuery = true)
 	Favorite findByUserAndAlbum(long userId, long albumId);
 	
@@ -24,4 +40,10 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
 	@Query(value = "SELECT * FROM favorites WHERE user_id = ?1 and title_id = ?2", nativeQuery = true)
 	Favorite findByUserAndTitle(long userId, long titleId);
 	
+	/**
+	 * Rows are [id, album_id, artist_id, title_id] for all the favorites of the user.
+	 */
+	@Query(value = "SELECT id, album_id, artist_id, title_id FROM favorites WHERE user_id = ?1", nativeQuery = true)
+	List<Object[]> findIdsByUser(long userId);
+	
 }
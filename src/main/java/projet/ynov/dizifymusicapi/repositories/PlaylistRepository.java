@@ -1,14 +1,67 @@
 package projet.ynov.dizifymusicapi.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import projet.ynov.dizifymusicapi.entity.Playlist;
-import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.projections.PlaylistRow;
 
 
 //@Repository
 public interface PlaylistRepository extends JpaRepository<Playlist, Long> {
-	List<Playlist> findAllByUser(User user);
+	/**
+	 * The playlists of a user, with the count and the total duration of their titles, in seconds.
+	 */
+	@Query("SELECT new projet.ynov.dizifymusicapi.projections.PlaylistRow(p.id, p.name, p.createdAt, p.updatedAt, p.trackCount, p.totalDurationSeconds) "
+			+ "FROM Playlist p WHERE p.user.id = ?1 ORDER BY p.id")
+	List<PlaylistRow> findRowsByUser(long userId);
+
+	/**
+	 * The count and the total duration of the titles of playlists, counted from their titles.
+	 */
+	@Query("SELECT new projet.ynov.dizifymusicapi.projections.PlaylistRow(p.id, p.name, p.createdAt, p.updatedAt, COUNT(t.id), "
+			+ "SUM(HOUR(t.duration) * 3600 + MINUTE(t.duration) * 60 + SECOND(t.duration))) "
+			+ "FROM Playlist p LEFT JOIN p.titles pt LEFT JOIN pt.title t WHERE p.id IN ?1 "
+			+ "GROUP BY p.id, p.name, p.createdAt, p.updatedAt")
+	List<PlaylistRow> countTotalsByIdIn(Collection<Long> ids);
+
+	/**
+	 * A playlist locked until the end of the transaction, its titles and totals are changed together.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p FROM Playlist p WHERE p.id = ?1")
+	Optional<Playlist> findForUpdateById(long id);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p FROM Playlist p WHERE p.id > ?1 ORDER BY p.id")
+	List<Playlist> findPageForUpdateAfter(long id, Pageable pageable);
+
+	/**
+	 * Add to the total duration of the playlists having a title, when its duration changes.
+	 */
+	@Modifying
+	@Query("UPDATE Playlist p SET p.totalDurationSeconds = p.totalDurationSeconds + ?2 "
+			+ "WHERE p.id IN (SELECT pt.playlist.id FROM PlaylistTitle pt WHERE pt.title.id = ?1)")
+	int addToDurationsWithTitle(long titleId, long durationSeconds);
+
+	/**
+	 * Remove a title from the totals of the playlists having it, before it is deleted.
+	 */
+	@Modifying
+	@Query("UPDATE Playlist p SET p.trackCount = p.trackCount - 1, p.totalDurationSeconds = p.totalDurationSeconds - ?2 "
+			+ "WHERE p.id IN (SELECT pt.playlist.id FROM PlaylistTitle pt WHERE pt.title.id = ?1)")
+	int removeFromTotalsWithTitle(long titleId, long durationSeconds);
+
+	@EntityGraph(attributePaths = {"user", "titles", "titles.title", "titles.title.author", "titles.title.album", "titles.title.album.author"})
+	Optional<Playlist> findWithTitlesById(long id);
 }
@@ -0,0 +1,61 @@
+package projet.ynov.dizifymusicapi.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import projet.ynov.dizifymusicapi.entity.PlaylistTitle;
+import projet.ynov.dizifymusicapi.entity.Title;
+
+public interface PlaylistTitleRepository extends JpaRepository<PlaylistTitle, Long> {
+
+	@Query("SELECT pt FROM PlaylistTitle pt WHERE pt.playlist.id = ?1 AND pt.title.id = ?2")
+	Optional<PlaylistTitle> findByPlaylistAndTitle(long playlistId, long titleId);
+
+	@Query("SELECT pt FROM PlaylistTitle pt WHERE pt.playlist.id = ?1 ORDER BY pt.position")
+	List<PlaylistTitle> findAllByPlaylist(long playlistId);
+
+	/**
+	 * The last position of a playlist, without the title being moved.
+	 */
+	@Query("SELECT MAX(pt.position) FROM PlaylistTitle pt WHERE pt.playlist.id = ?1 AND pt.id <> ?2")
+	Long findLastPosition(long playlistId, long excludedId);
+
+	/**
+	 * The position preceding another, without the title being moved.
+	 */
+	@Query("SELECT MAX(pt.position) FROM PlaylistTitle pt WHERE pt.playlist.id = ?1 AND pt.position < ?2 AND pt.id <> ?3")
+	Long findPositionBefore(long playlistId, long position, long excludedId);
+
+	/**
+	 * The current position of a title row of a playlist, null if it was removed.
+	 */
+	@Query("SELECT pt.position FROM PlaylistTitle pt WHERE pt.playlist.id = ?1 AND pt.id = ?2")
+	Long findPosition(long playlistId, long id);
+
+	/**
+	 * Seek page of the titles of a playlist, with their album and author, the pageable only carries the limit.
+	 */
+	@Query("SELECT pt FROM PlaylistTitle pt JOIN FETCH pt.title t LEFT JOIN FETCH t.author LEFT JOIN FETCH t.album al LEFT JOIN FETCH al.author "
+			+ "WHERE pt.playlist.id = ?1 ORDER BY pt.position")
+	List<PlaylistTitle> findPageByPlaylist(long playlistId, Pageable pageable);
+
+	@Query("SELECT pt FROM PlaylistTitle pt JOIN FETCH pt.title t LEFT JOIN FETCH t.author LEFT JOIN FETCH t.album al LEFT JOIN FETCH al.author "
+			+ "WHERE pt.playlist.id = ?1 AND pt.position > ?2 ORDER BY pt.position")
+	List<PlaylistTitle> findPageByPlaylistAfter(long playlistId, long position, Pageable pageable);
+
+	/**
+	 * The titles of an album found in playlists.
+	 */
+	@Query("SELECT DISTINCT t FROM PlaylistTitle pt JOIN pt.title t WHERE t.album.id = ?1")
+	List<Title> findTitlesByAlbum(long albumId);
+
+	/**
+	 * The titles of an artist, or of its albums, found in playlists.
+	 */
+	@Query("SELECT DISTINCT t FROM PlaylistTitle pt JOIN pt.title t LEFT JOIN t.album al WHERE t.author.id = ?1 OR al.author.id = ?1")
+	List<Title> findTitlesByArtist(long artistId);
+}
@@ -0,0 +1,31 @@
+package projet.ynov.dizifymusicapi.repositories;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import projet.ynov.dizifymusicapi.entity.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+	@Query("SELECT r.tokenId FROM RevokedToken r WHERE r.expiresAt > ?1")
+	List<String> findTokenIdsNotExpired(Date now);
+
+	/**
+	 * The revocations saved after a date, by this instance or another one.
+	 */
+	@Query("SELECT r FROM RevokedToken r WHERE r.revokedAt > ?1 AND r.expiresAt > ?2")
+	List<RevokedToken> findRevokedAfter(Date since, Date now);
+
+	/**
+	 * Delete the revocations of the tokens expired, they are rejected anyway.
+	 */
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= ?1")
+	int deleteExpired(Date now);
+}
@@ -1,11 +1,51 @@
 package projet.ynov.dizifymusicapi.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
 import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.projections.TitleRow;
 
 
 //@Repository
 public interface TitleRepository extends JpaRepository<Title, Long> {
 	Title findByName(String name);
+
+	/**
+	 * A title locked until the end of the transaction, its duration is read to update the playlists totals.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT t FROM Title t WHERE t.id = ?1")
+	Optional<Title> findForUpdateById(long id);
+
+	/**
+	 * Keyset page of title rows with their album and author, the pageable only carries the limit.
+	 */
+	@Query("SELECT new projet.ynov.dizifymusicapi.projections.TitleRow(t.id, t.name, t.duration, t.createdAt, t.updatedAt, "
+			+ "al.id, al.name, al.image, al.publicationDate, al.createdAt, al.updatedAt, "
+			+ "au.id, au.name, au.image, au.description, au.createdAt, au.updatedAt) "
+			+ "FROM Title t LEFT JOIN t.album al LEFT JOIN t.author au WHERE t.id > ?1 ORDER BY t.id")
+	List<TitleRow> findRowsAfter(long id, Pageable pageable);
+
+	@Query("SELECT new projet.ynov.dizifymusicapi.projections.TitleRow(t.id, t.name, t.duration, t.createdAt, t.updatedAt, t.album.id, t.author.id) "
+			+ "FROM Title t WHERE t.album.id IN ?1 ORDER BY t.id")
+	List<TitleRow> findRowsByAlbumIdIn(Collection<Long> albumIds);
+
+	@Query("SELECT new projet.ynov.dizifymusicapi.projections.TitleRow(t.id, t.name, t.duration, t.createdAt, t.updatedAt, t.album.id, t.author.id) "
+			+ "FROM Title t WHERE t.author.id IN ?1 ORDER BY t.id")
+	List<TitleRow> findRowsByAuthorIdIn(Collection<Long> authorIds);
+
+	/**
+	 * The names already taken among the given ones.
+	 */
+	@Query("SELECT t.name FROM Title t WHERE t.name IN ?1")
+	List<String> findNamesIn(Collection<String> names);
 }
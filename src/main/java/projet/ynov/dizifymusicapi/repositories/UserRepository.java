@@ -1,6 +1,14 @@
 package projet.ynov.dizifymusicapi.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import projet.ynov.dizifymusicapi.entity.User;
 
@@ -8,4 +16,14 @@ import projet.ynov.dizifymusicapi.entity.User;
 //@Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 	  User findByUsername(String username);
+
+	  @EntityGraph(attributePaths = {"playlists"})
+	  User findWithPlaylistsByUsername(String username);
+
+	  @EntityGraph(attributePaths = {"playlists"})
+	  Optional<User> findWithPlaylistsById(long id);
+
+	  @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.playlists")
+	  @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+	  List<User> findAllWithPlaylists();
 }
@@ -0,0 +1,166 @@
+package projet.ynov.dizifymusicapi.security;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limits the signin and signup requests by client address and by username, before their
+ * password is hashed.
+ *
+ * Only registered on the authentication endpoints, the other requests never go through it.
+ * The body is read here to get the username, then replayed to the controller.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+	// Far above a signin or signup body
+	static final int MAX_BODY_SIZE = 16 * 1024;
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private final RateLimiter addressLimiter;
+	private final RateLimiter usernameLimiter;
+	private final Counter addressRejected;
+	private final Counter usernameRejected;
+
+	public AuthRateLimitFilter(RateLimiter addressLimiter, RateLimiter usernameLimiter, MeterRegistry meterRegistry) {
+		this.addressLimiter = addressLimiter;
+		this.usernameLimiter = usernameLimiter;
+		this.addressRejected = Counter.builder("auth.rate.limit.rejected").tag("limit", "address").register(meterRegistry);
+		this.usernameRejected = Counter.builder("auth.rate.limit.rejected").tag("limit", "username").register(meterRegistry);
+		Gauge.builder("auth.rate.limit.keys", addressLimiter, RateLimiter::size).tag("limit", "address").register(meterRegistry);
+		Gauge.builder("auth.rate.limit.keys", usernameLimiter, RateLimiter::size).tag("limit", "username").register(meterRegistry);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		long wait = addressLimiter.tryAcquire(request.getRemoteAddr());
+		if (wait > 0) {
+			addressRejected.increment();
+			tooManyRequests(response, wait);
+			return;
+		}
+
+		byte[] body = readBody(request.getInputStream());
+		if (body == null) {
+			response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+			return;
+		}
+
+		String username = readUsername(body);
+		if (username != null) {
+			// The same account whatever the case it is typed in
+			wait = usernameLimiter.tryAcquire(username.toLowerCase(Locale.ROOT));
+			if (wait > 0) {
+				usernameRejected.increment();
+				tooManyRequests(response, wait);
+				return;
+			}
+		}
+
+		filterChain.doFilter(new CachedBodyRequest(request, body), response);
+	}
+
+	private void tooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+		long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+		response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many authentication attempts, retry later");
+	}
+
+	/**
+	 * @return the body, null if larger than {@link #MAX_BODY_SIZE}
+	 */
+	private static byte[] readBody(InputStream in) throws IOException {
+		byte[] body = in.readNBytes(MAX_BODY_SIZE + 1);
+		return body.length > MAX_BODY_SIZE ? null : body;
+	}
+
+	/**
+	 * @return the top level username field of a JSON body, null if there is none
+	 */
+	private static String readUsername(byte[] body) {
+		try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if ("username".equals(field)) {
+					return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+				}
+				parser.skipChildren();
+			}
+		} catch (IOException e) {
+			// The controller answers the malformed bodies
+		}
+		return null;
+	}
+
+	/**
+	 * The request with its body read again from memory.
+	 */
+	private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+		private final byte[] body;
+
+		CachedBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream in = new ByteArrayInputStream(body);
+			return new ServletInputStream() {
+
+				@Override
+				public int read() {
+					return in.read();
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) {
+					return in.read(b, off, len);
+				}
+
+				@Override
+				public boolean isFinished() {
+					return in.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				@Override
+				public void setReadListener(ReadListener readListener) {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
+}
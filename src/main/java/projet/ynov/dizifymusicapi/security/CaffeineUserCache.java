@@ -0,0 +1,49 @@
+package projet.ynov.dizifymusicapi.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded {@link UserCache} of the loaded accounts, by username.
+ *
+ * Entries expire a short time after they are loaded, an account changed or removed must
+ * also be evicted with {@link #removeUserFromCache(String)}. The hit, miss and eviction counts
+ * are published as the cache metrics of the given name.
+ */
+public class CaffeineUserCache implements UserCache {
+
+	private final Cache<String, UserDetails> cache;
+
+	public CaffeineUserCache(String name, long maximumSize, long expireAfterWriteSeconds, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+				.recordStats()
+				.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+	}
+
+	@Override
+	public UserDetails getUserFromCache(String username) {
+		return cache.getIfPresent(username);
+	}
+
+	@Override
+	public void putUserInCache(UserDetails user) {
+		cache.put(user.getUsername(), user);
+	}
+
+	@Override
+	public void removeUserFromCache(String username) {
+		cache.invalidate(username);
+	}
+}
@@ -0,0 +1,19 @@
+package projet.ynov.dizifymusicapi.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the logged {@link projet.ynov.dizifymusicapi.entity.User} in a controller method,
+ * null for anonymous requests and admins.
+ *
+ * @see CurrentUserArgumentResolver
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
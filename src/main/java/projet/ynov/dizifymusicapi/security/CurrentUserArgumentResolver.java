@@ -0,0 +1,72 @@
+package projet.ynov.dizifymusicapi.security;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.enums.Role;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+
+/**
+ * Resolves the {@link CurrentUser} parameters.
+ *
+ * The user is loaded at most once per request and kept as a request attribute. Anonymous
+ * requests and admins resolve to null without a query.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+	static final String CURRENT_USER_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".user";
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		return parameter.hasParameterAnnotation(CurrentUser.class) && parameter.getParameterType() == User.class;
+	}
+
+	@Override
+	public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer, NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+		@SuppressWarnings("unchecked")
+		Optional<User> user = (Optional<User>) webRequest.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+		if (user == null) {
+			user = Optional.ofNullable(loadUser(SecurityContextHolder.getContext().getAuthentication()));
+			webRequest.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+		}
+		return user.orElse(null);
+	}
+
+	private User loadUser(Authentication authentication) {
+		if (authentication == null || authentication instanceof AnonymousAuthenticationToken || !authentication.isAuthenticated()) {
+			return null;
+		}
+
+		Object principal = authentication.getPrincipal();
+		if (principal instanceof JwtPrincipal) {
+			JwtPrincipal jwtPrincipal = (JwtPrincipal) principal;
+			return jwtPrincipal.getRole() == Role.ROLE_USER ? userRepository.findById(jwtPrincipal.getId()).orElse(null) : null;
+		}
+
+		// Admins are not users, even with the same username
+		boolean admin = authentication.getAuthorities().stream()
+								.anyMatch(authority -> Role.ROLE_ADMIN.getAuthority().equals(authority.getAuthority()));
+		if (admin || !(principal instanceof UserDetails)) {
+			return null;
+		}
+		return userRepository.findByUsername(((UserDetails) principal).getUsername());
+	}
+}
@@ -0,0 +1,69 @@
+package projet.ynov.dizifymusicapi.security;
+
+import projet.ynov.dizifymusicapi.enums.Role;
+
+/**
+ * The claims of a verified token.
+ *
+ * The token is parsed and its signature checked once per request by {@link JwtTokenProvider#parseToken(String)},
+ * the claims are then kept as the details of the authentication for the rest of the filter chain.
+ */
+public final class JwtClaims {
+
+	private final String tokenId;
+	private final long userId;
+	private final String username;
+	private final Role role;
+	private final long issuedAt;
+	private final long expiresAt;
+
+	public JwtClaims(String tokenId, long userId, String username, Role role, long issuedAt, long expiresAt) {
+		this.tokenId = tokenId;
+		this.userId = userId;
+		this.username = username;
+		this.role = role;
+		this.issuedAt = issuedAt;
+		this.expiresAt = expiresAt;
+	}
+
+	/**
+	 * @return the id of the token (jti), null for the tokens issued without it
+	 */
+	public String getTokenId() {
+		return tokenId;
+	}
+
+	/**
+	 * @return the id of the user, or of the admin, 0 for the tokens issued without it
+	 */
+	public long getUserId() {
+		return userId;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public Role getRole() {
+		return role;
+	}
+
+	/**
+	 * @return the issue time, in epoch milliseconds
+	 */
+	public long getIssuedAt() {
+		return issuedAt;
+	}
+
+	/**
+	 * @return the expiration time, in epoch milliseconds
+	 */
+	public long getExpiresAt() {
+		return expiresAt;
+	}
+
+	@Override
+	public String toString() {
+		return "JwtClaims [tokenId=" + tokenId + ", userId=" + userId + ", username=" + username + ", role=" + role + ", expiresAt=" + expiresAt + "]";
+	}
+}
@@ -0,0 +1,84 @@
+package projet.ynov.dizifymusicapi.security;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import projet.ynov.dizifymusicapi.enums.Role;
+
+/**
+ * The logged user or admin, built from the claims of its token without loading it.
+ *
+ * Used when security.jwt.stateless-principal is enabled. The account is trusted until the
+ * token expires, whatever changed in the database since the token was issued.
+ */
+public final class JwtPrincipal implements UserDetails {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long id;
+	private final String username;
+	private final Role role;
+	private final Collection<GrantedAuthority> authorities;
+
+	public JwtPrincipal(long id, String username, Role role) {
+		this.id = id;
+		this.username = username;
+		this.role = role;
+		this.authorities = Collections.singletonList(new SimpleGrantedAuthority(role.getAuthority()));
+	}
+
+	/**
+	 * @return the id of the user, or of the admin
+	 */
+	public long getId() {
+		return id;
+	}
+
+	public Role getRole() {
+		return role;
+	}
+
+	@Override
+	public String getUsername() {
+		return username;
+	}
+
+	@Override
+	public Collection<? extends GrantedAuthority> getAuthorities() {
+		return authorities;
+	}
+
+	@Override
+	public String getPassword() {
+		return "";
+	}
+
+	@Override
+	public boolean isAccountNonExpired() {
+		return true;
+	}
+
+	@Override
+	public boolean isAccountNonLocked() {
+		return true;
+	}
+
+	@Override
+	public boolean isCredentialsNonExpired() {
+		return true;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "JwtPrincipal [id=" + id + ", username=" + username + ", role=" + role + "]";
+	}
+}
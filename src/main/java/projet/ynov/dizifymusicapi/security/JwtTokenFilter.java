@@ -7,6 +7,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,17 +18,31 @@ import projet.ynov.dizifymusicapi.exceptions.CustomException;
 public class JwtTokenFilter extends OncePerRequestFilter {
 
 	private JwtTokenProvider jwtTokenProvider;
+	private VerifiedTokenCache verifiedTokenCache;
+	private RevokedTokens revokedTokens;
 	
-	public JwtTokenFilter(JwtTokenProvider jwtTokenProvider) {
+	public JwtTokenFilter(JwtTokenProvider jwtTokenProvider, VerifiedTokenCache verifiedTokenCache, RevokedTokens revokedTokens) {
 	 this.jwtTokenProvider = jwtTokenProvider;
+	 this.verifiedTokenCache = verifiedTokenCache;
+	 this.revokedTokens = revokedTokens;
 	}
 	
 	@Override
 	protected void doFilterInternal(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, FilterChain filterChain) throws ServletException, IOException {
 	 String token = jwtTokenProvider.resolveToken(httpServletRequest);
 	 try {
-	   if (token != null && jwtTokenProvider.validateToken(token)) {
-	     UsernamePasswordAuthenticationToken auth = jwtTokenProvider.getAuthentication(token);
+	   if (token != null) {
+	     // A token seen before is not verified again, its user is loaded from the user details cache
+	     JwtClaims claims = verifiedTokenCache.get(token);
+	     if (claims == null) {
+	       claims = jwtTokenProvider.parseToken(token);
+	       verifiedTokenCache.put(token, claims);
+	     }
+	     // Checked on every request, a token revoked by another instance may be cached here
+	     if (revokedTokens.isRevoked(claims)) {
+	       throw new CustomException("Expired or invalid JWT token", HttpStatus.INTERNAL_SERVER_ERROR);
+	     }
+	     UsernamePasswordAuthenticationToken auth = jwtTokenProvider.getAuthentication(claims);
 	     SecurityContextHolder.getContext().setAuthentication(auth);
 	   }
 	 } catch (CustomException ex) {
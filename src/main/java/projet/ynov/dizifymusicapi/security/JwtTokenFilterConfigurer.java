@@ -8,14 +8,18 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class JwtTokenFilterConfigurer extends SecurityConfigurerAdapter<DefaultSecurityFilterChain, HttpSecurity> {
 
 	  private JwtTokenProvider jwtTokenProvider;
+	  private VerifiedTokenCache verifiedTokenCache;
+	  private RevokedTokens revokedTokens;
 	
-	  public JwtTokenFilterConfigurer(JwtTokenProvider jwtTokenProvider) {
+	  public JwtTokenFilterConfigurer(JwtTokenProvider jwtTokenProvider, VerifiedTokenCache verifiedTokenCache, RevokedTokens revokedTokens) {
 	    this.jwtTokenProvider = jwtTokenProvider;
+	    this.verifiedTokenCache = verifiedTokenCache;
+	    this.revokedTokens = revokedTokens;
 	  }
 	
 	  @Override
 	  public void configure(HttpSecurity http) throws Exception {
-	    JwtTokenFilter customFilter = new JwtTokenFilter(jwtTokenProvider);
+	    JwtTokenFilter customFilter = new JwtTokenFilter(jwtTokenProvider, verifiedTokenCache, revokedTokens);
 	    http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
 	  }
 
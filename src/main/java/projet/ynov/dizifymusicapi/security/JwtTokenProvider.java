@@ -1,18 +1,23 @@
 package projet.ynov.dizifymusicapi.security;
 
+import java.security.Key;
 import java.util.Base64;
 import java.util.Date;
-import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 
 import javax.annotation.PostConstruct;
+import javax.crypto.spec.SecretKeySpec;
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.CachingUserDetailsService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
@@ -35,18 +40,28 @@ public class JwtTokenProvider {
   @Value("${security.jwt.token.expire-length:3600000}")
   private long validityInMilliseconds = 3600000 * 24; // 24h
 
+  // Build the principal from the token claims instead of loading the user on every authentication
+  @Value("${security.jwt.stateless-principal:false}")
+  private boolean statelessPrincipal;
+
+  // MyUserDetails and MyAdminDetails behind their caches
   @Autowired
-  private MyUserDetails myUserDetails;
+  private CachingUserDetailsService cachingUserDetails;
   @Autowired
-  private MyAdminDetails myAdminDetails;
+  private CachingUserDetailsService cachingAdminDetails;
+
+  private Key signingKey;
 
   @PostConstruct
   protected void init() {
     secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
+    // Decoded once, instead of on every signature and parse
+    signingKey = new SecretKeySpec(Base64.getDecoder().decode(secretKey), SignatureAlgorithm.HS256.getJcaName());
   }
 
-  public String createToken(String username, Role role) {
+  public String createToken(long userId, String username, Role role) {
     Claims claims = Jwts.claims().setSubject(username);
+    claims.put("uid", userId);
     claims.put("role", new SimpleGrantedAuthority(role.getAuthority()));
 
     Date now = new Date();
@@ -54,32 +69,78 @@ public class JwtTokenProvider {
 
     return Jwts.builder()//
         .setClaims(claims)//
+        .setId(UUID.randomUUID().toString())//
         .setIssuedAt(now)//
         .setExpiration(validity)//
-        .signWith(SignatureAlgorithm.HS256, secretKey)//
+        .signWith(SignatureAlgorithm.HS256, signingKey)//
         .compact();
   }
 
-  public UsernamePasswordAuthenticationToken getAuthentication(String token) {
-	Role role = getRole(token);
+  /**
+   * Verify a token and read its claims, the only parse of the token in a request.
+   *
+   * @param token the token
+   * @return the claims
+   * @throws CustomException if the token is expired or invalid
+   */
+  public JwtClaims parseToken(String token) {
+    Claims claims;
+    try {
+      claims = Jwts.parser().setSigningKey(signingKey).parseClaimsJws(token).getBody();
+    } catch (JwtException | IllegalArgumentException e) {
+      throw invalidToken();
+    }
+
+    // Signed with our key, but missing claims
+    Object role = claims.get("role");
+    Object authority = role instanceof Map ? ((Map<?, ?>) role).get("authority") : null;
+    if (!(authority instanceof String) || claims.getSubject() == null || claims.getExpiration() == null) {
+      throw invalidToken();
+    }
+    // Tokens issued before the user id was added do not have it
+    Object userId = claims.get("uid");
+    if (userId != null && !(userId instanceof Number)) {
+      throw invalidToken();
+    }
+    Date issuedAt = claims.getIssuedAt();
+
+    try {
+      // Tokens issued before revocation do not have an id, and cannot be revoked
+      return new JwtClaims(claims.getId(), userId == null ? 0L : ((Number) userId).longValue(), claims.getSubject(), Role.valueOf((String) authority),
+          issuedAt == null ? 0L : issuedAt.getTime(), claims.getExpiration().getTime());
+    } catch (IllegalArgumentException e) {
+      throw invalidToken();
+    }
+  }
+
+  /**
+   * Build the authentication of a verified token.
+   *
+   * The principal is a {@link JwtPrincipal} read from the claims when the stateless principal is
+   * enabled and the token has the user id, otherwise the user or admin is loaded.
+   *
+   * @param claims the claims of the token
+   * @return the authentication, with the claims as details
+   * @throws CustomException UNAUTHORIZED when the user of the token was deleted or renamed
+   */
+  public UsernamePasswordAuthenticationToken getAuthentication(JwtClaims claims) {
 	UserDetails userDetails = null;
 	
-	if (role == Role.ROLE_ADMIN) {
-		userDetails = myAdminDetails.loadUserByUsername(getUsername(token));		
+	if (statelessPrincipal && claims.getUserId() != 0L) {
+		userDetails = new JwtPrincipal(claims.getUserId(), claims.getUsername(), claims.getRole());
 	} else {
-		userDetails = myUserDetails.loadUserByUsername(getUsername(token));
+		try {
+			userDetails = claims.getRole() == Role.ROLE_ADMIN
+					? cachingAdminDetails.loadUserByUsername(claims.getUsername())
+					: cachingUserDetails.loadUserByUsername(claims.getUsername());
+		} catch (UsernameNotFoundException e) {
+			throw new CustomException("Expired or invalid JWT token", HttpStatus.UNAUTHORIZED);
+		}
 	}
 
-	return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
-  }
-  
-  public Role getRole(String token) {
-	  String role = (String) ((LinkedHashMap) Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().get("role")).get("authority");
-	  return Role.valueOf(role);
-  }
-
-  public String getUsername(String token) {
-    return Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().getSubject();
+	UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+	authentication.setDetails(claims);
+	return authentication;
   }
 
   public String resolveToken(HttpServletRequest req) {
@@ -90,13 +151,8 @@ public class JwtTokenProvider {
     return null;
   }
 
-  public boolean validateToken(String token) {
-    try {
-      Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
-      return true;
-    } catch (JwtException | IllegalArgumentException e) {
-      throw new CustomException("Expired or invalid JWT token", HttpStatus.INTERNAL_SERVER_ERROR);
-    }
+  private CustomException invalidToken() {
+    return new CustomException("Expired or invalid JWT token", HttpStatus.INTERNAL_SERVER_ERROR);
   }
 
 }
@@ -0,0 +1,82 @@
+package projet.ynov.dizifymusicapi.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets by key, each one held in a single {@link AtomicLong}.
+ *
+ * A bucket stores the time at which it is full again (the generic cell rate algorithm),
+ * so a request updates it with one compare-and-set and never locks. Keys are kept in a
+ * {@link ConcurrentHashMap}; the buckets full again are dropped by a sweep, run by
+ * at most one request per cleanup interval.
+ */
+public class RateLimiter {
+
+	private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<String, AtomicLong>();
+	// Time to get one token back, and time to fill the whole bucket
+	private final long refillNanos;
+	private final long burstNanos;
+	private final long cleanupIntervalNanos;
+	private final LongSupplier nanoTime;
+	private final AtomicLong nextCleanup;
+
+	/**
+	 * @param capacity the number of requests allowed at once
+	 * @param perMinute the number of requests allowed per minute, once the capacity is used
+	 */
+	public RateLimiter(int capacity, int perMinute) {
+		this(capacity, perMinute, System::nanoTime);
+	}
+
+	RateLimiter(int capacity, int perMinute, LongSupplier nanoTime) {
+		this.refillNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+		this.burstNanos = refillNanos * capacity;
+		this.cleanupIntervalNanos = Math.max(burstNanos, TimeUnit.SECONDS.toNanos(10));
+		this.nanoTime = nanoTime;
+		this.nextCleanup = new AtomicLong(nanoTime.getAsLong() + cleanupIntervalNanos);
+	}
+
+	/**
+	 * Take a token from the bucket of a key.
+	 *
+	 * @param key the key
+	 * @return 0 if the token was taken, else the nanoseconds until one is available
+	 */
+	public long tryAcquire(String key) {
+		long now = nanoTime.getAsLong();
+		cleanupIfDue(now);
+
+		AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+		while (true) {
+			long fullAt = bucket.get();
+			long nextFullAt = Math.max(fullAt, now) + refillNanos;
+			long wait = nextFullAt - now - burstNanos;
+			if (wait > 0) {
+				return wait;
+			}
+			if (bucket.compareAndSet(fullAt, nextFullAt)) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of keys with a bucket not full
+	 */
+	public int size() {
+		return buckets.size();
+	}
+
+	private void cleanupIfDue(long now) {
+		long due = nextCleanup.get();
+		if (now - due < 0 || !nextCleanup.compareAndSet(due, now + cleanupIntervalNanos)) {
+			return;
+		}
+		// A full bucket is the same as no bucket. A token taken while its bucket is removed is
+		// forgotten, that is at most one per key and sweep
+		buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+	}
+}
@@ -0,0 +1,179 @@
+package projet.ynov.dizifymusicapi.security;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import projet.ynov.dizifymusicapi.entity.RevokedToken;
+import projet.ynov.dizifymusicapi.repositories.RevokedTokenRepository;
+
+/**
+ * The tokens revoked before their expiration, by their jti claim.
+ *
+ * Revocations are saved in the database and added to an in-memory bloom filter. A token not in
+ * the filter is not revoked, with no query; the database is only checked for the few tokens the
+ * filter may hold (about 1% of them up to security.jwt.revocation.expected-tokens revocations).
+ *
+ * Each instance has its own filter. It adds the revocations saved by the other instances every
+ * security.jwt.revocation.poll-interval, and is rebuilt every security.jwt.revocation.purge-interval
+ * once the revocations of the expired tokens are deleted.
+ */
+@Component
+public class RevokedTokens {
+
+	// The revocations saved this long before the last one seen are read again, in case they were
+	// committed late or by an instance whose clock is behind
+	private static final long POLL_OVERLAP_MILLIS = 60000;
+
+	private final RevokedTokenRepository revokedTokenRepository;
+	private final VerifiedTokenCache verifiedTokenCache;
+
+	private final long bitCount;
+	private final int hashCount;
+	private volatile AtomicLongArray bits;
+	// The latest revocation date read from the database
+	private volatile long lastRevokedAt;
+
+	private final Counter filterPositives;
+	private final Counter falsePositives;
+
+	@Autowired
+	public RevokedTokens(RevokedTokenRepository revokedTokenRepository, VerifiedTokenCache verifiedTokenCache, MeterRegistry meterRegistry,
+			@Value("${security.jwt.revocation.expected-tokens:100000}") int expectedTokens) {
+		this.revokedTokenRepository = revokedTokenRepository;
+		this.verifiedTokenCache = verifiedTokenCache;
+
+		// Bits and hashes for a 1% false positive rate at the expected count
+		double falsePositiveRate = 0.01;
+		this.bitCount = Math.max(64, (long) Math.ceil(-expectedTokens * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedTokens * Math.log(2)));
+		this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+
+		this.filterPositives = Counter.builder("jwt.revocation.filter.positives").register(meterRegistry);
+		this.falsePositives = Counter.builder("jwt.revocation.filter.false.positives").register(meterRegistry);
+	}
+
+	@PostConstruct
+	void load() {
+		purge();
+	}
+
+	/**
+	 * Delete the revocations of the expired tokens and rebuild the filter without them.
+	 */
+	@Scheduled(fixedDelayString = "${security.jwt.revocation.purge-interval:3600000}", initialDelayString = "${security.jwt.revocation.purge-interval:3600000}")
+	public synchronized void purge() {
+		Date now = new Date();
+		revokedTokenRepository.deleteExpired(now);
+
+		AtomicLongArray rebuilt = new AtomicLongArray(bits.length());
+		for (String tokenId : revokedTokenRepository.findTokenIdsNotExpired(now)) {
+			add(rebuilt, tokenId);
+		}
+		bits = rebuilt;
+		lastRevokedAt = Math.max(lastRevokedAt, now.getTime());
+
+		// The revocations saved while the filter was rebuilt
+		poll();
+	}
+
+	/**
+	 * Add the revocations saved since the last poll, by this instance or another one.
+	 */
+	@Scheduled(fixedDelayString = "${security.jwt.revocation.poll-interval:10000}")
+	public synchronized void poll() {
+		long seen = lastRevokedAt;
+		for (RevokedToken revokedToken : revokedTokenRepository.findRevokedAfter(new Date(seen - POLL_OVERLAP_MILLIS), new Date())) {
+			add(bits, revokedToken.getTokenId());
+			seen = Math.max(seen, revokedToken.getRevokedAt().getTime());
+		}
+		lastRevokedAt = seen;
+	}
+
+	/**
+	 * Whether a verified token was revoked.
+	 *
+	 * @param claims the claims of the token
+	 * @return true if revoked
+	 */
+	public boolean isRevoked(JwtClaims claims) {
+		// The tokens issued without id cannot be revoked
+		if (claims.getTokenId() == null || !mightContain(claims.getTokenId())) {
+			return false;
+		}
+
+		filterPositives.increment();
+		boolean revoked = revokedTokenRepository.existsById(claims.getTokenId());
+		if (!revoked) {
+			falsePositives.increment();
+		}
+		return revoked;
+	}
+
+	/**
+	 * Revoke a verified token until its expiration.
+	 *
+	 * @param token the token
+	 * @param claims the claims of the token, with its id
+	 */
+	public void revoke(String token, JwtClaims claims) {
+		revokedTokenRepository.save(new RevokedToken(claims.getTokenId(), new Date(claims.getExpiresAt())));
+		add(bits, claims.getTokenId());
+		// The claims of a revoked token are not needed anymore
+		verifiedTokenCache.invalidate(token);
+	}
+
+	private void add(AtomicLongArray bits, String tokenId) {
+		long hash = hash(tokenId);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			long mask = 1L << bit;
+			int index = (int) (bit >>> 6);
+			long word;
+			do {
+				word = bits.get(index);
+			} while ((word & mask) == 0 && !bits.compareAndSet(index, word, word | mask));
+		}
+	}
+
+	private boolean mightContain(String tokenId) {
+		AtomicLongArray bits = this.bits;
+		long hash = hash(tokenId);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 64-bit FNV-1a of the id, mixed as the murmur3 finalizer does, split in two 32-bit hashes.
+	 */
+	private static long hash(String tokenId) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < tokenId.length(); i++) {
+			hash ^= tokenId.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -0,0 +1,109 @@
+package projet.ynov.dizifymusicapi.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of the claims of verified tokens, so a token sent again is not verified again.
+ *
+ * Only the claims are cached: the user is still loaded on every request, through the short-lived
+ * user details cache that is evicted when a user is updated or deleted. Entries are keyed by the
+ * SHA-256 digest of the token and expire with the token. Reads do not lock, and the hit, miss and
+ * eviction counts are published as the "jwt.tokens" cache metrics.
+ */
+@Component
+public class VerifiedTokenCache {
+
+	private final Cache<ByteBuffer, JwtClaims> cache;
+
+	@Autowired
+	public VerifiedTokenCache(MeterRegistry meterRegistry, @Value("${security.jwt.cache.maximum-size:10000}") long maximumSize) {
+		this(meterRegistry, maximumSize, Ticker.systemTicker());
+	}
+
+	VerifiedTokenCache(MeterRegistry meterRegistry, long maximumSize, Ticker ticker) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new ExpireWithToken())
+				.ticker(ticker)
+				.recordStats()
+				.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.tokens");
+	}
+
+	/**
+	 * Gets the claims of a token verified before.
+	 *
+	 * @param token the token
+	 * @return the claims, null if the token is not cached
+	 */
+	public JwtClaims get(String token) {
+		return cache.getIfPresent(digest(token));
+	}
+
+	/**
+	 * Cache the claims of a verified token, until the token expiration.
+	 *
+	 * @param token the token
+	 * @param claims the claims of the token
+	 */
+	public void put(String token, JwtClaims claims) {
+		cache.put(digest(token), claims);
+	}
+
+	/**
+	 * Remove the claims of a token, so it is verified again on its next request.
+	 *
+	 * @param token the token
+	 */
+	public void invalidate(String token) {
+		cache.invalidate(digest(token));
+	}
+
+	private static ByteBuffer digest(String token) {
+		try {
+			return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Expires the entries at the expiration of their token, whatever their reads.
+	 */
+	private static class ExpireWithToken implements Expiry<ByteBuffer, JwtClaims> {
+
+		@Override
+		public long expireAfterCreate(ByteBuffer key, JwtClaims claims, long currentTime) {
+			// The ticker is not a wall clock, so the entry lives for the remaining lifetime of the token
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(0, claims.getExpiresAt() - System.currentTimeMillis()));
+		}
+
+		@Override
+		public long expireAfterUpdate(ByteBuffer key, JwtClaims claims, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, claims, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(ByteBuffer key, JwtClaims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -0,0 +1,270 @@
+package projet.ynov.dizifymusicapi.seed;
+
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.javafaker.Faker;
+
+import projet.ynov.dizifymusicapi.config.JdbcBatchConfig;
+import projet.ynov.dizifymusicapi.entity.Admin;
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Favorite;
+import projet.ynov.dizifymusicapi.entity.Playlist;
+import projet.ynov.dizifymusicapi.entity.PlaylistTitle;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.entity.params.AlbumParams;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.entity.params.FavoriteParams;
+import projet.ynov.dizifymusicapi.entity.params.PlaylistParams;
+import projet.ynov.dizifymusicapi.entity.params.TitleParams;
+import projet.ynov.dizifymusicapi.entity.params.UserParams;
+
+/**
+ * Generates the default accounts and a random catalog, from the seed.* properties.
+ *
+ * The defaults are the historical seed: the admin and user accounts, 2 artists of 3 albums
+ * of 5 titles, and about half of them in the favorites and playlists of the user. Raise them,
+ * or run with the loadtest profile, for a catalog to load test against.
+ *
+ * The artists are shared by seed.workers threads, each artist with its albums, titles,
+ * favorites and playlists is inserted in its own transaction by JDBC batches. The rows of an
+ * artist only depend on seed.random-seed and the artist position, so the same seed gives the
+ * same data. A name already generated gets the position of its row as suffix, with several
+ * workers which of the two rows gets it depends on their order.
+ */
+@Component
+public class DataGenerator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DataGenerator.class);
+
+	private static final long FIRST_PUBLICATION_DAY = LocalDate.of(1950, 1, 1).toEpochDay();
+	private static final long LAST_PUBLICATION_DAY = LocalDate.of(2020, 12, 31).toEpochDay();
+
+	@PersistenceContext
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Value("${seed.random-seed:42}")
+	private long randomSeed;
+	@Value("${seed.users:1}")
+	private int users;
+	@Value("${seed.artists:2}")
+	private int artists;
+	@Value("${seed.albums-per-artist:3}")
+	private int albumsPerArtist;
+	@Value("${seed.titles-per-album:5}")
+	private int titlesPerAlbum;
+	@Value("${seed.workers:1}")
+	private int workers;
+
+	/**
+	 * Generate the accounts and the catalog, in an empty database.
+	 */
+	public void generate() throws Exception {
+		long start = System.nanoTime();
+		Counts counts = new Counts();
+
+		long[] userIds = transactionTemplate.execute(status -> createAccounts(counts));
+
+		Set<String> names = ConcurrentHashMap.newKeySet();
+		AtomicInteger nextArtist = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("data-generator-"));
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int i = 0; i < workers; i++) {
+				futures.add(executor.submit(() -> {
+					Random random = new Random();
+					// Building a Faker loads its dictionaries, it is built once per worker and reseeded per artist
+					Faker faker = new Faker(random);
+					for (int artist = nextArtist.getAndIncrement(); artist < artists; artist = nextArtist.getAndIncrement()) {
+						random.setSeed(randomSeed * 31 + artist);
+						int artistIndex = artist;
+						transactionTemplate.executeWithoutResult(status -> createArtist(artistIndex, random, faker, names, userIds, counts));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+		long rows = counts.total();
+		LOGGER.info("Generated {} rows in {} s ({} rows/s) : {} users, {} artists, {} albums, {} titles, {} favorites, {} playlists",
+				rows, String.format(Locale.ROOT, "%.1f", seconds), Math.round(rows / seconds),
+				counts.users, counts.artists, counts.albums, counts.titles, counts.favorites, counts.playlists);
+	}
+
+	private long[] createAccounts(Counts counts) {
+		Date now = new Date();
+		entityManager.persist(new Admin(new UserParams("https://i.pravatar.cc/200", "admin@gmail.com", "admin", passwordEncoder.encode("admin"), now, now)));
+		counts.users.incrementAndGet();
+
+		// The users share the password of the user account, hashed once
+		String password = passwordEncoder.encode("user");
+		long[] userIds = new long[Math.max(1, users)];
+		for (int i = 0; i < userIds.length; i++) {
+			String username = i == 0 ? "user" : "user" + i;
+			User user = new User(new UserParams("https://i.pravatar.cc/200", username + "@gmail.com", username, password, now, now));
+			entityManager.persist(user);
+			userIds[i] = user.getId();
+			counts.users.incrementAndGet();
+			flushBatch(i + 1);
+		}
+		return userIds;
+	}
+
+	private void createArtist(int artistIndex, Random random, Faker faker, Set<String> names, long[] userIds, Counts counts) {
+		Date now = new Date();
+		Rows rows = new Rows();
+
+		Artist artist = new Artist(new ArtistParams(unique(faker.artist().name(), "artist", names, artistIndex), "https://i.pravatar.cc/200", faker.lorem().paragraph(), now, now));
+		rows.persist(artist);
+		counts.artists.incrementAndGet();
+		if (random.nextBoolean()) {
+			Favorite favorite = favorite(userIds, random, now);
+			favorite.setArtist(artist);
+			rows.persist(favorite);
+			counts.favorites.incrementAndGet();
+		}
+
+		for (int j = 0; j < albumsPerArtist; j++) {
+			String albumPosition = artistIndex + "." + j;
+			Album album = new Album(new AlbumParams(unique(faker.name().title(), "album", names, albumPosition), "https://i.pravatar.cc/200", publicationDate(random), now, now));
+			album.setAuthor(artist);
+			rows.persist(album);
+			counts.albums.incrementAndGet();
+			if (random.nextBoolean()) {
+				Favorite favorite = favorite(userIds, random, now);
+				favorite.setAlbum(album);
+				rows.persist(favorite);
+				counts.favorites.incrementAndGet();
+			}
+
+			Playlist playlist = null;
+			if (random.nextBoolean()) {
+				playlist = new Playlist(new PlaylistParams(faker.funnyName().name(), now, now));
+				playlist.setUser(entityManager.getReference(User.class, userIds[random.nextInt(userIds.length)]));
+			}
+
+			List<Title> titles = new ArrayList<Title>();
+			for (int k = 0; k < titlesPerAlbum; k++) {
+				Time duration = Time.valueOf(LocalTime.of(0, random.nextInt(9), random.nextInt(59)));
+				Title title = new Title(new TitleParams(unique(faker.funnyName().name(), "title", names, albumPosition + "." + k), duration, now, now));
+				title.setAuthor(artist);
+				title.setAlbum(random.nextBoolean() ? album : null);
+				rows.persist(title);
+				titles.add(title);
+				counts.titles.incrementAndGet();
+				if (random.nextBoolean()) {
+					Favorite favorite = favorite(userIds, random, now);
+					favorite.setTitle(title);
+					rows.persist(favorite);
+					counts.favorites.incrementAndGet();
+				}
+			}
+
+			if (playlist != null) {
+				for (Title title : titles) {
+					playlist.addToTotals(1, title.getDurationSeconds());
+				}
+				rows.persist(playlist);
+				for (int k = 0; k < titles.size(); k++) {
+					rows.persist(new PlaylistTitle(playlist, titles.get(k), (k + 1) * PlaylistTitle.POSITION_GAP));
+				}
+				counts.playlists.incrementAndGet();
+			}
+		}
+	}
+
+	private Favorite favorite(long[] userIds, Random random, Date now) {
+		Favorite favorite = new Favorite(new FavoriteParams(now, now));
+		favorite.setUser(entityManager.getReference(User.class, userIds[random.nextInt(userIds.length)]));
+		return favorite;
+	}
+
+	private static Date publicationDate(Random random) {
+		long day = FIRST_PUBLICATION_DAY + (long) (random.nextDouble() * (LAST_PUBLICATION_DAY - FIRST_PUBLICATION_DAY));
+		return Date.from(LocalDate.ofEpochDay(day).atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+	/**
+	 * The names are unique, ignoring the case as MySQL does. A name already taken gets the
+	 * position of the row.
+	 */
+	private static String unique(String name, String type, Set<String> names, Object position) {
+		if (names.add(name.toLowerCase(Locale.ROOT))) {
+			return name;
+		}
+		String suffixed = name + " (" + type + " " + position + ")";
+		names.add(suffixed.toLowerCase(Locale.ROOT));
+		return suffixed;
+	}
+
+	private void flushBatch(int persisted) {
+		if (persisted % JdbcBatchConfig.BATCH_SIZE == 0) {
+			entityManager.flush();
+			entityManager.clear();
+		}
+	}
+
+	/**
+	 * The rows persisted in the transaction of an artist, sent as a batch every BATCH_SIZE rows.
+	 */
+	private class Rows {
+
+		private int persisted;
+
+		void persist(Object entity) {
+			entityManager.persist(entity);
+			flushBatch(++persisted);
+		}
+	}
+
+	private static class Counts {
+
+		private final AtomicLong users = new AtomicLong();
+		private final AtomicLong artists = new AtomicLong();
+		private final AtomicLong albums = new AtomicLong();
+		private final AtomicLong titles = new AtomicLong();
+		private final AtomicLong favorites = new AtomicLong();
+		private final AtomicLong playlists = new AtomicLong();
+
+		long total() {
+			return users.get() + artists.get() + albums.get() + titles.get() + favorites.get() + playlists.get();
+		}
+	}
+}
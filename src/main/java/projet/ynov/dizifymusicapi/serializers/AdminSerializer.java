@@ -1,8 +1,8 @@
 package projet.ynov.dizifymusicapi.serializers;
 
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
+
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.TimeZone;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -10,7 +10,6 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
 import projet.ynov.dizifymusicapi.entity.Admin;
-import projet.ynov.dizifymusicapi.enums.Role;
 
 public class AdminSerializer extends StdSerializer<Admin> {
     
@@ -29,21 +28,17 @@ public class AdminSerializer extends StdSerializer<Admin> {
  
     @Override
     public void serialize(Admin admin, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
-		SimpleDateFormat sdf;
-		sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
-		sdf.setTimeZone(TimeZone.getTimeZone("CET"));
-		
         jgen.writeStartObject();
-        jgen.writeNumberField("id", admin.getId());
-        jgen.writeStringField("username", admin.getUsername());
-        jgen.writeStringField("email", admin.getEmail());
-        jgen.writeStringField("image", admin.getImage());
-        jgen.writeStringField("role", Role.ROLE_ADMIN.toString());
-        jgen.writeStringField("updatedAt", sdf.format(admin.getUpdatedAt()));
-        jgen.writeStringField("createdAt", sdf.format(admin.getCreatedAt()));
+        writeField(jgen, ID, admin.getId());
+        writeField(jgen, USERNAME, admin.getUsername());
+        writeField(jgen, EMAIL, admin.getEmail());
+        writeField(jgen, IMAGE, admin.getImage());
+        writeField(jgen, ROLE, ROLE_ADMIN);
+        writeDateField(jgen, UPDATED_AT, admin.getUpdatedAt());
+        writeDateField(jgen, CREATED_AT, admin.getCreatedAt());
         
         if (admin.getToken() != null) {
-        	jgen.writeStringField("token", admin.getToken());        	
+        	writeField(jgen, TOKEN, admin.getToken());
         }
              
     	jgen.writeEndObject();
@@ -0,0 +1,67 @@
+package projet.ynov.dizifymusicapi.serializers;
+
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import projet.ynov.dizifymusicapi.projections.AlbumRow;
+import projet.ynov.dizifymusicapi.projections.ArtistRow;
+import projet.ynov.dizifymusicapi.projections.TitleRow;
+
+/**
+ * Same output as {@link AlbumSerializer}, from an {@link AlbumRow}.
+ */
+public class AlbumRowSerializer extends StdSerializer<AlbumRow> {
+    
+    /**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public AlbumRowSerializer() {
+        this(null);
+    }
+  
+    public AlbumRowSerializer(Class<AlbumRow> album) {
+        super(album);
+    }
+ 
+    @Override
+    public void serialize(AlbumRow album, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+        jgen.writeStartObject();
+        writeField(jgen, ID, album.getId());
+        writeField(jgen, NAME, album.getName());
+        writeField(jgen, IMAGE, album.getImage());
+        writeField(jgen, PUBLICATION_DATE, album.getPublicationDate().toString());
+        writeDateField(jgen, UPDATED_AT, album.getUpdatedAt());
+        writeDateField(jgen, CREATED_AT, album.getCreatedAt());
+        writeFavoriteId(jgen, album.getFavoriteId());
+        
+    	// Set list of titles
+		jgen.writeFieldName(TITLES);
+        jgen.writeStartArray();
+        for (TitleRow title : album.getTitles()) {
+        	jgen.writeStartObject();
+        	writeTitleFields(jgen, title.getId(), title.getName(), title.getDuration(), title.getUpdatedAt(), title.getCreatedAt());
+        	writeFavoriteId(jgen, title.getFavoriteId());
+            jgen.writeEndObject();
+        }
+        jgen.writeEndArray();
+        
+    	// Set author
+        ArtistRow author = album.getAuthor();
+        if (author == null) {
+        	writeNullField(jgen, AUTHOR);
+        } else {
+        	jgen.writeFieldName(AUTHOR);
+        	writeArtistSummary(jgen, author.getId(), author.getName(), author.getUpdatedAt(), author.getCreatedAt());
+        }
+        
+    	jgen.writeEndObject();
+    }
+}
@@ -1,8 +1,8 @@
 package projet.ynov.dizifymusicapi.serializers;
 
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
+
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.TimeZone;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -30,42 +30,23 @@ public class AlbumSerializer extends StdSerializer<Album> {
  
     @Override
     public void serialize(Album album, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
-		SimpleDateFormat sdf;
-		sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
-		sdf.setTimeZone(TimeZone.getTimeZone("CET"));
-		
         jgen.writeStartObject();
-        jgen.writeNumberField("id", album.getId());
-        jgen.writeStringField("name", album.getName());
-        jgen.writeStringField("image", album.getImage());
-        jgen.writeStringField("publicationDate", album.getPublicationDate().toString());
-        jgen.writeStringField("updatedAt", sdf.format(album.getUpdatedAt()));
-        jgen.writeStringField("createdAt", sdf.format(album.getCreatedAt()));
-        
-        if (album.getFavoriteId() == 0L) {        	
-        	jgen.writeStringField("favoriteId", null);
-        } else {
-        	jgen.writeNumberField("favoriteId", album.getFavoriteId());
-        }
+        writeField(jgen, ID, album.getId());
+        writeField(jgen, NAME, album.getName());
+        writeField(jgen, IMAGE, album.getImage());
+        writeField(jgen, PUBLICATION_DATE, album.getPublicationDate().toString());
+        writeDateField(jgen, UPDATED_AT, album.getUpdatedAt());
+        writeDateField(jgen, CREATED_AT, album.getCreatedAt());
+        writeFavoriteId(jgen, album.getFavoriteId());
         
     	// Set list of titles
-		jgen.writeFieldName("titles");
+		jgen.writeFieldName(TITLES);
         jgen.writeStartArray();
         if (album.getTitles() != null) {
 	        for (Title title : album.getTitles()) {
 	        	jgen.writeStartObject();
-	            jgen.writeNumberField("id", title.getId());
-	            jgen.writeStringField("name", title.getName());
-	            jgen.writeStringField("duration", title.getDuration().toString());
-	            jgen.writeStringField("updatedAt", sdf.format(title.getUpdatedAt()));
-	            jgen.writeStringField("createdAt", sdf.format(title.getCreatedAt()));
-	            
-	            if (title.getFavoriteId() == 0L) {
-	            	jgen.writeStringField("favoriteId", null);
-	            } else {
-	            	jgen.writeNumberField("favoriteId", title.getFavoriteId());
-	            }
-	            
+	        	writeTitleFields(jgen, title.getId(), title.getName(), title.getDuration(), title.getUpdatedAt(), title.getCreatedAt());
+	        	writeFavoriteId(jgen, title.getFavoriteId());
 	            jgen.writeEndObject();
 	        }
     	}
@@ -73,13 +54,8 @@ public class AlbumSerializer extends StdSerializer<Album> {
         
     	// Set author
         Artist author = album.getAuthor();
-    	jgen.writeFieldName("author");
-    	jgen.writeStartObject();
-        jgen.writeNumberField("id", author.getId());
-        jgen.writeStringField("name", author.getName());
-        jgen.writeStringField("updatedAt", sdf.format(author.getUpdatedAt()));
-        jgen.writeStringField("createdAt", sdf.format(author.getCreatedAt()));
-        jgen.writeEndObject();
+    	jgen.writeFieldName(AUTHOR);
+    	writeArtistSummary(jgen, author.getId(), author.getName(), author.getUpdatedAt(), author.getCreatedAt());
         
     	jgen.writeEndObject();
     }
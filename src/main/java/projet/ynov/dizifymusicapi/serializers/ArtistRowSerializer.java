@@ -0,0 +1,73 @@
+package projet.ynov.dizifymusicapi.serializers;
+
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import projet.ynov.dizifymusicapi.projections.AlbumRow;
+import projet.ynov.dizifymusicapi.projections.ArtistRow;
+import projet.ynov.dizifymusicapi.projections.TitleRow;
+
+/**
+ * Same output as {@link ArtistSerializer}, from an {@link ArtistRow}.
+ */
+public class ArtistRowSerializer extends StdSerializer<ArtistRow> {
+    
+    /**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public ArtistRowSerializer() {
+        this(null);
+    }
+  
+    public ArtistRowSerializer(Class<ArtistRow> artist) {
+        super(artist);
+    }
+ 
+    @Override
+    public void serialize(ArtistRow artist, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+        jgen.writeStartObject();
+        writeField(jgen, ID, artist.getId());
+        writeField(jgen, NAME, artist.getName());
+        writeField(jgen, IMAGE, artist.getImage());
+        writeField(jgen, DESCRIPTION, artist.getDescription());
+        writeDateField(jgen, UPDATED_AT, artist.getUpdatedAt());
+        writeDateField(jgen, CREATED_AT, artist.getCreatedAt());
+        writeFavoriteId(jgen, artist.getFavoriteId());
+        
+        // Set list of titles
+    	jgen.writeFieldName(TITLES);
+        jgen.writeStartArray();
+        for (TitleRow title : artist.getTitles()) {
+        	jgen.writeStartObject();
+        	writeTitleFields(jgen, title.getId(), title.getName(), title.getDuration(), title.getUpdatedAt(), title.getCreatedAt());
+        	writeFavoriteId(jgen, title.getFavoriteId());
+            
+            if (title.getAlbumId() != null) {
+            	writeField(jgen, ALBUM, title.getAlbumId());
+            } else {
+            	writeNullField(jgen, ALBUM);
+            }
+            
+            jgen.writeEndObject();
+        }
+        jgen.writeEndArray();
+
+        // Set list of albums
+    	jgen.writeFieldName(ALBUMS);
+        jgen.writeStartArray();
+        for (AlbumRow album : artist.getAlbums()) {
+        	writeArtistAlbum(jgen, album.getId(), album.getName(), album.getImage(), album.getPublicationDate(), album.getUpdatedAt(), album.getCreatedAt());
+        }
+        jgen.writeEndArray();
+        
+        jgen.writeEndObject();
+    }
+}
@@ -1,8 +1,8 @@
 package projet.ynov.dizifymusicapi.serializers;
 
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
+
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.TimeZone;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -30,46 +30,28 @@ public class ArtistSerializer extends StdSerializer<Artist> {
  
     @Override
     public void serialize(Artist artist, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
-		SimpleDateFormat sdf;
-		sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
-		sdf.setTimeZone(TimeZone.getTimeZone("CET"));
-		
         jgen.writeStartObject();
-        jgen.writeNumberField("id", artist.getId());
-        jgen.writeStringField("name", artist.getName());
-        jgen.writeStringField("image", artist.getImage());
-        jgen.writeStringField("description", artist.getDescription());
-        jgen.writeStringField("updatedAt", sdf.format(artist.getUpdatedAt()));
-        jgen.writeStringField("createdAt", sdf.format(artist.getCreatedAt()));
-
-        if (artist.getFavoriteId() == 0L) {        	
-        	jgen.writeStringField("favoriteId", null);
-        } else {
-        	jgen.writeNumberField("favoriteId", artist.getFavoriteId());
-        }
+        writeField(jgen, ID, artist.getId());
+        writeField(jgen, NAME, artist.getName());
+        writeField(jgen, IMAGE, artist.getImage());
+        writeField(jgen, DESCRIPTION, artist.getDescription());
+        writeDateField(jgen, UPDATED_AT, artist.getUpdatedAt());
+        writeDateField(jgen, CREATED_AT, artist.getCreatedAt());
+        writeFavoriteId(jgen, artist.getFavoriteId());
         
         // Set list of titles
-    	jgen.writeFieldName("titles");
+    	jgen.writeFieldName(TITLES);
         jgen.writeStartArray();
         if (artist.getTitles() != null) {
 	        for (Title title : artist.getTitles()) {
 	        	jgen.writeStartObject();
-	            jgen.writeNumberField("id", title.getId());
-	            jgen.writeStringField("name", title.getName());
-	            jgen.writeStringField("duration", title.getDuration().toString());
-	            jgen.writeStringField("updatedAt", sdf.format(title.getUpdatedAt()));
-	            jgen.writeStringField("createdAt", sdf.format(title.getCreatedAt()));
-	            
-	            if (title.getFavoriteId() == 0L) {
-	            	jgen.writeStringField("favoriteId", null);
-	            } else {
-	            	jgen.writeNumberField("favoriteId", title.getFavoriteId());
-	            }
+	        	writeTitleFields(jgen, title.getId(), title.getName(), title.getDuration(), title.getUpdatedAt(), title.getCreatedAt());
+	        	writeFavoriteId(jgen, title.getFavoriteId());
 	            
 	            if (title.getAlbum() != null) {
-	            	jgen.writeNumberField("album", title.getAlbum().getId());
+	            	writeField(jgen, ALBUM, title.getAlbum().getId());
 	            } else {
-	            	jgen.writeStringField("album", null);
+	            	writeNullField(jgen, ALBUM);
 	            }
 	            
 	            jgen.writeEndObject();
@@ -78,18 +60,11 @@ public class ArtistSerializer extends StdSerializer<Artist> {
         jgen.writeEndArray();
 
         // Set list of albums
-    	jgen.writeFieldName("albums");
+    	jgen.writeFieldName(ALBUMS);
         jgen.writeStartArray();
         if (artist.getAlbums() != null) {
 	        for (Album album : artist.getAlbums()) {
-	        	jgen.writeStartObject();
-	            jgen.writeNumberField("id", album.getId());
-	            jgen.writeStringField("name", album.getName());
-	            jgen.writeStringField("image", album.getImage());
-	            jgen.writeStringField("publicationDate", sdf.format(album.getPublicationDate()));
-	            jgen.writeStringField("updatedAt", sdf.format(album.getUpdatedAt()));
-	            jgen.writeStringField("createdAt", sdf.format(album.getCreatedAt()));
-	            jgen.writeEndObject();
+	        	writeArtistAlbum(jgen, album.getId(), album.getName(), album.getImage(), album.getPublicationDate(), album.getUpdatedAt(), album.getCreatedAt());
 	        }
         }
         jgen.writeEndArray();
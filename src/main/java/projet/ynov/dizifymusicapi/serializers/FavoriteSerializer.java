@@ -1,9 +1,8 @@
 package projet.ynov.dizifymusicapi.serializers;
 
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.TimeZone;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -32,74 +31,51 @@ public class FavoriteSerializer extends StdSerializer<Favorite> {
  
     @Override
     public void serialize(Favorite favorite, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
-		SimpleDateFormat sdf;
-		sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
-		sdf.setTimeZone(TimeZone.getTimeZone("CET"));
-		
         jgen.writeStartObject();
-        jgen.writeNumberField("id", favorite.getId());
-        jgen.writeStringField("updatedAt", sdf.format(favorite.getUpdatedAt()));
-        jgen.writeStringField("createdAt", sdf.format(favorite.getCreatedAt()));
+        writeField(jgen, ID, favorite.getId());
+        writeDateField(jgen, UPDATED_AT, favorite.getUpdatedAt());
+        writeDateField(jgen, CREATED_AT, favorite.getCreatedAt());
         
         // Set album
         Album album = favorite.getAlbum();
         if (album != null) {
-        	jgen.writeStringField("type", "ALBUM_TYPE");
-            jgen.writeNumberField("album_id", album.getId());
-            jgen.writeStringField("name", album.getName());
-            jgen.writeStringField("publicationDate", album.getPublicationDate().toString());
-            jgen.writeStringField("image", album.getImage());
-            
-            Artist albumArtist = album.getAuthor();
-            if (albumArtist == null) {
-            	jgen.writeStringField("artist", null);
-            } else {
-            	jgen.writeFieldName("artist");
-            	jgen.writeStartObject();
-                jgen.writeNumberField("id", albumArtist.getId());
-                jgen.writeStringField("name", albumArtist.getName());
-                jgen.writeStringField("image", albumArtist.getImage());
-                jgen.writeStringField("description", albumArtist.getDescription());
-                jgen.writeStringField("updatedAt", sdf.format(albumArtist.getUpdatedAt()));
-                jgen.writeStringField("createdAt", sdf.format(albumArtist.getCreatedAt()));
-                jgen.writeEndObject();
-            }
+        	writeField(jgen, TYPE, ALBUM_TYPE);
+        	writeField(jgen, ALBUM_ID, album.getId());
+        	writeField(jgen, NAME, album.getName());
+        	writeField(jgen, PUBLICATION_DATE, album.getPublicationDate().toString());
+        	writeField(jgen, IMAGE, album.getImage());
+        	writeArtistField(jgen, album.getAuthor());
         }
         
         // Set artist
         Artist artist = favorite.getArtist();
         if (artist != null) {
-        	jgen.writeStringField("type", "ARTIST_TYPE");
-            jgen.writeNumberField("artist_id", artist.getId());
-            jgen.writeStringField("name", artist.getName());
-            jgen.writeStringField("image", artist.getImage());
-            jgen.writeStringField("image", artist.getImage());
+        	writeField(jgen, TYPE, ARTIST_TYPE);
+        	writeField(jgen, ARTIST_ID, artist.getId());
+        	writeField(jgen, NAME, artist.getName());
+        	writeField(jgen, IMAGE, artist.getImage());
+        	writeField(jgen, IMAGE, artist.getImage());
         }
         
         // Set titles
         Title title = favorite.getTitle();
         if (title != null) {
-        	jgen.writeStringField("type", "TITLE_TYPE");
-            jgen.writeNumberField("title_id", title.getId());
-            jgen.writeStringField("name", title.getName());
-            jgen.writeStringField("duration", title.getDuration().toString());
-            
-            Artist titleArtist = title.getAuthor();
-            if (titleArtist == null) {
-            	jgen.writeStringField("artist", null);
-            } else {
-            	jgen.writeFieldName("artist");
-            	jgen.writeStartObject();
-                jgen.writeNumberField("id", titleArtist.getId());
-                jgen.writeStringField("name", titleArtist.getName());
-                jgen.writeStringField("image", titleArtist.getImage());
-                jgen.writeStringField("description", titleArtist.getDescription());
-                jgen.writeStringField("updatedAt", sdf.format(titleArtist.getUpdatedAt()));
-                jgen.writeStringField("createdAt", sdf.format(titleArtist.getCreatedAt()));
-                jgen.writeEndObject();
-            }
+        	writeField(jgen, TYPE, TITLE_TYPE);
+        	writeField(jgen, TITLE_ID, title.getId());
+        	writeField(jgen, NAME, title.getName());
+        	writeField(jgen, DURATION, title.getDuration().toString());
+        	writeArtistField(jgen, title.getAuthor());
         }
         
     	jgen.writeEndObject();
     }
+
+    private static void writeArtistField(JsonGenerator jgen, Artist artist) throws IOException {
+    	if (artist == null) {
+    		writeNullField(jgen, ARTIST);
+    	} else {
+    		jgen.writeFieldName(ARTIST);
+    		writeArtist(jgen, artist.getId(), artist.getName(), artist.getImage(), artist.getDescription(), artist.getUpdatedAt(), artist.getCreatedAt());
+    	}
+    }
 }
\ No newline at end of file
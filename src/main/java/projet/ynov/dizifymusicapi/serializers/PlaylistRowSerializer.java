@@ -0,0 +1,43 @@
+package projet.ynov.dizifymusicapi.serializers;
+
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import projet.ynov.dizifymusicapi.projections.PlaylistRow;
+
+/**
+ * A playlist of the playlist listing, its titles are read from /api/playlists/{id}/titles.
+ */
+public class PlaylistRowSerializer extends StdSerializer<PlaylistRow> {
+    
+    /**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public PlaylistRowSerializer() {
+        this(null);
+    }
+  
+    public PlaylistRowSerializer(Class<PlaylistRow> playlist) {
+        super(playlist);
+    }
+ 
+    @Override
+    public void serialize(PlaylistRow playlist, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+        jgen.writeStartObject();
+        writeField(jgen, ID, playlist.getId());
+        writeField(jgen, NAME, playlist.getName());
+        writeDateField(jgen, UPDATED_AT, playlist.getUpdatedAt());
+        writeDateField(jgen, CREATED_AT, playlist.getCreatedAt());
+        writeField(jgen, TRACK_COUNT, playlist.getTrackCount());
+        writeField(jgen, TOTAL_DURATION_SECONDS, playlist.getTotalDurationSeconds());
+        jgen.writeEndObject();
+    }
+}
@@ -1,17 +1,16 @@
 package projet.ynov.dizifymusicapi.serializers;
 
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
+
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.TimeZone;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
-import projet.ynov.dizifymusicapi.entity.Artist;
 import projet.ynov.dizifymusicapi.entity.Playlist;
-import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.PlaylistTitle;
 
 public class PlaylistSerializer extends StdSerializer<Playlist> {
     
@@ -30,43 +29,22 @@ public class PlaylistSerializer extends StdSerializer<Playlist> {
  
     @Override
     public void serialize(Playlist playlist, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
-		SimpleDateFormat sdf;
-		sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
-		sdf.setTimeZone(TimeZone.getTimeZone("CET"));
-		
         jgen.writeStartObject();
-        jgen.writeNumberField("id", playlist.getId());
-        jgen.writeStringField("name", playlist.getName());
-        jgen.writeStringField("updatedAt", sdf.format(playlist.getUpdatedAt()));
-        jgen.writeStringField("createdAt", sdf.format(playlist.getCreatedAt()));
+        writeField(jgen, ID, playlist.getId());
+        writeField(jgen, NAME, playlist.getName());
+        writeDateField(jgen, UPDATED_AT, playlist.getUpdatedAt());
+        writeDateField(jgen, CREATED_AT, playlist.getCreatedAt());
+        writeField(jgen, TRACK_COUNT, playlist.getTrackCount());
+        writeField(jgen, TOTAL_DURATION_SECONDS, playlist.getTotalDurationSeconds());
 
-	    // Set list of titles
-	    jgen.writeFieldName("titles");
+	    // List of titles, in their playlist order
+	    jgen.writeFieldName(TITLES);
 	    jgen.writeStartArray();
 	    if (playlist.getTitles() != null) {
-	      for (Title title : playlist.getTitles()) {
-	    	   jgen.writeStartObject();
-	           jgen.writeNumberField("id", title.getId());
-	           jgen.writeStringField("name", title.getName());
-	           jgen.writeStringField("duration", title.getDuration().toString());
-	           jgen.writeStringField("updatedAt", sdf.format(title.getUpdatedAt()));
-	           jgen.writeStringField("createdAt", sdf.format(title.getCreatedAt()));
-	           
-
-	           Artist author = title.getAuthor();
-		       jgen.writeFieldName("author");
-		       jgen.writeStartObject();
-	           jgen.writeNumberField("id", author.getId());
-	           jgen.writeStringField("name", author.getName());
-	           jgen.writeStringField("image", author.getImage());
-	           jgen.writeStringField("description", author.getDescription());
-	           jgen.writeStringField("updatedAt", sdf.format(author.getUpdatedAt()));
-	           jgen.writeStringField("createdAt", sdf.format(author.getCreatedAt()));
-	           jgen.writeEndObject();
-	           
-	           jgen.writeEndObject();
-	        }
-	  	 }
+	      for (PlaylistTitle playlistTitle : playlist.getTitles()) {
+	    	  writePlaylistTitle(jgen, playlistTitle.getTitle());
+	      }
+	    }
 	     jgen.writeEndArray();
         
     	jgen.writeEndObject();
@@ -0,0 +1,33 @@
+package projet.ynov.dizifymusicapi.serializers;
+
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import projet.ynov.dizifymusicapi.entity.PlaylistTitle;
+
+/**
+ * A title of a playlist page, written as in the playlist.
+ */
+public class PlaylistTitleSerializer extends StdSerializer<PlaylistTitle> {
+
+	private static final long serialVersionUID = 1L;
+
+	public PlaylistTitleSerializer() {
+        this(null);
+    }
+
+    public PlaylistTitleSerializer(Class<PlaylistTitle> playlistTitle) {
+        super(playlistTitle);
+    }
+
+    @Override
+    public void serialize(PlaylistTitle playlistTitle, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+    	writePlaylistTitle(jgen, playlistTitle.getTitle());
+    }
+}
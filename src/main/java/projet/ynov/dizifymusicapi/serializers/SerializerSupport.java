@@ -0,0 +1,196 @@
+package projet.ynov.dizifymusicapi.serializers;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.enums.Role;
+
+/**
+ * Shared by the serializers: pre-encoded field names, the date format and the nested objects
+ * written by several of them.
+ *
+ * Everything here is immutable, so it is built once and safe to use from any request thread.
+ */
+final class SerializerSupport {
+
+	static final SerializedString ID = new SerializedString("id");
+	static final SerializedString NAME = new SerializedString("name");
+	static final SerializedString IMAGE = new SerializedString("image");
+	static final SerializedString DESCRIPTION = new SerializedString("description");
+	static final SerializedString DURATION = new SerializedString("duration");
+	static final SerializedString PUBLICATION_DATE = new SerializedString("publicationDate");
+	static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+	static final SerializedString CREATED_AT = new SerializedString("createdAt");
+	static final SerializedString FAVORITE_ID = new SerializedString("favoriteId");
+	static final SerializedString TITLES = new SerializedString("titles");
+	static final SerializedString ALBUMS = new SerializedString("albums");
+	static final SerializedString ALBUM = new SerializedString("album");
+	static final SerializedString AUTHOR = new SerializedString("author");
+	static final SerializedString ARTIST = new SerializedString("artist");
+	static final SerializedString TYPE = new SerializedString("type");
+	static final SerializedString ALBUM_ID = new SerializedString("album_id");
+	static final SerializedString ARTIST_ID = new SerializedString("artist_id");
+	static final SerializedString TITLE_ID = new SerializedString("title_id");
+	static final SerializedString USERNAME = new SerializedString("username");
+	static final SerializedString EMAIL = new SerializedString("email");
+	static final SerializedString ROLE = new SerializedString("role");
+	static final SerializedString TOKEN = new SerializedString("token");
+	static final SerializedString PLAYLISTS = new SerializedString("playlists");
+	static final SerializedString TRACK_COUNT = new SerializedString("trackCount");
+	static final SerializedString TOTAL_DURATION_SECONDS = new SerializedString("totalDurationSeconds");
+
+	static final SerializedString ALBUM_TYPE = new SerializedString("ALBUM_TYPE");
+	static final SerializedString ARTIST_TYPE = new SerializedString("ARTIST_TYPE");
+	static final SerializedString TITLE_TYPE = new SerializedString("TITLE_TYPE");
+	static final SerializedString ROLE_USER = new SerializedString(Role.ROLE_USER.toString());
+	static final SerializedString ROLE_ADMIN = new SerializedString(Role.ROLE_ADMIN.toString());
+
+	// Dates are written in CET whatever the default time zone
+	private static final ZoneId ZONE = ZoneId.of("CET");
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter
+															.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX")
+															.withZone(ZONE);
+
+	private SerializerSupport() {
+	}
+
+	/**
+	 * Format a date, with its milliseconds and offset.
+	 *
+	 * @param date the date, may be a java.sql.Date, Time or Timestamp
+	 * @return the formatted date
+	 */
+	static String formatDate(Date date) {
+		return DATE_FORMAT.format(Instant.ofEpochMilli(date.getTime()));
+	}
+
+	/**
+	 * Write a date as {@link #formatDate(Date)} does.
+	 */
+	static void writeDate(JsonGenerator jgen, Date date) throws IOException {
+		jgen.writeString(formatDate(date));
+	}
+
+	static void writeField(JsonGenerator jgen, SerializableString name, long value) throws IOException {
+		jgen.writeFieldName(name);
+		jgen.writeNumber(value);
+	}
+
+	static void writeField(JsonGenerator jgen, SerializableString name, String value) throws IOException {
+		jgen.writeFieldName(name);
+		jgen.writeString(value);
+	}
+
+	static void writeField(JsonGenerator jgen, SerializableString name, SerializableString value) throws IOException {
+		jgen.writeFieldName(name);
+		jgen.writeString(value);
+	}
+
+	static void writeDateField(JsonGenerator jgen, SerializableString name, Date value) throws IOException {
+		jgen.writeFieldName(name);
+		writeDate(jgen, value);
+	}
+
+	static void writeNullField(JsonGenerator jgen, SerializableString name) throws IOException {
+		jgen.writeFieldName(name);
+		jgen.writeNull();
+	}
+
+	/**
+	 * Write the favorite id, null when not a favorite of the logged user.
+	 */
+	static void writeFavoriteId(JsonGenerator jgen, long favoriteId) throws IOException {
+		if (favoriteId == 0L) {
+			writeNullField(jgen, FAVORITE_ID);
+		} else {
+			writeField(jgen, FAVORITE_ID, favoriteId);
+		}
+	}
+
+	/**
+	 * Write the id, name, duration, updatedAt and createdAt of a title, inside an opened object.
+	 */
+	static void writeTitleFields(JsonGenerator jgen, long id, String name, Date duration, Date updatedAt, Date createdAt) throws IOException {
+		writeField(jgen, ID, id);
+		writeField(jgen, NAME, name);
+		writeField(jgen, DURATION, duration.toString());
+		writeDateField(jgen, UPDATED_AT, updatedAt);
+		writeDateField(jgen, CREATED_AT, createdAt);
+	}
+
+	/**
+	 * Write a title object of a playlist, with its author.
+	 */
+	static void writePlaylistTitle(JsonGenerator jgen, Title title) throws IOException {
+		jgen.writeStartObject();
+		writeTitleFields(jgen, title.getId(), title.getName(), title.getDuration(), title.getUpdatedAt(), title.getCreatedAt());
+
+		Artist author = title.getAuthor();
+		jgen.writeFieldName(AUTHOR);
+		writeArtist(jgen, author.getId(), author.getName(), author.getImage(), author.getDescription(), author.getUpdatedAt(), author.getCreatedAt());
+		jgen.writeEndObject();
+	}
+
+	/**
+	 * Write an artist object, with its image and description.
+	 */
+	static void writeArtist(JsonGenerator jgen, long id, String name, String image, String description, Date updatedAt, Date createdAt) throws IOException {
+		jgen.writeStartObject();
+		writeField(jgen, ID, id);
+		writeField(jgen, NAME, name);
+		writeField(jgen, IMAGE, image);
+		writeField(jgen, DESCRIPTION, description);
+		writeDateField(jgen, UPDATED_AT, updatedAt);
+		writeDateField(jgen, CREATED_AT, createdAt);
+		jgen.writeEndObject();
+	}
+
+	/**
+	 * Write an artist object, without its image and description.
+	 */
+	static void writeArtistSummary(JsonGenerator jgen, long id, String name, Date updatedAt, Date createdAt) throws IOException {
+		jgen.writeStartObject();
+		writeField(jgen, ID, id);
+		writeField(jgen, NAME, name);
+		writeDateField(jgen, UPDATED_AT, updatedAt);
+		writeDateField(jgen, CREATED_AT, createdAt);
+		jgen.writeEndObject();
+	}
+
+	/**
+	 * Write the album object of a title.
+	 */
+	static void writeTitleAlbum(JsonGenerator jgen, long id, String name, Date publicationDate, String image, Date updatedAt, Date createdAt) throws IOException {
+		jgen.writeStartObject();
+		writeField(jgen, ID, id);
+		writeField(jgen, NAME, name);
+		writeField(jgen, PUBLICATION_DATE, publicationDate.toString());
+		writeField(jgen, IMAGE, image);
+		writeDateField(jgen, UPDATED_AT, updatedAt);
+		writeDateField(jgen, CREATED_AT, createdAt);
+		jgen.writeEndObject();
+	}
+
+	/**
+	 * Write an album object of an artist, its publication date is formatted as the other dates.
+	 */
+	static void writeArtistAlbum(JsonGenerator jgen, long id, String name, String image, Date publicationDate, Date updatedAt, Date createdAt) throws IOException {
+		jgen.writeStartObject();
+		writeField(jgen, ID, id);
+		writeField(jgen, NAME, name);
+		writeField(jgen, IMAGE, image);
+		writeDateField(jgen, PUBLICATION_DATE, publicationDate);
+		writeDateField(jgen, UPDATED_AT, updatedAt);
+		writeDateField(jgen, CREATED_AT, createdAt);
+		jgen.writeEndObject();
+	}
+}
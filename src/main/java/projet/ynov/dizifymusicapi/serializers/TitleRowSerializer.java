@@ -0,0 +1,60 @@
+package projet.ynov.dizifymusicapi.serializers;
+
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import projet.ynov.dizifymusicapi.projections.AlbumRow;
+import projet.ynov.dizifymusicapi.projections.ArtistRow;
+import projet.ynov.dizifymusicapi.projections.TitleRow;
+
+/**
+ * Same output as {@link TitleSerializer}, from a {@link TitleRow}.
+ */
+public class TitleRowSerializer extends StdSerializer<TitleRow> {
+    
+    /**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public TitleRowSerializer() {
+        this(null);
+    }
+  
+    public TitleRowSerializer(Class<TitleRow> title) {
+        super(title);
+    }
+ 
+    @Override
+    public void serialize(TitleRow title, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
+        jgen.writeStartObject();
+        writeTitleFields(jgen, title.getId(), title.getName(), title.getDuration(), title.getUpdatedAt(), title.getCreatedAt());
+        writeFavoriteId(jgen, title.getFavoriteId());
+        
+    	// Set album
+        AlbumRow album = title.getAlbum();
+        if (album == null) {
+        	writeNullField(jgen, ALBUM);
+        } else {
+        	jgen.writeFieldName(ALBUM);
+        	writeTitleAlbum(jgen, album.getId(), album.getName(), album.getPublicationDate(), album.getImage(), album.getUpdatedAt(), album.getCreatedAt());
+        }
+
+    	// Set author
+        ArtistRow author = title.getAuthor();
+        if (author == null) {
+        	writeNullField(jgen, AUTHOR);
+        } else {
+        	jgen.writeFieldName(AUTHOR);
+        	writeArtist(jgen, author.getId(), author.getName(), author.getImage(), author.getDescription(), author.getUpdatedAt(), author.getCreatedAt());
+        }
+
+    	jgen.writeEndObject();
+    }
+}
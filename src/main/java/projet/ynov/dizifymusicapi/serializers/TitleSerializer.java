@@ -1,8 +1,8 @@
 package projet.ynov.dizifymusicapi.serializers;
 
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
+
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.TimeZone;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -30,50 +30,23 @@ public class TitleSerializer extends StdSerializer<Title> {
  
     @Override
     public void serialize(Title title, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
-		SimpleDateFormat sdf;
-		sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
-		sdf.setTimeZone(TimeZone.getTimeZone("CET"));
-		
         jgen.writeStartObject();
-        jgen.writeNumberField("id", title.getId());
-        jgen.writeStringField("name", title.getName());
-        jgen.writeStringField("duration", title.getDuration().toString());
-        jgen.writeStringField("updatedAt", sdf.format(title.getUpdatedAt()));
-        jgen.writeStringField("createdAt", sdf.format(title.getCreatedAt()));
-        
-        if (title.getFavoriteId() == 0L) {        	
-        	jgen.writeStringField("favoriteId", null);
-        } else {
-        	jgen.writeNumberField("favoriteId", title.getFavoriteId());
-        }
+        writeTitleFields(jgen, title.getId(), title.getName(), title.getDuration(), title.getUpdatedAt(), title.getCreatedAt());
+        writeFavoriteId(jgen, title.getFavoriteId());
         
     	// Set album
         Album album = title.getAlbum();
         if (album == null) {
-        	jgen.writeStringField("album", null);
+        	writeNullField(jgen, ALBUM);
         } else {
-        	jgen.writeFieldName("album");
-        	jgen.writeStartObject();
-            jgen.writeNumberField("id", album.getId());
-            jgen.writeStringField("name", album.getName());
-            jgen.writeStringField("publicationDate", album.getPublicationDate().toString());
-            jgen.writeStringField("image", album.getImage());
-            jgen.writeStringField("updatedAt", sdf.format(album.getUpdatedAt()));
-            jgen.writeStringField("createdAt", sdf.format(album.getCreatedAt()));
-            jgen.writeEndObject();
+        	jgen.writeFieldName(ALBUM);
+        	writeTitleAlbum(jgen, album.getId(), album.getName(), album.getPublicationDate(), album.getImage(), album.getUpdatedAt(), album.getCreatedAt());
         }
 
     	// Set author
         Artist author = title.getAuthor();
-    	jgen.writeFieldName("author");
-    	jgen.writeStartObject();
-        jgen.writeNumberField("id", author.getId());
-        jgen.writeStringField("name", author.getName());
-        jgen.writeStringField("image", author.getImage());
-        jgen.writeStringField("description", author.getDescription());
-        jgen.writeStringField("updatedAt", sdf.format(author.getUpdatedAt()));
-        jgen.writeStringField("createdAt", sdf.format(author.getCreatedAt()));
-        jgen.writeEndObject();
+    	jgen.writeFieldName(AUTHOR);
+    	writeArtist(jgen, author.getId(), author.getName(), author.getImage(), author.getDescription(), author.getUpdatedAt(), author.getCreatedAt());
 
     	jgen.writeEndObject();
     }
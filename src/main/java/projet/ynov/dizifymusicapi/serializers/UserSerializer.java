@@ -1,8 +1,8 @@
 package projet.ynov.dizifymusicapi.serializers;
 
+import static projet.ynov.dizifymusicapi.serializers.SerializerSupport.*;
+
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.TimeZone;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -11,7 +11,6 @@ import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
 import projet.ynov.dizifymusicapi.entity.Playlist;
 import projet.ynov.dizifymusicapi.entity.User;
-import projet.ynov.dizifymusicapi.enums.Role;
 
 public class UserSerializer extends StdSerializer<User> {
     
@@ -30,33 +29,29 @@ public class UserSerializer extends StdSerializer<User> {
  
     @Override
     public void serialize(User user, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
-		SimpleDateFormat sdf;
-		sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
-		sdf.setTimeZone(TimeZone.getTimeZone("CET"));
-		
         jgen.writeStartObject();
-        jgen.writeNumberField("id", user.getId());
-        jgen.writeStringField("username", user.getUsername());
-        jgen.writeStringField("email", user.getEmail());
-        jgen.writeStringField("image", user.getImage());
-        jgen.writeStringField("role", Role.ROLE_USER.toString());
-        jgen.writeStringField("updatedAt", sdf.format(user.getUpdatedAt()));
-        jgen.writeStringField("createdAt", sdf.format(user.getCreatedAt()));
+        writeField(jgen, ID, user.getId());
+        writeField(jgen, USERNAME, user.getUsername());
+        writeField(jgen, EMAIL, user.getEmail());
+        writeField(jgen, IMAGE, user.getImage());
+        writeField(jgen, ROLE, ROLE_USER);
+        writeDateField(jgen, UPDATED_AT, user.getUpdatedAt());
+        writeDateField(jgen, CREATED_AT, user.getCreatedAt());
         
         if (user.getToken() != null) {
-        	jgen.writeStringField("token", user.getToken());        	
+        	writeField(jgen, TOKEN, user.getToken());
         }
         
         // Set list of playlists
- 		jgen.writeFieldName("playlists");
+ 		jgen.writeFieldName(PLAYLISTS);
         jgen.writeStartArray();
         if (user.getPlaylists() != null) {
  	       for (Playlist playlist : user.getPlaylists()) {
  	    	   jgen.writeStartObject();
- 	           jgen.writeNumberField("id", playlist.getId());
- 	           jgen.writeStringField("name", playlist.getName());
- 	           jgen.writeStringField("updatedAt", sdf.format(playlist.getUpdatedAt()));
- 	           jgen.writeStringField("createdAt", sdf.format(playlist.getCreatedAt()));
+ 	    	   writeField(jgen, ID, playlist.getId());
+ 	    	   writeField(jgen, NAME, playlist.getName());
+ 	    	   writeDateField(jgen, UPDATED_AT, playlist.getUpdatedAt());
+ 	    	   writeDateField(jgen, CREATED_AT, playlist.getCreatedAt());
  	           jgen.writeEndObject();
  	        }
      	}
@@ -0,0 +1,92 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.Collection;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Title;
+
+/**
+ * Evicts the second-level cache entries made stale by the admin catalog writes.
+ *
+ * Hibernate keeps the cached entities up to date, but not the inverse collections
+ * (Artist.titles, Artist.albums, Album.titles) since they are never modified when a
+ * title or an album changes owner. Call these after the write is committed.
+ */
+@Service
+public class CatalogCacheEvictor {
+
+	private static final String ARTIST_TITLES = Artist.class.getName() + ".titles";
+	private static final String ARTIST_ALBUMS = Artist.class.getName() + ".albums";
+	private static final String ALBUM_TITLES = Album.class.getName() + ".titles";
+
+	private final Cache cache;
+
+	@Autowired
+	public CatalogCacheEvictor(EntityManagerFactory entityManagerFactory) {
+		this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+	}
+
+	/**
+	 * Evict a created, updated or deleted title.
+	 *
+	 * @param title the title
+	 */
+	public void titleChanged(Title title) {
+		cache.evictEntityData(Title.class, title.getId());
+		if (title.getAlbum() != null) {
+			cache.evictCollectionData(ALBUM_TITLES, title.getAlbum().getId());
+		}
+		if (title.getAuthor() != null) {
+			cache.evictCollectionData(ARTIST_TITLES, title.getAuthor().getId());
+		}
+	}
+
+	/**
+	 * Evict a created, updated or deleted album.
+	 *
+	 * @param album the album
+	 */
+	public void albumChanged(Album album) {
+		cache.evictEntityData(Album.class, album.getId());
+		if (album.getAuthor() != null) {
+			cache.evictCollectionData(ARTIST_ALBUMS, album.getAuthor().getId());
+		}
+		// Its titles may come from other albums, or be deleted with it
+		cache.evictCollectionData(ALBUM_TITLES);
+		cache.evictCollectionData(ARTIST_TITLES);
+	}
+
+	/**
+	 * Evict a created, updated or deleted artist.
+	 *
+	 * @param artist the artist
+	 */
+	public void artistChanged(Artist artist) {
+		cache.evictEntityData(Artist.class, artist.getId());
+		cache.evictCollectionData(ARTIST_TITLES, artist.getId());
+		cache.evictCollectionData(ARTIST_ALBUMS, artist.getId());
+	}
+
+	/**
+	 * Evict the collections of existing artists and albums that have new albums or titles.
+	 *
+	 * @param artistIds the artist ids
+	 * @param albumIds the album ids
+	 */
+	public void collectionsChanged(Collection<Long> artistIds, Collection<Long> albumIds) {
+		for (long artistId : artistIds) {
+			cache.evictCollectionData(ARTIST_TITLES, artistId);
+			cache.evictCollectionData(ARTIST_ALBUMS, artistId);
+		}
+		for (long albumId : albumIds) {
+			cache.evictCollectionData(ALBUM_TITLES, albumId);
+		}
+	}
+}
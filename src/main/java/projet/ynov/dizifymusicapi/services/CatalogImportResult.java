@@ -0,0 +1,83 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The outcome of a catalog import, one row per artist, album and title of the import in
+ * their order.
+ */
+public class CatalogImportResult {
+
+	private int imported;
+	private int failed;
+	private final List<Row> rows = new ArrayList<Row>();
+
+	void imported(String type, int index, String ref, long id) {
+		imported++;
+		rows.add(new Row(type, index, ref, id, null));
+	}
+
+	void failed(String type, int index, String ref, String error) {
+		failed++;
+		rows.add(new Row(type, index, ref, null, error));
+	}
+
+	public int getImported() {
+		return imported;
+	}
+
+	public int getFailed() {
+		return failed;
+	}
+
+	public List<Row> getRows() {
+		return rows;
+	}
+
+	/**
+	 * A row of the import, with the id it was saved with or the reason it was not.
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public static class Row {
+
+		private final String type;
+		private final int index;
+		private final String ref;
+		private final Long id;
+		private final String error;
+
+		Row(String type, int index, String ref, Long id, String error) {
+			this.type = type;
+			this.index = index;
+			this.ref = ref;
+			this.id = id;
+			this.error = error;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		/**
+		 * @return the position of the row in its list of the import
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		public String getRef() {
+			return ref;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public String getError() {
+			return error;
+		}
+	}
+}
@@ -0,0 +1,325 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import projet.ynov.dizifymusicapi.config.JdbcBatchConfig;
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.params.AlbumImportParams;
+import projet.ynov.dizifymusicapi.entity.params.ArtistImportParams;
+import projet.ynov.dizifymusicapi.entity.params.CatalogImportParams;
+import projet.ynov.dizifymusicapi.entity.params.TitleImportParams;
+import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+
+/**
+ * Bulk import of artists, albums and titles.
+ *
+ * The rows reference each other by client refs, resolved in memory. The names already taken
+ * and the existing artists and albums referenced by id are read with a few IN queries before
+ * the first insert, so each row is checked without a query. The valid rows are then inserted
+ * in one transaction, flushed as JDBC batches and cleared from the persistence context every
+ * {@link JdbcBatchConfig#BATCH_SIZE} rows. A row referencing a row that failed fails too.
+ */
+@Service
+public class CatalogImportService {
+
+	static final String ARTIST = "ARTIST";
+	static final String ALBUM = "ALBUM";
+	static final String TITLE = "TITLE";
+
+	// Bounds the IN lists of the lookups
+	private static final int LOOKUP_SIZE = 1000;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private AlbumRepository albumRepository;
+	@Autowired
+	private TitleRepository titleRepository;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private CatalogCacheEvictor catalogCacheEvictor;
+
+	@Value("${catalog.import.maximum-rows:10000}")
+	private int maximumRows;
+
+	/**
+	 * Import a catalog.
+	 *
+	 * @param params the artists, albums and titles
+	 * @return the result of each row
+	 * @throws GlobalHttpException if the import has too many rows
+	 */
+	public CatalogImportResult importCatalog(CatalogImportParams params) throws GlobalHttpException {
+		int rows = params.getArtists().size() + params.getAlbums().size() + params.getTitles().size();
+		if (rows > maximumRows) {
+			throw new GlobalHttpException(HttpStatus.PAYLOAD_TOO_LARGE, "At most " + maximumRows + " rows per import, split it");
+		}
+
+		Import catalogImport = new Import();
+		transactionTemplate.executeWithoutResult(status -> catalogImport.run(params));
+
+		// The existing artists and albums have new albums and titles
+		catalogCacheEvictor.collectionsChanged(catalogImport.existingArtists.keySet(), catalogImport.existingAlbums.keySet());
+		return catalogImport.result;
+	}
+
+	/**
+	 * The state of an import, in its transaction.
+	 */
+	private class Import {
+
+		private final CatalogImportResult result = new CatalogImportResult();
+		private final Date now = new Date();
+
+		private final Map<String, Artist> artistsByRef = new HashMap<String, Artist>();
+		private final Map<String, Album> albumsByRef = new HashMap<String, Album>();
+		// The refs of the rows that failed, to tell them from unknown refs
+		private final Set<String> failedArtistRefs = new HashSet<String>();
+		private final Set<String> failedAlbumRefs = new HashSet<String>();
+
+		private Map<Long, Artist> existingArtists = new HashMap<Long, Artist>();
+		private Map<Long, Album> existingAlbums = new HashMap<Long, Album>();
+
+		private int pending;
+
+		void run(CatalogImportParams params) {
+			Set<Long> artistIds = new HashSet<Long>();
+			Set<Long> albumIds = new HashSet<Long>();
+			for (AlbumImportParams album : params.getAlbums()) {
+				if (album.getAuthor_ref() == null) {
+					artistIds.add(album.getAuthor_id());
+				}
+			}
+			for (TitleImportParams title : params.getTitles()) {
+				if (title.getAuthor_ref() == null) {
+					artistIds.add(title.getAuthor_id());
+				}
+				if (title.getAlbum_ref() == null && title.getAlbum_id() != 0L) {
+					albumIds.add(title.getAlbum_id());
+				}
+			}
+			existingArtists = lookup(artistIds, ids -> artistRepository.findAllById(ids), Artist::getId);
+			existingAlbums = lookup(albumIds, ids -> albumRepository.findAllById(ids), Album::getId);
+
+			Set<String> takenArtistNames = takenNames(params.getArtists(), ArtistImportParams::getName, artistRepository::findNamesIn);
+			Set<String> takenAlbumNames = takenNames(params.getAlbums(), AlbumImportParams::getName, albumRepository::findNamesIn);
+			Set<String> takenTitleNames = takenNames(params.getTitles(), TitleImportParams::getName, titleRepository::findNamesIn);
+
+			for (int i = 0; i < params.getArtists().size(); i++) {
+				ArtistImportParams row = params.getArtists().get(i);
+				String error = checkName(row.getName(), takenArtistNames);
+				if (error == null && row.getRef() != null && (artistsByRef.containsKey(row.getRef()) || failedArtistRefs.contains(row.getRef()))) {
+					error = "Duplicate ref : " + row.getRef();
+				}
+				if (error != null) {
+					fail(ARTIST, i, row.getRef(), error, failedArtistRefs);
+					continue;
+				}
+
+				row.setId(0L);
+				row.setCreatedAt(now);
+				row.setUpdatedAt(now);
+				if (row.getImage() == null || row.getImage().isEmpty()) {
+					row.setImage("https://i.pravatar.cc/200");
+				}
+				if (row.getDescription() == null) {
+					row.setDescription("");
+				}
+
+				Artist artist = new Artist(row);
+				persist(artist);
+				if (row.getRef() != null) {
+					artistsByRef.put(row.getRef(), artist);
+				}
+				result.imported(ARTIST, i, row.getRef(), artist.getId());
+			}
+
+			for (int i = 0; i < params.getAlbums().size(); i++) {
+				AlbumImportParams row = params.getAlbums().get(i);
+				String error = checkName(row.getName(), takenAlbumNames);
+				Artist artist = null;
+				if (error == null && row.getPublicationDate() == null) {
+					error = "Publication date is required";
+				}
+				if (error == null && row.getRef() != null && (albumsByRef.containsKey(row.getRef()) || failedAlbumRefs.contains(row.getRef()))) {
+					error = "Duplicate ref : " + row.getRef();
+				}
+				if (error == null) {
+					artist = resolveArtist(row.getAuthor_ref(), row.getAuthor_id());
+					if (artist == null) {
+						error = artistError(row.getAuthor_ref(), row.getAuthor_id());
+					}
+				}
+				if (error != null) {
+					fail(ALBUM, i, row.getRef(), error, failedAlbumRefs);
+					continue;
+				}
+
+				row.setId(0L);
+				row.setCreatedAt(now);
+				row.setUpdatedAt(now);
+				if (row.getImage() == null || row.getImage().isEmpty()) {
+					row.setImage("https://picsum.photos/200");
+				}
+
+				Album album = new Album(row);
+				album.setAuthor(artist);
+				persist(album);
+				if (row.getRef() != null) {
+					albumsByRef.put(row.getRef(), album);
+				}
+				result.imported(ALBUM, i, row.getRef(), album.getId());
+			}
+
+			for (int i = 0; i < params.getTitles().size(); i++) {
+				TitleImportParams row = params.getTitles().get(i);
+				String error = checkName(row.getName(), takenTitleNames);
+				Artist artist = null;
+				Album album = null;
+				if (error == null && row.getDuration() == null) {
+					error = "Duration is required";
+				}
+				if (error == null) {
+					artist = resolveArtist(row.getAuthor_ref(), row.getAuthor_id());
+					if (artist == null) {
+						error = artistError(row.getAuthor_ref(), row.getAuthor_id());
+					}
+				}
+				if (error == null && (row.getAlbum_ref() != null || row.getAlbum_id() != 0L)) {
+					album = row.getAlbum_ref() != null ? albumsByRef.get(row.getAlbum_ref()) : existingAlbums.get(row.getAlbum_id());
+					if (album == null) {
+						error = row.getAlbum_ref() == null ? "Album not found with id : " + row.getAlbum_id()
+								: failedAlbumRefs.contains(row.getAlbum_ref()) ? "Album " + row.getAlbum_ref() + " not imported"
+								: "Unknown album ref : " + row.getAlbum_ref();
+					}
+				}
+				if (error != null) {
+					fail(TITLE, i, row.getRef(), error, null);
+					continue;
+				}
+
+				row.setId(0L);
+				row.setCreatedAt(now);
+				row.setUpdatedAt(now);
+
+				Title title = new Title(row);
+				title.setAuthor(artist);
+				title.setAlbum(album);
+				persist(title);
+				result.imported(TITLE, i, row.getRef(), title.getId());
+			}
+		}
+
+		/**
+		 * Persist an entity, its id is allocated right away. The pending inserts are sent as a
+		 * batch once there are enough of them, and the persistence context is cleared so it does
+		 * not grow with the import: the entities kept by ref are then only used as references.
+		 */
+		private void persist(Object entity) {
+			entityManager.persist(entity);
+			if (++pending == JdbcBatchConfig.BATCH_SIZE) {
+				entityManager.flush();
+				entityManager.clear();
+				pending = 0;
+			}
+		}
+
+		private void fail(String type, int index, String ref, String error, Set<String> failedRefs) {
+			if (ref != null && failedRefs != null) {
+				failedRefs.add(ref);
+			}
+			result.failed(type, index, ref, error);
+		}
+
+		/**
+		 * Check a name, and take it so the following rows cannot.
+		 */
+		private String checkName(String name, Set<String> takenNames) {
+			if (name == null || name.isEmpty()) {
+				return "Name is required";
+			}
+			if (!takenNames.add(normalize(name))) {
+				return "Name already taken.";
+			}
+			return null;
+		}
+
+		private Artist resolveArtist(String ref, long id) {
+			return ref != null ? artistsByRef.get(ref) : existingArtists.get(id);
+		}
+
+		private String artistError(String ref, long id) {
+			if (ref == null) {
+				return "Artist not found with id : " + id;
+			}
+			return failedArtistRefs.contains(ref) ? "Artist " + ref + " not imported" : "Unknown artist ref : " + ref;
+		}
+	}
+
+	private static <T> Map<Long, T> lookup(Set<Long> ids, Function<List<Long>, List<T>> find, Function<T, Long> getId) {
+		Map<Long, T> found = new HashMap<Long, T>();
+		for (List<Long> chunk : chunks(new ArrayList<Long>(ids))) {
+			for (T entity : find.apply(chunk)) {
+				found.put(getId.apply(entity), entity);
+			}
+		}
+		return found;
+	}
+
+	private static <P> Set<String> takenNames(List<P> rows, Function<P, String> getName, Function<Collection<String>, List<String>> findNamesIn) {
+		List<String> names = new ArrayList<String>();
+		for (P row : rows) {
+			if (getName.apply(row) != null) {
+				names.add(getName.apply(row));
+			}
+		}
+		Set<String> taken = new HashSet<String>();
+		for (List<String> chunk : chunks(names)) {
+			for (String name : findNamesIn.apply(chunk)) {
+				taken.add(normalize(name));
+			}
+		}
+		return taken;
+	}
+
+	/**
+	 * The unique indexes of MySQL ignore the case, so do the name checks.
+	 */
+	private static String normalize(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+
+	private static <T> List<List<T>> chunks(List<T> values) {
+		List<List<T>> chunks = new ArrayList<List<T>>();
+		for (int i = 0; i < values.size(); i += LOOKUP_SIZE) {
+			chunks.add(values.subList(i, Math.min(values.size(), i + LOOKUP_SIZE)));
+		}
+		return chunks;
+	}
+}
@@ -0,0 +1,176 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+import projet.ynov.dizifymusicapi.pagination.Cursor;
+import projet.ynov.dizifymusicapi.pagination.CursorPage;
+import projet.ynov.dizifymusicapi.projections.AlbumRow;
+import projet.ynov.dizifymusicapi.projections.ArtistRow;
+import projet.ynov.dizifymusicapi.projections.TitleRow;
+import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+
+/**
+ * Catalog reads.
+ *
+ * Every method returns a fully loaded, favorite annotated model, so it can be
+ * serialized once the transaction and its connection are released.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CatalogService {
+
+	@Autowired
+	private TitleRepository titleRepository;
+	@Autowired
+	private AlbumRepository albumRepository;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private FavoriteAnnotationService favoriteAnnotationService;
+
+	/**
+	 * Get a page of the Title list, ordered by id.
+	 *
+	 * @param user the logged user, null if anonymous
+	 * @param cursor the next cursor of the previous page, null for the first page
+	 * @param limit the page size
+	 * @return the page
+	 */
+	public CursorPage<TitleRow> getTitles(User user, String cursor, int limit) {
+		int size = CursorPage.limit(limit);
+		List<TitleRow> titles = titleRepository.findRowsAfter(Cursor.decodeId(cursor), PageRequest.of(0, size + 1));
+		CursorPage<TitleRow> page = CursorPage.of(titles, size, title -> Cursor.encode(title.getId()));
+		favoriteAnnotationService.annotateTitleRows(user, page.getItems());
+
+		return page;
+	}
+
+	/**
+	 * Get a page of the Album list with their titles, ordered by id.
+	 *
+	 * @param user the logged user, null if anonymous
+	 * @param cursor the next cursor of the previous page, null for the first page
+	 * @param limit the page size
+	 * @return the page
+	 */
+	public CursorPage<AlbumRow> getAlbums(User user, String cursor, int limit) {
+		int size = CursorPage.limit(limit);
+		List<AlbumRow> albums = albumRepository.findRowsAfter(Cursor.decodeId(cursor), PageRequest.of(0, size + 1));
+		CursorPage<AlbumRow> page = CursorPage.of(albums, size, album -> Cursor.encode(album.getId()));
+
+		if (!page.getItems().isEmpty()) {
+			Map<Long, AlbumRow> albumsById = new HashMap<Long, AlbumRow>();
+			for (AlbumRow album : page.getItems()) {
+				albumsById.put(album.getId(), album);
+			}
+			for (TitleRow title : titleRepository.findRowsByAlbumIdIn(albumsById.keySet())) {
+				albumsById.get(title.getAlbumId()).getTitles().add(title);
+			}
+		}
+		favoriteAnnotationService.annotateAlbumRows(user, page.getItems());
+
+		return page;
+	}
+
+	/**
+	 * Get a page of the Artist list with their titles and albums, ordered by id.
+	 *
+	 * @param user the logged user, null if anonymous
+	 * @param cursor the next cursor of the previous page, null for the first page
+	 * @param limit the page size
+	 * @return the page
+	 */
+	public CursorPage<ArtistRow> getArtists(User user, String cursor, int limit) {
+		int size = CursorPage.limit(limit);
+		List<ArtistRow> artists = artistRepository.findRowsAfter(Cursor.decodeId(cursor), PageRequest.of(0, size + 1));
+		CursorPage<ArtistRow> page = CursorPage.of(artists, size, artist -> Cursor.encode(artist.getId()));
+
+		if (!page.getItems().isEmpty()) {
+			Map<Long, ArtistRow> artistsById = new HashMap<Long, ArtistRow>();
+			for (ArtistRow artist : page.getItems()) {
+				artistsById.put(artist.getId(), artist);
+			}
+			for (TitleRow title : titleRepository.findRowsByAuthorIdIn(artistsById.keySet())) {
+				artistsById.get(title.getAuthorId()).getTitles().add(title);
+			}
+			for (AlbumRow album : albumRepository.findRowsByAuthorIdIn(artistsById.keySet())) {
+				artistsById.get(album.getAuthorId()).getAlbums().add(album);
+			}
+		}
+		favoriteAnnotationService.annotateArtistRows(user, page.getItems());
+
+		return page;
+	}
+
+	/**
+	 * Gets Title by id, with its album and author.
+	 *
+	 * @param titleId the Title id
+	 * @param user the logged user, null if anonymous
+	 * @return the Title
+	 * @throws GlobalHttpException the resource not found exception
+	 */
+	public Title getTitle(long titleId, User user) throws GlobalHttpException {
+		Title title = titleRepository
+							.findById(titleId)
+							.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Title not found with id : " + titleId));
+
+		favoriteAnnotationService.annotateTitles(user, Collections.singletonList(title));
+
+		return title;
+	}
+
+	/**
+	 * Gets Album by id, with its author and titles.
+	 *
+	 * @param albumId the Album id
+	 * @param user the logged user, null if anonymous
+	 * @return the Album
+	 * @throws GlobalHttpException the resource not found exception
+	 */
+	public Album getAlbum(long albumId, User user) throws GlobalHttpException {
+		Album album = albumRepository
+							.findWithTitlesAndAuthorById(albumId)
+							.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Album not found with id : " + albumId));
+
+		favoriteAnnotationService.annotateAlbums(user, Collections.singletonList(album));
+
+		return album;
+	}
+
+	/**
+	 * Gets Artist by id, with its titles and albums.
+	 *
+	 * @param artistId the Artist id
+	 * @param user the logged user, null if anonymous
+	 * @return the Artist
+	 * @throws GlobalHttpException the resource not found exception
+	 */
+	public Artist getArtist(long artistId, User user) throws GlobalHttpException {
+		Artist artist = artistRepository
+							.findWithTitlesById(artistId)
+							.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Artist not found with id : " + artistId));
+		// Same managed instance, its albums are initialized by a second query
+		artistRepository.findWithAlbumsById(artistId);
+
+		favoriteAnnotationService.annotateArtists(user, Collections.singletonList(artist));
+
+		return artist;
+	}
+}
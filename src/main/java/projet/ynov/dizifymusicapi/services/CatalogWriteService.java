@@ -0,0 +1,117 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.Collections;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.params.TitleParams;
+import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+
+/**
+ * Catalog writes changing the totals of the playlists.
+ *
+ * Each write and the update of the playlist totals are done in one transaction, so the totals
+ * are never changed without the catalog or the other way around. The second-level cache is
+ * evicted by the caller, once the transaction is committed.
+ */
+@Service
+@Transactional
+public class CatalogWriteService {
+
+	@Autowired
+	private TitleRepository titleRepository;
+	@Autowired
+	private AlbumRepository albumRepository;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private PlaylistTotalsService playlistTotalsService;
+
+	/**
+	 * Update Title, and the total duration of the playlists having it when its duration changes.
+	 * The title is locked before its old duration is read, so concurrent updates are counted once each.
+	 *
+	 * @param titleId the Title id
+	 * @param titleDetails the Title details, null fields are left unchanged
+	 * @return the updated Title
+	 * @throws GlobalHttpException the resource not found exception
+	 */
+	public Title updateTitle(long titleId, TitleParams titleDetails) throws GlobalHttpException {
+		Title title = titleRepository
+							.findForUpdateById(titleId)
+							.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Title not found with id : " + titleId));
+
+		if (titleDetails.getName() != null) {
+			title.setName(titleDetails.getName());
+		}
+
+		if (titleDetails.getDuration() != null) {
+			playlistTotalsService.titleDurationChanged(titleId, Title.durationSeconds(titleDetails.getDuration()) - title.getDurationSeconds());
+			title.setDuration(titleDetails.getDuration());
+		}
+
+		title.setUpdatedAt(new Date());
+		return titleRepository.save(title);
+	}
+
+	/**
+	 * Delete Title, after removing it from the totals of the playlists having it.
+	 *
+	 * @param titleId the Title id
+	 * @return the deleted Title
+	 * @throws GlobalHttpException the resource not found exception
+	 */
+	public Title deleteTitle(long titleId) throws GlobalHttpException {
+		Title title = titleRepository
+							.findForUpdateById(titleId)
+							.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Title not found with id : " + titleId));
+
+		playlistTotalsService.titlesRemoved(Collections.singletonList(title));
+		titleRepository.delete(title);
+		return title;
+	}
+
+	/**
+	 * Delete Album with its titles, after removing them from the totals of the playlists.
+	 *
+	 * @param albumId the Album id
+	 * @return the deleted Album
+	 * @throws GlobalHttpException the resource not found exception
+	 */
+	public Album deleteAlbum(long albumId) throws GlobalHttpException {
+		Album album = albumRepository
+							.findById(albumId)
+							.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Album not found with id : " + albumId));
+
+		playlistTotalsService.albumRemoved(albumId);
+		albumRepository.delete(album);
+		return album;
+	}
+
+	/**
+	 * Delete Artist, after removing its titles and the titles of its albums from the totals of the playlists.
+	 *
+	 * @param artistId the Artist id
+	 * @return the deleted Artist
+	 * @throws GlobalHttpException the resource not found exception
+	 */
+	public Artist deleteArtist(long artistId) throws GlobalHttpException {
+		Artist artist = artistRepository
+							.findById(artistId)
+							.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Artist not found with id : " + artistId));
+
+		playlistTotalsService.artistRemoved(artistId);
+		artistRepository.delete(artist);
+		return artist;
+	}
+}
@@ -0,0 +1,128 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.enums.FavoriteType;
+import projet.ynov.dizifymusicapi.projections.AlbumRow;
+import projet.ynov.dizifymusicapi.projections.ArtistRow;
+import projet.ynov.dizifymusicapi.projections.TitleRow;
+
+/**
+ * Sets the favoriteId of catalog entities for the logged user.
+ * 
+ * Favorites come from the {@link FavoritesIndex}, so annotating a result set costs
+ * at most one query to load the user's favorites, and none once they are indexed.
+ */
+@Service
+public class FavoriteAnnotationService {
+
+	@Autowired
+	private FavoritesIndex favoritesIndex;
+	
+	/**
+	 * Annotate titles.
+	 *
+	 * @param user the logged user, null if anonymous
+	 * @param titles the titles
+	 */
+	public void annotateTitles(User user, Collection<Title> titles) {
+		annotateTitles(favoritesOf(user), titles);
+	}
+	
+	/**
+	 * Annotate albums and their titles.
+	 *
+	 * @param user the logged user, null if anonymous
+	 * @param albums the albums
+	 */
+	public void annotateAlbums(User user, Collection<Album> albums) {
+		UserFavorites favorites = favoritesOf(user);
+		
+		for (Album album : albums) {
+			album.setFavoriteId(favorites.favoriteId(FavoriteType.ALBUM, album.getId()));
+			if (album.getTitles() != null) {
+				annotateTitles(favorites, album.getTitles());
+			}
+		}
+	}
+	
+	/**
+	 * Annotate artists and their titles.
+	 *
+	 * @param user the logged user, null if anonymous
+	 * @param artists the artists
+	 */
+	public void annotateArtists(User user, Collection<Artist> artists) {
+		UserFavorites favorites = favoritesOf(user);
+		
+		for (Artist artist : artists) {
+			artist.setFavoriteId(favorites.favoriteId(FavoriteType.ARTIST, artist.getId()));
+			if (artist.getTitles() != null) {
+				annotateTitles(favorites, artist.getTitles());
+			}
+		}
+	}
+	
+	/**
+	 * Annotate title rows.
+	 *
+	 * @param user the logged user, null if anonymous
+	 * @param titles the title rows
+	 */
+	public void annotateTitleRows(User user, Collection<TitleRow> titles) {
+		annotateTitleRows(favoritesOf(user), titles);
+	}
+	
+	/**
+	 * Annotate album rows and their titles.
+	 *
+	 * @param user the logged user, null if anonymous
+	 * @param albums the album rows
+	 */
+	public void annotateAlbumRows(User user, Collection<AlbumRow> albums) {
+		UserFavorites favorites = favoritesOf(user);
+		
+		for (AlbumRow album : albums) {
+			album.setFavoriteId(favorites.favoriteId(FavoriteType.ALBUM, album.getId()));
+			annotateTitleRows(favorites, album.getTitles());
+		}
+	}
+	
+	/**
+	 * Annotate artist rows and their titles.
+	 *
+	 * @param user the logged user, null if anonymous
+	 * @param artists the artist rows
+	 */
+	public void annotateArtistRows(User user, Collection<ArtistRow> artists) {
+		UserFavorites favorites = favoritesOf(user);
+		
+		for (ArtistRow artist : artists) {
+			artist.setFavoriteId(favorites.favoriteId(FavoriteType.ARTIST, artist.getId()));
+			annotateTitleRows(favorites, artist.getTitles());
+		}
+	}
+	
+	private void annotateTitles(UserFavorites favorites, Collection<Title> titles) {
+		for (Title title : titles) {
+			title.setFavoriteId(favorites.favoriteId(FavoriteType.TITLE, title.getId()));
+		}
+	}
+	
+	private void annotateTitleRows(UserFavorites favorites, Collection<TitleRow> titles) {
+		for (TitleRow title : titles) {
+			title.setFavoriteId(favorites.favoriteId(FavoriteType.TITLE, title.getId()));
+		}
+	}
+	
+	private UserFavorites favoritesOf(User user) {
+		return user == null ? UserFavorites.EMPTY : favoritesIndex.get(user.getId());
+	}
+}
@@ -0,0 +1,82 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import projet.ynov.dizifymusicapi.entity.Favorite;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+import projet.ynov.dizifymusicapi.pagination.Cursor;
+import projet.ynov.dizifymusicapi.pagination.CursorPage;
+import projet.ynov.dizifymusicapi.repositories.FavoriteRepository;
+
+/**
+ * Favorite reads, the favorites are returned with their album, artist or title loaded.
+ */
+@Service
+@Transactional(readOnly = true)
+public class FavoriteService {
+
+	@Autowired
+	private FavoriteRepository favoriteRepository;
+
+	/**
+	 * Get a page of the Favorite list of a user, newest first.
+	 *
+	 * @param user the logged user
+	 * @param cursor the next cursor of the previous page, null for the first page
+	 * @param limit the page size
+	 * @return the page
+	 */
+	public CursorPage<Favorite> getFavorites(User user, String cursor, int limit) {
+		int size = CursorPage.limit(limit);
+		Pageable first = PageRequest.of(0, size + 1);
+		List<Favorite> favorites;
+		
+		if (cursor == null) {
+			favorites = favoriteRepository.findPageByUser(user.getId(), first);
+		} else {
+			long[] last = Cursor.decode(cursor, 2);
+			favorites = favoriteRepository.findPageByUserBefore(user.getId(), new Date(last[0]), last[1], first);
+		}
+		
+		return CursorPage.of(favorites, size, favorite -> Cursor.encode(favorite.getCreatedAt().getTime(), favorite.getId()));
+	}
+
+	/**
+	 * Get all Favorite list of a user.
+	 *
+	 * @param user the logged user
+	 * @return the list
+	 */
+	public List<Favorite> getAllFavorites(User user) {
+		return favoriteRepository.findAllByUser(user);
+	}
+
+	/**
+	 * Gets Favorite by id.
+	 *
+	 * @param favoriteId the Favorite id
+	 * @param user the logged user, owner of the favorite
+	 * @return the Favorite
+	 * @throws GlobalHttpException the resource not found or not authorized exception
+	 */
+	public Favorite getFavorite(long favoriteId, User user) throws GlobalHttpException {
+		Favorite favorite = favoriteRepository
+							.findById(favoriteId)
+							.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Favorite not found with id : " + favoriteId));
+		
+		if (favorite.getUser().getId() == user.getId()) {
+			return favorite;
+		}
+		
+		throw new GlobalHttpException(HttpStatus.FORBIDDEN, "Not authorized");
+	}
+}
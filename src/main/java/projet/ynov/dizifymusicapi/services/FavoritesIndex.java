@@ -0,0 +1,130 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import projet.ynov.dizifymusicapi.entity.Favorite;
+import projet.ynov.dizifymusicapi.enums.FavoriteType;
+import projet.ynov.dizifymusicapi.repositories.FavoriteRepository;
+
+/**
+ * Bounded in-memory index of the favorites of active users.
+ * 
+ * A user's favorites are loaded with one query on first access, then kept up to date
+ * by {@link #added(Favorite)} and {@link #removed(Favorite)}. The cache is bounded by
+ * the total number of favorites it holds, and a user is loaded again once the entry is
+ * favorites.index.expire-after-write-minutes old, whatever its reads. Its hit, miss and
+ * eviction counts are published as the "favorites.index" cache metrics.
+ */
+@Service
+public class FavoritesIndex {
+	
+	private final FavoriteRepository favoriteRepository;
+	
+	private final Cache<Long, UserFavorites> cache;
+	
+	@Autowired
+	public FavoritesIndex(FavoriteRepository favoriteRepository, MeterRegistry meterRegistry,
+			@Value("${favorites.index.maximum-weight:1000000}") long maximumWeight,
+			@Value("${favorites.index.expire-after-write-minutes:30}") long expireAfterWrite) {
+		this.favoriteRepository = favoriteRepository;
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maximumWeight)
+				.<Long, UserFavorites>weigher((userId, favorites) -> favorites.size() + 1)
+				.expireAfterWrite(expireAfterWrite, TimeUnit.MINUTES)
+				.recordStats()
+				.build();
+		
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "favorites.index");
+	}
+	
+	/**
+	 * Gets the favorites of a user, loading them on first access.
+	 *
+	 * @param userId the user id
+	 * @return the user favorites
+	 */
+	public UserFavorites get(long userId) {
+		return cache.get(userId, this::load);
+	}
+	
+	/**
+	 * Update the index after a favorite creation.
+	 *
+	 * @param favorite the saved favorite
+	 */
+	public void added(Favorite favorite) {
+		// computeIfPresent waits for a load in progress, the favorite is never lost
+		cache.asMap().computeIfPresent(favorite.getUser().getId(), (userId, favorites) -> {
+			favorites.put(typeOf(favorite), targetIdOf(favorite), favorite.getId());
+			return favorites;
+		});
+	}
+	
+	/**
+	 * Update the index after a favorite deletion.
+	 *
+	 * @param favorite the deleted favorite
+	 */
+	public void removed(Favorite favorite) {
+		cache.asMap().computeIfPresent(favorite.getUser().getId(), (userId, favorites) -> {
+			// The indexed favorite of a target favorited more than once: the user is reloaded
+			return favorites.remove(typeOf(favorite), targetIdOf(favorite), favorite.getId()) ? favorites : null;
+		});
+	}
+	
+	/**
+	 * Drop the favorites of a user, they are reloaded on next access.
+	 *
+	 * @param userId the user id
+	 */
+	public void invalidate(long userId) {
+		cache.invalidate(userId);
+	}
+	
+	private UserFavorites load(long userId) {
+		List<Object[]> rows = favoriteRepository.findIdsByUser(userId);
+		UserFavorites favorites = new UserFavorites();
+		
+		for (Object[] row : rows) {
+			long favoriteId = ((Number) row[0]).longValue();
+			
+			if (row[1] != null) {
+				favorites.put(FavoriteType.ALBUM, ((Number) row[1]).longValue(), favoriteId);
+			} else if (row[2] != null) {
+				favorites.put(FavoriteType.ARTIST, ((Number) row[2]).longValue(), favoriteId);
+			} else if (row[3] != null) {
+				favorites.put(FavoriteType.TITLE, ((Number) row[3]).longValue(), favoriteId);
+			}
+		}
+		
+		return favorites;
+	}
+	
+	private static FavoriteType typeOf(Favorite favorite) {
+		if (favorite.getAlbum() != null) {
+			return FavoriteType.ALBUM;
+		} else if (favorite.getArtist() != null) {
+			return FavoriteType.ARTIST;
+		}
+		return FavoriteType.TITLE;
+	}
+	
+	private static long targetIdOf(Favorite favorite) {
+		if (favorite.getAlbum() != null) {
+			return favorite.getAlbum().getId();
+		} else if (favorite.getArtist() != null) {
+			return favorite.getArtist().getId();
+		}
+		return favorite.getTitle().getId();
+	}
+}
@@ -0,0 +1,97 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import projet.ynov.dizifymusicapi.exceptions.ServiceBusyException;
+
+/**
+ * Hashes and checks passwords on a dedicated, bounded executor, so a burst of signins cannot
+ * take the request threads serving the rest of the API.
+ *
+ * When every thread is busy and the queue is full, the call fails right away with a
+ * {@link ServiceBusyException}. The executor is published as the "password.hashing" executor
+ * metrics (queued tasks among them), the hash durations as the "password.hashing" timer.
+ */
+@Service
+public class PasswordHashingService {
+
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final long retryAfterSeconds;
+
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+	private final Counter rejected;
+
+	@Autowired
+	public PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+			@Value("${security.password.hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+			@Value("${security.password.hashing.queue-capacity:100}") int queueCapacity,
+			@Value("${security.password.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+		this.passwordEncoder = passwordEncoder;
+		this.retryAfterSeconds = retryAfterSeconds;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+				new ThreadPoolExecutor.AbortPolicy());
+
+		new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+		this.encodeTimer = Timer.builder("password.hashing").tag("operation", "encode").register(meterRegistry);
+		this.matchesTimer = Timer.builder("password.hashing").tag("operation", "matches").register(meterRegistry);
+		this.rejected = Counter.builder("password.hashing.rejected").register(meterRegistry);
+	}
+
+	/**
+	 * Hash a password.
+	 *
+	 * @param rawPassword the password
+	 * @return the hash, completed on the hashing executor
+	 * @throws ServiceBusyException if the executor is saturated
+	 */
+	public CompletableFuture<String> encode(CharSequence rawPassword) {
+		return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+	}
+
+	/**
+	 * Check a password against its hash.
+	 *
+	 * @param rawPassword the password
+	 * @param encodedPassword the hash
+	 * @return whether they match, completed on the hashing executor
+	 * @throws ServiceBusyException if the executor is saturated
+	 */
+	public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+		return submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+	}
+
+	private <T> CompletableFuture<T> submit(Supplier<T> hashing) {
+		try {
+			return CompletableFuture.supplyAsync(hashing, executor);
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw new ServiceBusyException("Too many authentications in progress, retry later", retryAfterSeconds);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+}
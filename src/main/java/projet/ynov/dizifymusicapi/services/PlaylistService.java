@@ -0,0 +1,319 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import projet.ynov.dizifymusicapi.entity.Playlist;
+import projet.ynov.dizifymusicapi.entity.PlaylistTitle;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.entity.params.PlaylistParams;
+import projet.ynov.dizifymusicapi.exceptions.GlobalHttpException;
+import projet.ynov.dizifymusicapi.pagination.Cursor;
+import projet.ynov.dizifymusicapi.pagination.CursorPage;
+import projet.ynov.dizifymusicapi.projections.PlaylistRow;
+import projet.ynov.dizifymusicapi.repositories.PlaylistRepository;
+import projet.ynov.dizifymusicapi.repositories.PlaylistTitleRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+
+/**
+ * Playlists and their ordered titles. A playlist is returned with its titles loaded, the
+ * playlist list with the count and the total duration of the titles only.
+ *
+ * A title is added, moved or removed by writing its own {@link PlaylistTitle} row, the
+ * other titles of the playlist keep their rows and positions. The playlist row is locked by
+ * these changes and its track count and total duration updated in the same transaction.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PlaylistService {
+
+	@Autowired
+	private PlaylistRepository playlistRepository;
+	@Autowired
+	private PlaylistTitleRepository playlistTitleRepository;
+	@Autowired
+	private TitleRepository titleRepository;
+
+	/**
+	 * Get all Playlist list of a user, without their titles.
+	 *
+	 * @param user the logged user
+	 * @return the list, with the count and the total duration of the titles of each playlist
+	 */
+	public List<PlaylistRow> getPlaylists(User user) {
+		return playlistRepository.findRowsByUser(user.getId());
+	}
+
+	/**
+	 * Gets Playlist by id.
+	 *
+	 * @param playlistId the Playlist id
+	 * @param user the logged user, owner of the playlist
+	 * @return the Playlist
+	 * @throws GlobalHttpException the resource not found or not authorized exception
+	 */
+	public Playlist getPlaylist(long playlistId, User user) throws GlobalHttpException {
+		Playlist playlist = playlistRepository
+							.findWithTitlesById(playlistId)
+							.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Playlist not found with id : " + playlistId));
+		
+		if (playlist.getUser().getId() == user.getId()) {
+			return playlist;
+		}
+		
+		throw new GlobalHttpException(HttpStatus.FORBIDDEN, "Not authorized");
+	}
+
+	/**
+	 * Get a page of the titles of a playlist, in their playlist order.
+	 *
+	 * The cursor holds the row and the position of the last title of the page. The page starts
+	 * after the current position of that row, so it follows the positions spread again since.
+	 * The encoded position is only used when the row was removed meanwhile.
+	 *
+	 * @param playlistId the Playlist id
+	 * @param user the logged user, owner of the playlist
+	 * @param cursor the next cursor of the previous page, null for the first page
+	 * @param limit the page size
+	 * @return the page
+	 * @throws GlobalHttpException the resource not found or not authorized exception
+	 */
+	public CursorPage<PlaylistTitle> getTitles(long playlistId, User user, String cursor, int limit) throws GlobalHttpException {
+		Playlist playlist = getOwnPlaylist(playlistId, user);
+		int size = CursorPage.limit(limit);
+		Pageable first = PageRequest.of(0, size + 1);
+		List<PlaylistTitle> titles;
+		
+		if (cursor == null) {
+			titles = playlistTitleRepository.findPageByPlaylist(playlist.getId(), first);
+		} else {
+			long[] last = Cursor.decode(cursor, 2);
+			Long position = playlistTitleRepository.findPosition(playlist.getId(), last[1]);
+			titles = playlistTitleRepository.findPageByPlaylistAfter(playlist.getId(), position == null ? last[0] : position, first);
+		}
+		
+		return CursorPage.of(titles, size, playlistTitle -> Cursor.encode(playlistTitle.getPosition(), playlistTitle.getId()));
+	}
+
+	/**
+	 * Create a Playlist of the logged user, with its titles in the order of params.title_ids.
+	 *
+	 * @param params the PlaylistParams
+	 * @param user the logged user
+	 * @return the Playlist, without its titles
+	 */
+	@Transactional
+	public Playlist createPlaylist(PlaylistParams params, User user) {
+		params.setCreatedAt(new Date());
+		params.setUpdatedAt(new Date());
+		
+		Playlist playlist = new Playlist(params);
+		playlist.setUser(user);
+		playlist = playlistRepository.save(playlist);
+		
+		if (params.getTitle_ids() != null) {
+			setTitles(playlist, params.getTitle_ids());
+		}
+		return playlist;
+	}
+
+	/**
+	 * Update the name of a Playlist, and its titles when params.title_ids is given.
+	 *
+	 * Only the rows of the removed and of the new titles are written, the titles kept keep
+	 * their position and the new ones are appended in the order of params.title_ids.
+	 *
+	 * @param playlistId the Playlist id
+	 * @param params the PlaylistParams
+	 * @param user the logged user, owner of the playlist
+	 * @throws GlobalHttpException the resource not found or not authorized exception
+	 */
+	@Transactional
+	public void updatePlaylist(long playlistId, PlaylistParams params, User user) throws GlobalHttpException {
+		Playlist playlist = lockOwnPlaylist(playlistId, user);
+		
+		if (params.getName() != null) {
+			playlist.setName(params.getName());
+		}
+		
+		if (params.getTitle_ids() != null) {
+			setTitles(playlist, params.getTitle_ids());
+		}
+		
+		playlist.setUpdatedAt(new Date());
+	}
+
+	/**
+	 * Add a title to a Playlist.
+	 *
+	 * @param playlistId the Playlist id
+	 * @param titleId the Title id
+	 * @param beforeTitleId the title to add it before, null to add it last
+	 * @param user the logged user, owner of the playlist
+	 * @return the added title
+	 * @throws GlobalHttpException the resource not found, not authorized or already added exception
+	 */
+	@Transactional
+	public PlaylistTitle addTitle(long playlistId, long titleId, Long beforeTitleId, User user) throws GlobalHttpException {
+		Playlist playlist = lockOwnPlaylist(playlistId, user);
+		Title title = titleRepository
+						.findById(titleId)
+						.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Title not found with id : " + titleId));
+		
+		if (playlistTitleRepository.findByPlaylistAndTitle(playlistId, titleId).isPresent()) {
+			throw new GlobalHttpException(HttpStatus.CONFLICT, "Title already in the playlist");
+		}
+		
+		long position = positionBefore(playlistId, beforeTitleId, 0L);
+		playlist.addToTotals(1, title.getDurationSeconds());
+		return playlistTitleRepository.save(new PlaylistTitle(playlist, title, position));
+	}
+
+	/**
+	 * Move a title of a Playlist.
+	 *
+	 * @param playlistId the Playlist id
+	 * @param titleId the Title id
+	 * @param beforeTitleId the title to move it before, null to move it last
+	 * @param user the logged user, owner of the playlist
+	 * @return the moved title
+	 * @throws GlobalHttpException the resource not found or not authorized exception
+	 */
+	@Transactional
+	public PlaylistTitle moveTitle(long playlistId, long titleId, Long beforeTitleId, User user) throws GlobalHttpException {
+		lockOwnPlaylist(playlistId, user);
+		PlaylistTitle playlistTitle = getPlaylistTitle(playlistId, titleId);
+		
+		if (beforeTitleId != null && beforeTitleId == titleId) {
+			throw new GlobalHttpException(HttpStatus.BAD_REQUEST, "A title can not be moved before itself");
+		}
+		
+		playlistTitle.setPosition(positionBefore(playlistId, beforeTitleId, playlistTitle.getId()));
+		return playlistTitle;
+	}
+
+	/**
+	 * Remove a title from a Playlist.
+	 *
+	 * @param playlistId the Playlist id
+	 * @param titleId the Title id
+	 * @param user the logged user, owner of the playlist
+	 * @throws GlobalHttpException the resource not found or not authorized exception
+	 */
+	@Transactional
+	public void removeTitle(long playlistId, long titleId, User user) throws GlobalHttpException {
+		Playlist playlist = lockOwnPlaylist(playlistId, user);
+		PlaylistTitle playlistTitle = getPlaylistTitle(playlistId, titleId);
+		playlist.addToTotals(-1, -playlistTitle.getTitle().getDurationSeconds());
+		playlistTitleRepository.delete(playlistTitle);
+	}
+
+	private Playlist getOwnPlaylist(long playlistId, User user) throws GlobalHttpException {
+		return checkOwner(playlistRepository.findById(playlistId), playlistId, user);
+	}
+
+	private Playlist lockOwnPlaylist(long playlistId, User user) throws GlobalHttpException {
+		return checkOwner(playlistRepository.findForUpdateById(playlistId), playlistId, user);
+	}
+
+	private static Playlist checkOwner(Optional<Playlist> found, long playlistId, User user) throws GlobalHttpException {
+		Playlist playlist = found.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Playlist not found with id : " + playlistId));
+		
+		if (playlist.getUser().getId() == user.getId()) {
+			return playlist;
+		}
+		
+		throw new GlobalHttpException(HttpStatus.FORBIDDEN, "Not authorized");
+	}
+
+	private PlaylistTitle getPlaylistTitle(long playlistId, long titleId) throws GlobalHttpException {
+		return playlistTitleRepository
+				.findByPlaylistAndTitle(playlistId, titleId)
+				.orElseThrow(() -> new GlobalHttpException(HttpStatus.NOT_FOUND, "Title not found in the playlist with id : " + titleId));
+	}
+
+	/**
+	 * Replace the titles of a playlist: the titles no longer in the list are removed, the
+	 * new ones appended in the order of the list.
+	 */
+	private void setTitles(Playlist playlist, Iterable<Long> titleIds) {
+		Set<Long> ids = new LinkedHashSet<>();
+		titleIds.forEach(ids::add);
+		
+		List<PlaylistTitle> removed = new ArrayList<>();
+		long last = 0L;
+		for (PlaylistTitle playlistTitle : playlistTitleRepository.findAllByPlaylist(playlist.getId())) {
+			if (ids.remove(playlistTitle.getTitle().getId())) {
+				last = playlistTitle.getPosition();
+			} else {
+				removed.add(playlistTitle);
+				playlist.addToTotals(-1, -playlistTitle.getTitle().getDurationSeconds());
+			}
+		}
+		playlistTitleRepository.deleteAll(removed);
+		
+		Map<Long, Title> titles = new HashMap<>();
+		for (Title title : titleRepository.findAllById(ids)) {
+			titles.put(title.getId(), title);
+		}
+		
+		List<PlaylistTitle> added = new ArrayList<>();
+		for (Long id : ids) {
+			Title title = titles.get(id);
+			if (title != null) {
+				last += PlaylistTitle.POSITION_GAP;
+				added.add(new PlaylistTitle(playlist, title, last));
+				playlist.addToTotals(1, title.getDurationSeconds());
+			}
+		}
+		playlistTitleRepository.saveAll(added);
+	}
+
+	/**
+	 * The position placing a title before another one, or last.
+	 *
+	 * Half way between the title and the one preceding it. When they are next to each other,
+	 * the positions of the playlist are spread {@link PlaylistTitle#POSITION_GAP} apart first.
+	 *
+	 * @param playlistId the Playlist id
+	 * @param beforeTitleId the title to place it before, null to place it last
+	 * @param excludedId the id of the row being moved, 0 when adding
+	 * @return the position
+	 */
+	private long positionBefore(long playlistId, Long beforeTitleId, long excludedId) throws GlobalHttpException {
+		if (beforeTitleId == null) {
+			Long last = playlistTitleRepository.findLastPosition(playlistId, excludedId);
+			return last == null ? PlaylistTitle.POSITION_GAP : last + PlaylistTitle.POSITION_GAP;
+		}
+		
+		PlaylistTitle next = getPlaylistTitle(playlistId, beforeTitleId);
+		Long previous = playlistTitleRepository.findPositionBefore(playlistId, next.getPosition(), excludedId);
+		if (previous == null) {
+			return next.getPosition() - PlaylistTitle.POSITION_GAP;
+		}
+		if (next.getPosition() - previous >= 2) {
+			return previous + (next.getPosition() - previous) / 2;
+		}
+		
+		// The positions are flushed before the next query
+		List<PlaylistTitle> playlistTitles = playlistTitleRepository.findAllByPlaylist(playlistId);
+		for (int i = 0; i < playlistTitles.size(); i++) {
+			playlistTitles.get(i).setPosition((i + 1) * PlaylistTitle.POSITION_GAP);
+		}
+		return positionBefore(playlistId, beforeTitleId, excludedId);
+	}
+}
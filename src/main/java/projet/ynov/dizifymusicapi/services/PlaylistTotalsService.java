@@ -0,0 +1,145 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import projet.ynov.dizifymusicapi.entity.Playlist;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.projections.PlaylistRow;
+import projet.ynov.dizifymusicapi.repositories.PlaylistRepository;
+import projet.ynov.dizifymusicapi.repositories.PlaylistTitleRepository;
+
+/**
+ * The track count and total duration kept by each playlist, when its titles change on the catalog side.
+ *
+ * The playlists having a title are updated by one statement when the title duration changes or
+ * before it is deleted. {@link #repairAll()} counts them again from their titles, after a migration
+ * or when a change was missed.
+ */
+@Service
+public class PlaylistTotalsService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PlaylistTotalsService.class);
+
+	// Playlists locked and counted again per transaction
+	private static final int REPAIR_SIZE = 500;
+
+	@Autowired
+	private PlaylistRepository playlistRepository;
+	@Autowired
+	private PlaylistTitleRepository playlistTitleRepository;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	/**
+	 * Update the total duration of the playlists having a title, after its duration changed.
+	 *
+	 * @param titleId the Title id
+	 * @param durationSeconds the new duration minus the old one, in seconds
+	 */
+	@Transactional
+	public void titleDurationChanged(long titleId, long durationSeconds) {
+		if (durationSeconds != 0) {
+			playlistRepository.addToDurationsWithTitle(titleId, durationSeconds);
+		}
+	}
+
+	/**
+	 * Remove titles from the totals of the playlists having them, before the titles are deleted.
+	 *
+	 * @param titles the titles about to be deleted
+	 */
+	@Transactional
+	public void titlesRemoved(Collection<Title> titles) {
+		for (Title title : titles) {
+			playlistRepository.removeFromTotalsWithTitle(title.getId(), title.getDurationSeconds());
+		}
+	}
+
+	/**
+	 * Remove the titles of an album from the totals of the playlists, before the album is deleted with its titles.
+	 *
+	 * @param albumId the Album id
+	 */
+	@Transactional
+	public void albumRemoved(long albumId) {
+		titlesRemoved(playlistTitleRepository.findTitlesByAlbum(albumId));
+	}
+
+	/**
+	 * Remove the titles of an artist and of its albums from the totals of the playlists, before the artist is deleted.
+	 *
+	 * @param artistId the Artist id
+	 */
+	@Transactional
+	public void artistRemoved(long artistId) {
+		titlesRemoved(playlistTitleRepository.findTitlesByArtist(artistId));
+	}
+
+	/**
+	 * Count the titles of every playlist again, {@link #REPAIR_SIZE} playlists per transaction.
+	 * The playlists are locked while they are counted, so the titles changed meanwhile are not missed.
+	 *
+	 * @return the number of playlists whose totals were wrong
+	 */
+	public long repairAll() {
+		long repaired = 0;
+		long lastId = 0;
+		long start = System.nanoTime();
+
+		while (true) {
+			long after = lastId;
+			long[] page = transactionTemplate.execute(status -> repairPage(after));
+			if (page == null) {
+				break;
+			}
+			repaired += page[0];
+			lastId = page[1];
+		}
+
+		LOGGER.info("Playlist totals repaired : {} playlists in {} ms", repaired, (System.nanoTime() - start) / 1000000);
+		return repaired;
+	}
+
+	/**
+	 * @return the repaired count and the last id of the page, null after the last page
+	 */
+	private long[] repairPage(long afterId) {
+		List<Playlist> playlists = playlistRepository.findPageForUpdateAfter(afterId, PageRequest.of(0, REPAIR_SIZE));
+		if (playlists.isEmpty()) {
+			return null;
+		}
+
+		List<Long> ids = new ArrayList<Long>(playlists.size());
+		for (Playlist playlist : playlists) {
+			ids.add(playlist.getId());
+		}
+
+		Map<Long, PlaylistRow> totals = new HashMap<Long, PlaylistRow>();
+		for (PlaylistRow row : playlistRepository.countTotalsByIdIn(ids)) {
+			totals.put(row.getId(), row);
+		}
+
+		long repaired = 0;
+		for (Playlist playlist : playlists) {
+			PlaylistRow row = totals.get(playlist.getId());
+			if (playlist.getTrackCount() != row.getTrackCount() || playlist.getTotalDurationSeconds() != row.getTotalDurationSeconds()) {
+				playlist.setTrackCount(row.getTrackCount());
+				playlist.setTotalDurationSeconds(row.getTotalDurationSeconds());
+				repaired++;
+			}
+		}
+		return new long[] { repaired, ids.get(ids.size() - 1) };
+	}
+}
@@ -0,0 +1,85 @@
+package projet.ynov.dizifymusicapi.services;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.LongLongHashMap;
+
+import projet.ynov.dizifymusicapi.enums.FavoriteType;
+
+/**
+ * Favorites of one user, as target id to favorite id maps per favorite type.
+ * A target favorited more than once keeps one of its favorite ids, and the count
+ * of the other ones.
+ * 
+ * Reads and in place updates are synchronized on the instance, contention only
+ * happens between requests of the same user.
+ */
+public class UserFavorites {
+	
+	public static final UserFavorites EMPTY = new UserFavorites();
+
+	private final Map<FavoriteType, LongLongHashMap> favorites = new EnumMap<FavoriteType, LongLongHashMap>(FavoriteType.class);
+	// Favorites of a target besides the indexed one, only for the targets favorited more than once
+	private final Map<FavoriteType, LongIntHashMap> duplicates = new EnumMap<FavoriteType, LongIntHashMap>(FavoriteType.class);
+	
+	UserFavorites() {
+		for (FavoriteType type : FavoriteType.values()) {
+			favorites.put(type, new LongLongHashMap());
+			duplicates.put(type, new LongIntHashMap());
+		}
+	}
+	
+	/**
+	 * Gets the favorite id of a target.
+	 *
+	 * @param type the favorite type
+	 * @param targetId the album, artist or title id
+	 * @return the favorite id, 0 if the target is not a favorite
+	 */
+	public synchronized long favoriteId(FavoriteType type, long targetId) {
+		return favorites.get(type).get(targetId);
+	}
+	
+	public synchronized int size() {
+		int size = 0;
+		for (LongLongHashMap targets : favorites.values()) {
+			size += targets.size();
+		}
+		return size;
+	}
+	
+	synchronized void put(FavoriteType type, long targetId, long favoriteId) {
+		long indexed = favorites.get(type).put(targetId, favoriteId);
+		if (indexed != 0 && indexed != favoriteId) {
+			duplicates.get(type).addTo(targetId, 1);
+		}
+	}
+	
+	/**
+	 * Remove a favorite of a target, the target is removed with its last favorite.
+	 *
+	 * @return false if the favorite is not indexed, or was the indexed one of a target having
+	 *         other ones whose ids are not known
+	 */
+	synchronized boolean remove(FavoriteType type, long targetId, long favoriteId) {
+		LongIntHashMap targetDuplicates = duplicates.get(type);
+		int count = targetDuplicates.get(targetId);
+		if (count == 0) {
+			// A favorite not indexed, saved by another instance: reloaded as well
+			if (favorites.get(type).get(targetId) != favoriteId) {
+				return false;
+			}
+			favorites.get(type).remove(targetId);
+			return true;
+		}
+
+		if (count == 1) {
+			targetDuplicates.remove(targetId);
+		} else {
+			targetDuplicates.put(targetId, count - 1);
+		}
+		return favorites.get(type).get(targetId) != favoriteId;
+	}
+}
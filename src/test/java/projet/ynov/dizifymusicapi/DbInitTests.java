@@ -0,0 +1,50 @@
+package projet.ynov.dizifymusicapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import projet.ynov.dizifymusicapi.repositories.AdminRepository;
+import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+
+/**
+ * The database is seeded after the startup, with the configured catalog size whatever the
+ * number of workers.
+ */
+@SpringBootTest(properties = { "seed.enabled=true", "seed.users=3", "seed.artists=7", "seed.albums-per-artist=2", "seed.titles-per-album=4", "seed.workers=3" })
+class DbInitTests {
+
+	@Autowired
+	private DbInit dbInit;
+	@Autowired
+	private AdminRepository adminRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private AlbumRepository albumRepository;
+	@Autowired
+	private TitleRepository titleRepository;
+
+	@Test
+	void generatesTheConfiguredCatalog() throws Exception {
+		dbInit.seeding().get(30, TimeUnit.SECONDS);
+
+		assertNotNull(adminRepository.findByUsername("admin"));
+		assertNotNull(userRepository.findByUsername("user"));
+		assertNotNull(userRepository.findByUsername("user2"));
+		assertEquals(3, userRepository.count());
+		assertEquals(7, artistRepository.count());
+		assertEquals(14, albumRepository.count());
+		assertEquals(56, titleRepository.count());
+	}
+}
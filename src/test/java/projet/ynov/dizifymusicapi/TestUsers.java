@@ -0,0 +1,38 @@
+package projet.ynov.dizifymusicapi;
+
+import java.util.Date;
+
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.entity.params.UserParams;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+
+/**
+ * The users and admins saved by the tests, with the password "password".
+ */
+public final class TestUsers {
+
+	private TestUsers() {
+	}
+
+	/**
+	 * The params of a user or admin named username.
+	 */
+	public static UserParams params(String username) {
+		return new UserParams("https://i.pravatar.cc/200", username + "@gmail.com", username, "password", new Date(), new Date());
+	}
+
+	/**
+	 * Save a new user.
+	 */
+	public static User create(UserRepository userRepository, String username) {
+		return userRepository.save(new User(params(username)));
+	}
+
+	/**
+	 * The user of a test class, saved by its first test and found by the next ones.
+	 */
+	public static User findOrCreate(UserRepository userRepository, String username) {
+		User user = userRepository.findByUsername(username);
+		return user != null ? user : create(userRepository, username);
+	}
+}
@@ -0,0 +1,76 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * The authentication endpoints are limited by client address and by username, the other ones are not.
+ */
+@SpringBootTest(properties = {
+		"security.auth.rate-limit.address.capacity=4",
+		"security.auth.rate-limit.address.per-minute=1",
+		"security.auth.rate-limit.username.capacity=2",
+		"security.auth.rate-limit.username.per-minute=1" })
+@AutoConfigureMockMvc
+class AuthRateLimitTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void limitsByUsernameThenByAddress() throws Exception {
+		String username = "limited-" + UUID.randomUUID();
+
+		// The body is still read by the controller
+		mockMvc.perform(signup("10.0.0.1", username)).andExpect(request().asyncStarted());
+		mockMvc.perform(signup("10.0.0.1", username)).andExpect(request().asyncStarted());
+		mockMvc.perform(signup("10.0.0.1", username))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "60"));
+
+		mockMvc.perform(signup("10.0.0.1", "other-" + username)).andExpect(request().asyncStarted());
+		mockMvc.perform(signup("10.0.0.1", "third-" + username)).andExpect(status().isTooManyRequests());
+		mockMvc.perform(signup("10.0.0.2", "third-" + username)).andExpect(request().asyncStarted());
+	}
+
+	@Test
+	void limitsUsernamesWhateverTheirCase() throws Exception {
+		String username = "cased-" + UUID.randomUUID();
+
+		mockMvc.perform(signup("10.0.0.4", username)).andExpect(request().asyncStarted());
+		mockMvc.perform(signup("10.0.0.4", username.toUpperCase())).andExpect(request().asyncStarted());
+		mockMvc.perform(signup("10.0.0.5", "Cased-" + username.substring(6))).andExpect(status().isTooManyRequests());
+	}
+
+	@Test
+	void doesNotLimitTheOtherEndpoints() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			mockMvc.perform(get("/api/titles").with(request -> {
+				request.setRemoteAddr("10.0.0.3");
+				return request;
+			})).andExpect(status().isOk());
+		}
+	}
+
+	private MockHttpServletRequestBuilder signup(String address, String username) {
+		return post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + username + "\",\"email\":\"" + UUID.randomUUID() + "@gmail.com\",\"password\":\"password\"}")
+				.with(request -> {
+					request.setRemoteAddr(address);
+					return request;
+				});
+	}
+}
@@ -0,0 +1,87 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import projet.ynov.dizifymusicapi.exceptions.ServiceBusyException;
+import projet.ynov.dizifymusicapi.services.PasswordHashingService;
+
+/**
+ * Passwords are hashed on the hashing executor, the responses are written once the hash is done.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthenticationControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@SpyBean
+	private PasswordHashingService passwordHashingService;
+
+	@Test
+	void signsUpAndSignsInAsynchronously() throws Exception {
+		String username = "auth-" + UUID.randomUUID();
+		String body = "{\"username\":\"" + username + "\",\"email\":\"" + username + "@gmail.com\",\"password\":\"password\"}";
+
+		MvcResult signup = mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(signup))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.username").value(username))
+				.andExpect(jsonPath("$.token").isString());
+
+		MvcResult signin = mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(signin))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.token").isString());
+	}
+
+	@Test
+	void rejectsWrongPasswords() throws Exception {
+		String username = "wrong-" + UUID.randomUUID();
+		MvcResult signup = mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + username + "\",\"email\":\"" + username + "@gmail.com\",\"password\":\"password\"}"))
+				.andReturn();
+		mockMvc.perform(asyncDispatch(signup)).andExpect(status().isOk());
+
+		MvcResult signin = mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + username + "\",\"password\":\"wrong\"}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(signin)).andExpect(status().isUnprocessableEntity());
+
+		mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"unknown-" + username + "\",\"password\":\"password\"}"))
+				.andExpect(status().isUnprocessableEntity());
+	}
+
+	@Test
+	void answersServiceUnavailableWhenHashingIsSaturated() throws Exception {
+		doThrow(new ServiceBusyException("busy", 2)).when(passwordHashingService).encode(any());
+
+		mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"busy\",\"email\":\"busy@gmail.com\",\"password\":\"password\"}"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string("Retry-After", "2"));
+	}
+}
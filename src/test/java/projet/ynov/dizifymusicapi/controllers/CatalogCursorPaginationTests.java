@@ -0,0 +1,101 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.params.AlbumParams;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogCursorPaginationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private AlbumRepository albumRepository;
+	@Autowired
+	private TitleRepository titleRepository;
+
+	@BeforeEach
+	void createCatalog() {
+		for (int i = 0; i < 8; i++) {
+			Artist artist = artistRepository.save(new Artist(new ArtistParams("artist-" + UUID.randomUUID(), "https://i.pravatar.cc/200", "description", new Date(), new Date())));
+			Album album = new Album(new AlbumParams("album-" + UUID.randomUUID(), "https://i.pravatar.cc/200", new Date(), new Date(), new Date()));
+			album.setAuthor(artist);
+			albumRepository.save(album);
+		}
+	}
+
+	@Test
+	void walksTitles() throws Exception {
+		assertWalksAll("/api/titles", titleRepository);
+	}
+
+	@Test
+	void walksAlbums() throws Exception {
+		assertWalksAll("/api/albums", albumRepository);
+	}
+
+	@Test
+	void walksArtists() throws Exception {
+		assertWalksAll("/api/artists", artistRepository);
+	}
+
+	@Test
+	void rejectsMalformedCursor() throws Exception {
+		mockMvc.perform(get("/api/titles").param("cursor", "not a cursor")).andExpect(status().isBadRequest());
+	}
+
+	private void assertWalksAll(String url, JpaRepository<?, Long> repository) throws Exception {
+		List<Long> ids = new ArrayList<Long>();
+		String cursor = null;
+
+		do {
+			JsonNode page = fetch(url, cursor);
+			for (JsonNode item : page.get("items")) {
+				ids.add(item.get("id").asLong());
+			}
+			cursor = page.get("next").isNull() ? null : page.get("next").asText();
+		} while (cursor != null);
+
+		for (int i = 1; i < ids.size(); i++) {
+			assertTrue(ids.get(i - 1) < ids.get(i), "Ids are not strictly increasing : " + ids);
+		}
+		assertEquals(repository.count(), ids.size());
+	}
+
+	private JsonNode fetch(String url, String cursor) throws Exception {
+		String body = mockMvc.perform(cursor == null ? get(url).param("limit", "3") : get(url).param("limit", "3").param("cursor", cursor))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+}
@@ -0,0 +1,95 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+import java.util.UUID;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class CatalogImportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private TitleRepository titleRepository;
+
+	@Test
+	void resolvesRefsAndReportsEachRow() throws Exception {
+		Artist existing = artistRepository.save(new Artist(new ArtistParams(unique("artist"), "https://i.pravatar.cc/200", "description", new Date(), new Date())));
+		String album = unique("album");
+		String title = unique("title");
+
+		String body = "{"
+				+ "\"artists\": [{\"ref\": \"a1\", \"name\": \"" + unique("artist") + "\"}, {\"ref\": \"a2\", \"name\": \"" + existing.getName() + "\"}],"
+				+ "\"albums\": [{\"ref\": \"b1\", \"name\": \"" + album + "\", \"publicationDate\": \"2020-01-01\", \"author_ref\": \"a1\"},"
+				+ " {\"ref\": \"b2\", \"name\": \"" + unique("album") + "\", \"publicationDate\": \"2020-01-01\", \"author_ref\": \"a2\"}],"
+				+ "\"titles\": [{\"name\": \"" + title + "\", \"duration\": \"00:03:30\", \"author_ref\": \"a1\", \"album_ref\": \"b1\"},"
+				+ " {\"name\": \"" + unique("title") + "\", \"duration\": \"00:03:30\", \"author_id\": " + existing.getId() + "},"
+				+ " {\"name\": \"" + title + "\", \"duration\": \"00:03:30\", \"author_ref\": \"a1\"},"
+				+ " {\"name\": \"" + unique("title") + "\", \"duration\": \"00:03:30\", \"author_ref\": \"a3\"}]"
+				+ "}";
+
+		mockMvc.perform(post("/api/catalog/import").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(4))
+				.andExpect(jsonPath("$.failed").value(4))
+				.andExpect(jsonPath("$.rows[1].error").value("Name already taken."))
+				.andExpect(jsonPath("$.rows[3].error").value("Artist a2 not imported"))
+				.andExpect(jsonPath("$.rows[6].error").value("Name already taken."))
+				.andExpect(jsonPath("$.rows[7].error").value("Unknown artist ref : a3"));
+
+		Title imported = titleRepository.findByName(title);
+		assertEquals(album, imported.getAlbum().getName());
+	}
+
+	@Test
+	void insertsInBatches() throws Exception {
+		StringBuilder body = new StringBuilder("{\"artists\": [{\"ref\": \"a\", \"name\": \"" + unique("artist") + "\"}], \"titles\": [");
+		for (int i = 0; i < 120; i++) {
+			body.append(i == 0 ? "" : ",").append("{\"name\": \"" + unique("title") + "\", \"duration\": \"00:03:30\", \"author_ref\": \"a\"}");
+		}
+		body.append("]}");
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(post("/api/catalog/import").contentType(MediaType.APPLICATION_JSON).content(body.toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(121));
+
+		assertEquals(121, statistics.getEntityInsertCount());
+		// The name lookups, a few sequence calls and 4 batches, instead of a statement per row
+		assertTrue(statistics.getPrepareStatementCount() < 20, statistics.getPrepareStatementCount() + " statements");
+	}
+
+	private String unique(String prefix) {
+		return prefix + "-" + UUID.randomUUID();
+	}
+}
@@ -0,0 +1,150 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Time;
+import java.util.Date;
+import java.util.UUID;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import projet.ynov.dizifymusicapi.TestUsers;
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Favorite;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.entity.params.AlbumParams;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.entity.params.FavoriteParams;
+import projet.ynov.dizifymusicapi.entity.params.TitleParams;
+import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.FavoriteRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.services.FavoritesIndex;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = CatalogListQueryCountTests.USERNAME, roles = "USER")
+class CatalogListQueryCountTests {
+
+	static final String USERNAME = "query-count-user";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private AlbumRepository albumRepository;
+	@Autowired
+	private TitleRepository titleRepository;
+	@Autowired
+	private FavoriteRepository favoriteRepository;
+	@Autowired
+	private FavoritesIndex favoritesIndex;
+
+	private User user;
+
+	@BeforeEach
+	void createUser() {
+		user = TestUsers.findOrCreate(userRepository, USERNAME);
+	}
+
+	@Test
+	void titlesListIssuesConstantStatements() throws Exception {
+		assertConstantStatements("/api/titles");
+	}
+
+	@Test
+	void albumsListIssuesConstantStatements() throws Exception {
+		assertConstantStatements("/api/albums");
+	}
+
+	@Test
+	void artistsListIssuesConstantStatements() throws Exception {
+		assertConstantStatements("/api/artists");
+	}
+
+	private void assertConstantStatements(String url) throws Exception {
+		seedCatalog(2);
+		long small = countStatements(url);
+
+		seedCatalog(10);
+		long large = countStatements(url);
+
+		assertEquals(small, large, "Statements issued by " + url + " depend on the catalog size");
+	}
+
+	private long countStatements(String url) throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		mockMvc.perform(get(url)).andExpect(status().isOk());
+
+		// Listings read projections, no catalog entity enters the persistence context
+		for (Class<?> entity : new Class<?>[] { Artist.class, Album.class, Title.class }) {
+			assertEquals(0, statistics.getEntityStatistics(entity.getName()).getLoadCount(), url + " loaded " + entity.getSimpleName() + " entities");
+		}
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	/**
+	 * Creates artists with 2 albums of 3 titles each, half of them being favorites of the user.
+	 */
+	private void seedCatalog(int artists) {
+		for (int i = 0; i < artists; i++) {
+			Artist artist = artistRepository.save(new Artist(new ArtistParams(unique("artist"), "https://i.pravatar.cc/200", "description", new Date(), new Date())));
+			favorite(i % 2 == 0, f -> f.setArtist(artist));
+
+			for (int j = 0; j < 2; j++) {
+				Album album = new Album(new AlbumParams(unique("album"), "https://i.pravatar.cc/200", new Date(), new Date(), new Date()));
+				album.setAuthor(artist);
+				Album albumCreated = albumRepository.save(album);
+				favorite(j % 2 == 0, f -> f.setAlbum(albumCreated));
+
+				for (int k = 0; k < 3; k++) {
+					Title title = new Title(new TitleParams(unique("title"), Time.valueOf("00:03:30"), new Date(), new Date()));
+					title.setAuthor(artist);
+					title.setAlbum(albumCreated);
+					Title titleCreated = titleRepository.save(title);
+					favorite(k % 2 == 0, f -> f.setTitle(titleCreated));
+				}
+			}
+		}
+		
+		// Favorites were saved behind the index's back, every measure starts with a load
+		favoritesIndex.invalidate(user.getId());
+	}
+
+	private void favorite(boolean create, java.util.function.Consumer<Favorite> target) {
+		if (create) {
+			Favorite favorite = new Favorite(new FavoriteParams(new Date(), new Date()));
+			favorite.setUser(user);
+			target.accept(favorite);
+			favoriteRepository.save(favorite);
+		}
+	}
+
+	private String unique(String prefix) {
+		return prefix + "-" + UUID.randomUUID();
+	}
+}
@@ -0,0 +1,107 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Time;
+import java.util.Date;
+import java.util.UUID;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import projet.ynov.dizifymusicapi.config.CatalogCacheConfig;
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.params.AlbumParams;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.entity.params.TitleParams;
+import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "cache-admin", roles = "ADMIN")
+class CatalogSecondLevelCacheTests {
+
+	private static final String ALBUM_TITLES = Album.class.getName() + ".titles";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private AlbumRepository albumRepository;
+	@Autowired
+	private TitleRepository titleRepository;
+
+	@Test
+	void titleDetailIsServedFromTheCache() throws Exception {
+		Album album = seedAlbum();
+		Title title = new Title(new TitleParams(unique("title"), Time.valueOf("00:03:30"), new Date(), new Date()));
+		title.setAuthor(album.getAuthor());
+		title.setAlbum(album);
+		long titleId = titleRepository.save(title).getId();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		mockMvc.perform(get("/api/titles/" + titleId)).andExpect(status().isOk());
+
+		statistics.clear();
+		mockMvc.perform(get("/api/titles/" + titleId)).andExpect(status().isOk());
+
+		assertEquals(0, statistics.getEntityStatistics(Title.class.getName()).getLoadCount(), "Title loaded from the database");
+		assertTrue(statistics.getDomainDataRegionStatistics(CatalogCacheConfig.TITLES).getHitCount() > 0);
+		assertTrue(meterRegistry.get("cache.gets").tag("cache", CatalogCacheConfig.TITLES).tag("result", "hit").functionCounter().count() > 0);
+	}
+
+	@Test
+	void createTitleEvictsTheAlbumTitles() throws Exception {
+		Album album = seedAlbum();
+		Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+
+		transactionTemplate.execute(status -> albumRepository.findById(album.getId()).get().getTitles().size());
+		assertTrue(cache.containsCollection(ALBUM_TITLES, album.getId()));
+
+		String body = "{\"name\": \"" + unique("title") + "\", \"duration\": \"00:03:30\", \"album_id\": " + album.getId() + ", \"author_id\": " + album.getAuthor().getId() + "}";
+		mockMvc.perform(post("/api/titles").contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isOk());
+
+		assertFalse(cache.containsCollection(ALBUM_TITLES, album.getId()));
+		int titles = transactionTemplate.execute(status -> albumRepository.findById(album.getId()).get().getTitles().size());
+		assertEquals(1, titles);
+	}
+
+	private Album seedAlbum() {
+		Artist artist = artistRepository.save(new Artist(new ArtistParams(unique("artist"), "https://i.pravatar.cc/200", "description", new Date(), new Date())));
+		Album album = new Album(new AlbumParams(unique("album"), "https://i.pravatar.cc/200", new Date(), new Date(), new Date()));
+		album.setAuthor(artist);
+		return albumRepository.save(album);
+	}
+
+	private String unique(String prefix) {
+		return prefix + "-" + UUID.randomUUID();
+	}
+}
@@ -0,0 +1,167 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.SQLException;
+import java.sql.Time;
+import java.util.Date;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import projet.ynov.dizifymusicapi.TestUsers;
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Playlist;
+import projet.ynov.dizifymusicapi.entity.PlaylistTitle;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.entity.params.AlbumParams;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.entity.params.PlaylistParams;
+import projet.ynov.dizifymusicapi.entity.params.TitleParams;
+import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.PlaylistRepository;
+import projet.ynov.dizifymusicapi.repositories.PlaylistTitleRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+
+/**
+ * With open-session-in-view off, a request holds a connection for its transactions only,
+ * none is checked out anymore while the response body is written.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = ConnectionHoldTests.USERNAME, roles = "USER")
+class ConnectionHoldTests {
+
+	static final String USERNAME = "connection-hold-user";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ActiveConnectionsProbe probe;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private AlbumRepository albumRepository;
+	@Autowired
+	private TitleRepository titleRepository;
+	@Autowired
+	private PlaylistRepository playlistRepository;
+	@Autowired
+	private PlaylistTitleRepository playlistTitleRepository;
+
+	private Artist artist;
+	private Album album;
+	private Title title;
+	private Playlist playlist;
+
+	@BeforeEach
+	void createCatalog() {
+		User user = TestUsers.findOrCreate(userRepository, USERNAME);
+
+		artist = artistRepository.save(new Artist(new ArtistParams(unique("artist"), "https://i.pravatar.cc/200", "description", new Date(), new Date())));
+		Album created = new Album(new AlbumParams(unique("album"), "https://i.pravatar.cc/200", new Date(), new Date(), new Date()));
+		created.setAuthor(artist);
+		album = albumRepository.save(created);
+
+		Title createdTitle = new Title(new TitleParams(unique("title"), Time.valueOf("00:03:30"), new Date(), new Date()));
+		createdTitle.setAuthor(artist);
+		createdTitle.setAlbum(album);
+		title = titleRepository.save(createdTitle);
+
+		Playlist createdPlaylist = new Playlist(new PlaylistParams(unique("playlist"), new Date(), new Date()));
+		createdPlaylist.setUser(user);
+		playlist = playlistRepository.save(createdPlaylist);
+		playlistTitleRepository.save(new PlaylistTitle(playlist, title, PlaylistTitle.POSITION_GAP));
+	}
+
+	@Test
+	void catalogResponsesAreWrittenWithoutConnection() throws Exception {
+		assertNoConnectionWhileWriting("/api/titles");
+		assertNoConnectionWhileWriting("/api/artists");
+		assertNoConnectionWhileWriting("/api/artists/" + artist.getId());
+		assertNoConnectionWhileWriting("/api/albums/" + album.getId());
+		assertNoConnectionWhileWriting("/api/titles/" + title.getId());
+	}
+
+	@Test
+	void userResponsesAreWrittenWithoutConnection() throws Exception {
+		assertNoConnectionWhileWriting("/api/playlists");
+		assertNoConnectionWhileWriting("/api/playlists/" + playlist.getId());
+		assertNoConnectionWhileWriting("/api/favorites");
+	}
+
+	private void assertNoConnectionWhileWriting(String url) throws Exception {
+		probe.activeConnections = -1;
+
+		mockMvc.perform(get(url)).andExpect(status().isOk());
+
+		assertEquals(0, probe.activeConnections, "Connections checked out while writing " + url);
+	}
+
+	private String unique(String prefix) {
+		return prefix + "-" + UUID.randomUUID();
+	}
+
+	@TestConfiguration
+	static class ProbeConfiguration {
+
+		@Bean
+		ActiveConnectionsProbe activeConnectionsProbe(DataSource dataSource) throws SQLException {
+			return new ActiveConnectionsProbe(dataSource.unwrap(HikariDataSource.class));
+		}
+	}
+
+	/**
+	 * Reads the active connections of the pool right before the body is written.
+	 */
+	@ControllerAdvice
+	static class ActiveConnectionsProbe implements ResponseBodyAdvice<Object> {
+
+		private final HikariDataSource dataSource;
+
+		volatile int activeConnections;
+
+		ActiveConnectionsProbe(HikariDataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+
+		@Override
+		public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+			return true;
+		}
+
+		@Override
+		public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+				Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
+			activeConnections = dataSource.getHikariPoolMXBean().getActiveConnections();
+			return body;
+		}
+	}
+}
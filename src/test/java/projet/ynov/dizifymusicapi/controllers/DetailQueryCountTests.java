@@ -0,0 +1,134 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import projet.ynov.dizifymusicapi.TestUsers;
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Playlist;
+import projet.ynov.dizifymusicapi.entity.PlaylistTitle;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.entity.params.AlbumParams;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.entity.params.PlaylistParams;
+import projet.ynov.dizifymusicapi.entity.params.TitleParams;
+import projet.ynov.dizifymusicapi.repositories.AlbumRepository;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.PlaylistRepository;
+import projet.ynov.dizifymusicapi.repositories.PlaylistTitleRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.services.FavoritesIndex;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = DetailQueryCountTests.USERNAME, roles = "USER")
+class DetailQueryCountTests {
+
+	static final String USERNAME = "detail-user";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private FavoritesIndex favoritesIndex;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private AlbumRepository albumRepository;
+	@Autowired
+	private TitleRepository titleRepository;
+	@Autowired
+	private PlaylistRepository playlistRepository;
+	@Autowired
+	private PlaylistTitleRepository playlistTitleRepository;
+
+	private User user;
+	private Artist artist;
+	private Album album;
+	private Playlist playlist;
+
+	@BeforeEach
+	void createCatalog() {
+		user = TestUsers.findOrCreate(userRepository, USERNAME);
+
+		artist = artistRepository.save(new Artist(new ArtistParams(unique("artist"), "https://i.pravatar.cc/200", "description", new Date(), new Date())));
+		List<Title> titles = new ArrayList<Title>();
+		for (int j = 0; j < 3; j++) {
+			Album created = new Album(new AlbumParams(unique("album"), "https://i.pravatar.cc/200", new Date(), new Date(), new Date()));
+			created.setAuthor(artist);
+			album = albumRepository.save(created);
+
+			for (int k = 0; k < 4; k++) {
+				Title title = new Title(new TitleParams(unique("title"), Time.valueOf("00:03:30"), new Date(), new Date()));
+				title.setAuthor(artist);
+				title.setAlbum(album);
+				titles.add(titleRepository.save(title));
+			}
+		}
+
+		Playlist created = new Playlist(new PlaylistParams(unique("playlist"), new Date(), new Date()));
+		created.setUser(user);
+		playlist = playlistRepository.save(created);
+		for (int i = 0; i < titles.size(); i++) {
+			playlistTitleRepository.save(new PlaylistTitle(playlist, titles.get(i), (i + 1) * PlaylistTitle.POSITION_GAP));
+		}
+
+		favoritesIndex.invalidate(user.getId());
+	}
+
+	@Test
+	void albumDetail() throws Exception {
+		// user, album with author and titles, favorites index load
+		assertEquals(3, countStatements("/api/albums/" + album.getId()));
+	}
+
+	@Test
+	void artistDetail() throws Exception {
+		// user, artist with titles, artist albums, favorites index load
+		assertEquals(4, countStatements("/api/artists/" + artist.getId()));
+	}
+
+	@Test
+	void playlistDetail() throws Exception {
+		// user, playlist with titles and their authors and albums
+		assertEquals(2, countStatements("/api/playlists/" + playlist.getId()));
+	}
+
+	private long countStatements(String url) throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		mockMvc.perform(get(url)).andExpect(status().isOk());
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private String unique(String prefix) {
+		return prefix + "-" + UUID.randomUUID();
+	}
+}
@@ -0,0 +1,100 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import projet.ynov.dizifymusicapi.TestUsers;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Favorite;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.entity.params.FavoriteParams;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.FavoriteRepository;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = FavoriteSeekPaginationTests.USERNAME, roles = "USER")
+class FavoriteSeekPaginationTests {
+
+	static final String USERNAME = "seek-user";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private FavoriteRepository favoriteRepository;
+
+	private List<Long> expectedIds = new ArrayList<Long>();
+
+	@BeforeEach
+	void createFavorites() {
+		User user = userRepository.findByUsername(USERNAME);
+		if (user != null) {
+			return;
+		}
+		user = TestUsers.create(userRepository, USERNAME);
+
+		// Groups of favorites sharing the same creation date, the id breaks the tie
+		long now = 1600000000000L;
+		List<Favorite> favorites = new ArrayList<Favorite>();
+		for (int i = 0; i < 11; i++) {
+			Date createdAt = new Date(now + (i / 4) * 1000L);
+			Artist artist = artistRepository.save(new Artist(new ArtistParams("seek-" + UUID.randomUUID(), "https://i.pravatar.cc/200", "description", createdAt, createdAt)));
+			Favorite favorite = new Favorite(new FavoriteParams(createdAt, createdAt));
+			favorite.setUser(user);
+			favorite.setArtist(artist);
+			favorites.add(favoriteRepository.save(favorite));
+		}
+
+		for (int i = favorites.size() - 1; i >= 0; i--) {
+			expectedIds.add(favorites.get(i).getId());
+		}
+	}
+
+	@Test
+	void walksFavoritesNewestFirst() throws Exception {
+		List<Long> ids = new ArrayList<Long>();
+		String cursor = null;
+
+		do {
+			JsonNode page = fetch(cursor);
+			for (JsonNode item : page.get("items")) {
+				ids.add(item.get("id").asLong());
+			}
+			cursor = page.get("next").isNull() ? null : page.get("next").asText();
+		} while (cursor != null);
+
+		assertEquals(expectedIds, ids);
+	}
+
+	private JsonNode fetch(String cursor) throws Exception {
+		String body = mockMvc.perform(cursor == null ? get("/api/favorites").param("limit", "3") : get("/api/favorites").param("limit", "3").param("cursor", cursor))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+}
@@ -0,0 +1,321 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import projet.ynov.dizifymusicapi.TestUsers;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Playlist;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.entity.params.PlaylistParams;
+import projet.ynov.dizifymusicapi.entity.params.TitleParams;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.PlaylistRepository;
+import projet.ynov.dizifymusicapi.repositories.TitleRepository;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.services.CatalogWriteService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = PlaylistTitlesTests.USERNAME, roles = "USER")
+class PlaylistTitlesTests {
+
+	static final String USERNAME = "playlist-titles-user";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private TitleRepository titleRepository;
+	@Autowired
+	private PlaylistRepository playlistRepository;
+	@Autowired
+	private CatalogWriteService catalogWriteService;
+
+	private List<Long> titleIds;
+	private long playlistId;
+
+	@BeforeEach
+	void createPlaylist() throws Exception {
+		User user = TestUsers.findOrCreate(userRepository, USERNAME);
+
+		Artist artist = artistRepository.save(new Artist(new ArtistParams(unique("artist"), "https://i.pravatar.cc/200", "description", new Date(), new Date())));
+		titleIds = new ArrayList<Long>();
+		for (int i = 0; i < 25; i++) {
+			Title title = new Title(new TitleParams(unique("title"), Time.valueOf("00:03:30"), new Date(), new Date()));
+			title.setAuthor(artist);
+			titleIds.add(titleRepository.save(title).getId());
+		}
+
+		Playlist playlist = new Playlist(new PlaylistParams(unique("playlist"), new Date(), new Date()));
+		playlist.setUser(user);
+		playlistId = playlistRepository.save(playlist).getId();
+
+		// The first 20 titles, in reverse order
+		List<Long> ids = new ArrayList<Long>(titleIds.subList(0, 20));
+		Collections.reverse(ids);
+		update(ids);
+		assertEquals(ids, playlistTitleIds());
+	}
+
+	@Test
+	void addMoveAndRemoveWriteOneRow() throws Exception {
+		List<Long> expected = playlistTitleIds();
+		Statistics statistics = statistics();
+
+		mockMvc.perform(post("/api/playlists/" + playlistId + "/titles").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title_id\": " + titleIds.get(20) + ", \"before_title_id\": " + expected.get(2) + "}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(titleIds.get(20)));
+		// The title row, and the totals of the playlist
+		assertWrites(statistics, 1, 1, 0);
+		expected.add(2, titleIds.get(20));
+
+		mockMvc.perform(put("/api/playlists/" + playlistId + "/titles/" + expected.get(10)).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"before_title_id\": " + expected.get(0) + "}"))
+				.andExpect(status().isOk());
+		assertWrites(statistics, 0, 1, 0);
+		expected.add(0, expected.remove(10));
+
+		mockMvc.perform(put("/api/playlists/" + playlistId + "/titles/" + expected.get(0)).contentType(MediaType.APPLICATION_JSON)
+				.content("{}"))
+				.andExpect(status().isOk());
+		assertWrites(statistics, 0, 1, 0);
+		expected.add(expected.remove(0));
+
+		mockMvc.perform(delete("/api/playlists/" + playlistId + "/titles/" + expected.get(5)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.deleted").value(true));
+		assertWrites(statistics, 0, 1, 1);
+		expected.remove(5);
+
+		assertEquals(expected, playlistTitleIds());
+
+		mockMvc.perform(post("/api/playlists/" + playlistId + "/titles").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title_id\": " + expected.get(0) + "}"))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void updateWritesOnlyTheChangedTitles() throws Exception {
+		List<Long> ids = playlistTitleIds();
+		ids.remove(3);
+		ids.add(titleIds.get(21));
+		ids.add(titleIds.get(22));
+		Statistics statistics = statistics();
+
+		update(ids);
+
+		assertWrites(statistics, 2, 1, 1);
+		assertEquals(ids, playlistTitleIds());
+	}
+
+	@Test
+	void positionsAreSpreadWhenExhausted() throws Exception {
+		List<Long> expected = playlistTitleIds();
+
+		// Each move halves the room left before the second title
+		for (int i = 0; i < 40; i++) {
+			long moved = expected.get(expected.size() - 1);
+			mockMvc.perform(put("/api/playlists/" + playlistId + "/titles/" + moved).contentType(MediaType.APPLICATION_JSON)
+					.content("{\"before_title_id\": " + expected.get(1) + "}"))
+					.andExpect(status().isOk());
+			expected.add(1, expected.remove(expected.size() - 1));
+		}
+
+		assertEquals(expected, playlistTitleIds());
+	}
+
+	@Test
+	void pagesGoOnAfterThePositionsAreSpread() throws Exception {
+		JsonNode first = titlesPage(null);
+		long last = first.get("items").get(6).get("id").asLong();
+
+		// Titles moved before the page end, the positions are spread again meanwhile
+		List<Long> expected = playlistTitleIds();
+		for (int i = 0; i < 40; i++) {
+			long moved = expected.get(expected.size() - 1);
+			mockMvc.perform(put("/api/playlists/" + playlistId + "/titles/" + moved).contentType(MediaType.APPLICATION_JSON)
+					.content("{\"before_title_id\": " + expected.get(1) + "}"))
+					.andExpect(status().isOk());
+			expected.add(1, expected.remove(expected.size() - 1));
+		}
+
+		assertEquals(expected.subList(expected.indexOf(last) + 1, expected.size()), playlistTitleIds(first.get("next").asText()));
+	}
+
+	@Test
+	void listHasTheTitlesCountAndDuration() throws Exception {
+		Playlist empty = new Playlist(new PlaylistParams(unique("playlist"), new Date(), new Date()));
+		empty.setUser(userRepository.findByUsername(USERNAME));
+		long emptyId = playlistRepository.save(empty).getId();
+
+		// 20 titles of 3 minutes 30
+		assertTotals(20, 20 * 210);
+		JsonNode playlists = objectMapper.readTree(mockMvc.perform(get("/api/playlists")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+		for (JsonNode playlist : playlists) {
+			if (playlist.get("id").asLong() == emptyId) {
+				assertEquals(0, playlist.get("trackCount").asLong());
+				assertEquals(0, playlist.get("totalDurationSeconds").asLong());
+			}
+			assertFalse(playlist.has("titles"));
+		}
+
+		mockMvc.perform(post("/api/playlists/" + playlistId + "/titles").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title_id\": " + titleIds.get(20) + "}"))
+				.andExpect(status().isOk());
+		mockMvc.perform(delete("/api/playlists/" + playlistId + "/titles/" + titleIds.get(0)))
+				.andExpect(status().isOk());
+		assertTotals(20, 20 * 210);
+
+		update(titleIds.subList(0, 5));
+		assertTotals(5, 5 * 210);
+	}
+
+	@Test
+	void totalsFollowTheCatalogAndAreRepaired() throws Exception {
+		mockMvc.perform(put("/api/titles/" + titleIds.get(0)).with(user("admin").roles("ADMIN")).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"duration\": \"00:05:00\"}"))
+				.andExpect(status().isOk());
+		assertTotals(20, 19 * 210 + 300);
+
+		mockMvc.perform(delete("/api/titles/" + titleIds.get(1)).with(user("admin").roles("ADMIN")))
+				.andExpect(status().isOk());
+		assertTotals(19, 18 * 210 + 300);
+
+		Playlist playlist = playlistRepository.findById(playlistId).get();
+		playlist.setTrackCount(0);
+		playlist.setTotalDurationSeconds(0);
+		playlistRepository.save(playlist);
+
+		mockMvc.perform(post("/api/playlists/totals/repair").with(user("admin").roles("ADMIN")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.repaired").isNumber());
+		assertTotals(19, 18 * 210 + 300);
+	}
+
+	@Test
+	void concurrentDurationUpdatesAreCountedOnce() throws Exception {
+		TitleParams details = new TitleParams(null, Time.valueOf("00:05:00"), null, null);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Title>> updates = new ArrayList<Future<Title>>();
+			for (int i = 0; i < 4; i++) {
+				updates.add(executor.submit(() -> {
+					start.await();
+					return catalogWriteService.updateTitle(titleIds.get(0), details);
+				}));
+			}
+			start.countDown();
+			for (Future<Title> update : updates) {
+				update.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// Only the first update changes the duration
+		assertTotals(20, 19 * 210 + 300);
+	}
+
+	private void assertTotals(long trackCount, long totalDurationSeconds) throws Exception {
+		mockMvc.perform(get("/api/playlists/" + playlistId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trackCount").value(trackCount))
+				.andExpect(jsonPath("$.totalDurationSeconds").value(totalDurationSeconds));
+	}
+
+	private void update(List<Long> ids) throws Exception {
+		mockMvc.perform(put("/api/playlists/" + playlistId).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title_ids\": " + objectMapper.writeValueAsString(ids) + "}"))
+				.andExpect(status().isOk());
+	}
+
+	/**
+	 * The titles of the playlist, read page by page.
+	 */
+	private List<Long> playlistTitleIds() throws Exception {
+		return playlistTitleIds(null);
+	}
+
+	/**
+	 * The titles of the playlist after a cursor, read page by page.
+	 */
+	private List<Long> playlistTitleIds(String cursor) throws Exception {
+		List<Long> ids = new ArrayList<Long>();
+		do {
+			JsonNode page = titlesPage(cursor);
+			for (JsonNode title : page.get("items")) {
+				ids.add(title.get("id").asLong());
+			}
+			cursor = page.get("next").isNull() ? null : page.get("next").asText();
+		} while (cursor != null);
+		return ids;
+	}
+
+	private JsonNode titlesPage(String cursor) throws Exception {
+		String url = "/api/playlists/" + playlistId + "/titles?limit=7" + (cursor == null ? "" : "&cursor=" + cursor);
+		return objectMapper.readTree(mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+	}
+
+	private Statistics statistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+
+	private static void assertWrites(Statistics statistics, long inserts, long updates, long deletes) {
+		assertEquals(Arrays.asList(inserts, updates, deletes),
+				Arrays.asList(statistics.getEntityInsertCount(), statistics.getEntityUpdateCount(), statistics.getEntityDeleteCount()));
+		statistics.clear();
+	}
+
+	private String unique(String prefix) {
+		return prefix + "-" + UUID.randomUUID();
+	}
+}
@@ -0,0 +1,95 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import projet.ynov.dizifymusicapi.TestUsers;
+import projet.ynov.dizifymusicapi.entity.Admin;
+import projet.ynov.dizifymusicapi.entity.RevokedToken;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.enums.Role;
+import projet.ynov.dizifymusicapi.repositories.AdminRepository;
+import projet.ynov.dizifymusicapi.repositories.RevokedTokenRepository;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.security.JwtClaims;
+import projet.ynov.dizifymusicapi.security.JwtTokenProvider;
+import projet.ynov.dizifymusicapi.security.RevokedTokens;
+
+/**
+ * Logged out and revoked tokens are rejected, even once verified.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenRevocationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private AdminRepository adminRepository;
+	@Autowired
+	private RevokedTokenRepository revokedTokenRepository;
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+	@Autowired
+	private RevokedTokens revokedTokens;
+
+	private String token;
+
+	@BeforeEach
+	void createUser() {
+		User user = TestUsers.create(userRepository, "revoked-" + UUID.randomUUID());
+		token = jwtTokenProvider.createToken(user.getId(), user.getUsername(), Role.ROLE_USER);
+	}
+
+	@Test
+	void rejectsLoggedOutTokens() throws Exception {
+		mockMvc.perform(get("/api/playlists").header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+
+		mockMvc.perform(post("/api/logout").header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+
+		assertEquals(true, revokedTokenRepository.existsById(jwtTokenProvider.parseToken(token).getTokenId()));
+		mockMvc.perform(get("/api/playlists").header("Authorization", "Bearer " + token)).andExpect(status().isInternalServerError());
+	}
+
+	@Test
+	void adminsRevokeTokens() throws Exception {
+		Admin admin = adminRepository.save(new Admin(TestUsers.params("revoking-" + UUID.randomUUID())));
+		String adminToken = jwtTokenProvider.createToken(admin.getId(), admin.getUsername(), Role.ROLE_ADMIN);
+
+		mockMvc.perform(post("/api/tokens/revoke").header("Authorization", "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON).content("{\"token\":\"" + token + "\"}"))
+				.andExpect(status().is4xxClientError());
+		mockMvc.perform(post("/api/tokens/revoke").header("Authorization", "Bearer " + adminToken)
+				.contentType(MediaType.APPLICATION_JSON).content("{\"token\":\"" + token + "\"}"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/playlists").header("Authorization", "Bearer " + token)).andExpect(status().isInternalServerError());
+	}
+
+	@Test
+	void rejectsTokensRevokedByAnotherInstance() throws Exception {
+		mockMvc.perform(get("/api/playlists").header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+
+		// Saved by another instance, its filter and token cache are not this one's
+		JwtClaims claims = jwtTokenProvider.parseToken(token);
+		revokedTokenRepository.save(new RevokedToken(claims.getTokenId(), new Date(claims.getExpiresAt())));
+
+		revokedTokens.poll();
+		mockMvc.perform(get("/api/playlists").header("Authorization", "Bearer " + token)).andExpect(status().isInternalServerError());
+	}
+}
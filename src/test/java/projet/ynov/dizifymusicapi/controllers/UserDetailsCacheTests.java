@@ -0,0 +1,116 @@
+package projet.ynov.dizifymusicapi.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.CachingUserDetailsService;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import projet.ynov.dizifymusicapi.TestUsers;
+import projet.ynov.dizifymusicapi.config.UserDetailsCacheConfig;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.enums.Role;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+import projet.ynov.dizifymusicapi.security.JwtTokenProvider;
+
+/**
+ * The users are loaded once to authenticate their tokens, and evicted when their account changes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class UserDetailsCacheTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private CachingUserDetailsService cachingUserDetails;
+	@Autowired
+	@Qualifier(UserDetailsCacheConfig.USER_DETAILS_CACHE)
+	private UserCache userDetailsCache;
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+
+	private User user;
+
+	@BeforeEach
+	void createUser() {
+		user = TestUsers.create(userRepository, "cached-" + UUID.randomUUID());
+	}
+
+	@Test
+	void loadsTheUserOnce() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		cachingUserDetails.loadUserByUsername(user.getUsername());
+		cachingUserDetails.loadUserByUsername(user.getUsername());
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void evictsUpdatedUsers() throws Exception {
+		cachingUserDetails.loadUserByUsername(user.getUsername());
+		assertNotNull(userDetailsCache.getUserFromCache(user.getUsername()));
+
+		mockMvc.perform(put("/api/users/" + user.getId()).contentType(MediaType.APPLICATION_JSON).content("{\"username\":\"renamed-" + UUID.randomUUID() + "\"}"))
+				.andExpect(status().isOk());
+
+		assertNull(userDetailsCache.getUserFromCache(user.getUsername()));
+	}
+
+	@Test
+	void evictsDeletedUsers() throws Exception {
+		cachingUserDetails.loadUserByUsername(user.getUsername());
+
+		mockMvc.perform(delete("/api/users/" + user.getId())).andExpect(status().isOk());
+
+		assertNull(userDetailsCache.getUserFromCache(user.getUsername()));
+	}
+
+	@Test
+	void rejectsTheVerifiedTokensOfDeletedUsers() throws Exception {
+		String token = jwtTokenProvider.createToken(user.getId(), user.getUsername(), Role.ROLE_USER);
+		mockMvc.perform(get("/api/playlists").header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+
+		mockMvc.perform(delete("/api/users/" + user.getId())).andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/playlists").header("Authorization", "Bearer " + token)).andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void rejectsTheVerifiedTokensOfRenamedUsers() throws Exception {
+		String token = jwtTokenProvider.createToken(user.getId(), user.getUsername(), Role.ROLE_USER);
+		mockMvc.perform(get("/api/playlists").header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+
+		mockMvc.perform(put("/api/users/" + user.getId()).contentType(MediaType.APPLICATION_JSON).content("{\"username\":\"renamed-" + UUID.randomUUID() + "\"}"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/playlists").header("Authorization", "Bearer " + token)).andExpect(status().isUnauthorized());
+	}
+}
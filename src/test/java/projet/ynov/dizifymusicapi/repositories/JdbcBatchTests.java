@@ -0,0 +1,48 @@
+package projet.ynov.dizifymusicapi.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+
+/**
+ * The ids are allocated by blocks, so the inserts of a transaction are sent as one batch.
+ */
+@SpringBootTest
+class JdbcBatchTests {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private ArtistRepository artistRepository;
+
+	@Test
+	void insertsInBatches() {
+		List<Artist> artists = new ArrayList<Artist>();
+		for (int i = 0; i < 20; i++) {
+			artists.add(new Artist(new ArtistParams("batch-" + UUID.randomUUID(), "https://i.pravatar.cc/200", "description", new Date(), new Date())));
+		}
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		artistRepository.saveAll(artists);
+
+		assertEquals(20, statistics.getEntityInsertCount());
+		// The insert, and at most one sequence call
+		assertTrue(statistics.getPrepareStatementCount() <= 2, statistics.getPrepareStatementCount() + " statements");
+	}
+}
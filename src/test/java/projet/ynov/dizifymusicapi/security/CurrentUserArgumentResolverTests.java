@@ -0,0 +1,104 @@
+package projet.ynov.dizifymusicapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.enums.Role;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+
+class CurrentUserArgumentResolverTests {
+
+	private CurrentUserArgumentResolver resolver;
+	private UserRepository userRepository;
+	private NativeWebRequest request;
+
+	@BeforeEach
+	void createResolver() {
+		userRepository = mock(UserRepository.class);
+		resolver = new CurrentUserArgumentResolver();
+		ReflectionTestUtils.setField(resolver, "userRepository", userRepository);
+		request = new ServletWebRequest(new MockHttpServletRequest());
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void loadsTheUserOncePerRequest() {
+		User user = new User();
+		when(userRepository.findByUsername("user")).thenReturn(user);
+		authenticate(org.springframework.security.core.userdetails.User.withUsername("user").password("").roles("USER").build());
+
+		assertSame(user, resolve());
+		assertSame(user, resolve());
+		verify(userRepository, times(1)).findByUsername("user");
+
+		// Null is kept as well
+		request = new ServletWebRequest(new MockHttpServletRequest());
+		when(userRepository.findByUsername("user")).thenReturn(null);
+		assertNull(resolve());
+		assertNull(resolve());
+		verify(userRepository, times(2)).findByUsername("user");
+	}
+
+	@Test
+	void loadsTheStatelessPrincipalById() {
+		User user = new User();
+		when(userRepository.findById(3L)).thenReturn(Optional.of(user));
+		authenticate(new JwtPrincipal(3L, "user", Role.ROLE_USER));
+
+		assertSame(user, resolve());
+		verify(userRepository).findById(3L);
+	}
+
+	@Test
+	void resolvesAnonymousRequestsAndAdminsWithoutQuery() {
+		assertNull(resolve());
+
+		request = new ServletWebRequest(new MockHttpServletRequest());
+		SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+				AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+		assertNull(resolve());
+
+		request = new ServletWebRequest(new MockHttpServletRequest());
+		authenticate(org.springframework.security.core.userdetails.User.withUsername("admin").password("").roles("ADMIN").build());
+		assertNull(resolve());
+
+		request = new ServletWebRequest(new MockHttpServletRequest());
+		authenticate(new JwtPrincipal(1L, "admin", Role.ROLE_ADMIN));
+		assertNull(resolve());
+
+		verifyNoInteractions(userRepository);
+	}
+
+	private void authenticate(UserDetails principal) {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities()));
+	}
+
+	private Object resolve() {
+		return resolver.resolveArgument(null, null, request, null);
+	}
+}
@@ -0,0 +1,113 @@
+package projet.ynov.dizifymusicapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Base64;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.CachingUserDetailsService;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import projet.ynov.dizifymusicapi.enums.Role;
+import projet.ynov.dizifymusicapi.exceptions.CustomException;
+
+class JwtTokenProviderTests {
+
+	private JwtTokenProvider jwtTokenProvider;
+	private CachingUserDetailsService cachingUserDetails;
+	private CachingUserDetailsService cachingAdminDetails;
+
+	@BeforeEach
+	void createProvider() {
+		jwtTokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", "secret-key");
+		ReflectionTestUtils.setField(jwtTokenProvider, "validityInMilliseconds", 3600000L);
+		cachingUserDetails = mock(CachingUserDetailsService.class);
+		cachingAdminDetails = mock(CachingUserDetailsService.class);
+		ReflectionTestUtils.setField(jwtTokenProvider, "cachingUserDetails", cachingUserDetails);
+		ReflectionTestUtils.setField(jwtTokenProvider, "cachingAdminDetails", cachingAdminDetails);
+		jwtTokenProvider.init();
+	}
+
+	@Test
+	void parsesTheClaimsOfCreatedTokens() {
+		long before = System.currentTimeMillis() / 1000 * 1000;
+		JwtClaims claims = jwtTokenProvider.parseToken(jwtTokenProvider.createToken(2L, "admin", Role.ROLE_ADMIN));
+
+		assertEquals(2L, claims.getUserId());
+		assertEquals("admin", claims.getUsername());
+		assertEquals(Role.ROLE_ADMIN, claims.getRole());
+		assertTrue(claims.getIssuedAt() >= before);
+		assertEquals(claims.getIssuedAt() + 3600000L, claims.getExpiresAt());
+	}
+
+	@Test
+	void rejectsTamperedTokens() {
+		String token = jwtTokenProvider.createToken(1L, "user", Role.ROLE_USER);
+		String admin = jwtTokenProvider.createToken(1L, "user", Role.ROLE_ADMIN);
+		// The claims of the admin token with the signature of the user token
+		String tampered = admin.substring(0, admin.lastIndexOf('.')) + token.substring(token.lastIndexOf('.'));
+
+		assertThrows(CustomException.class, () -> jwtTokenProvider.parseToken(tampered));
+		assertThrows(CustomException.class, () -> jwtTokenProvider.parseToken("not a token"));
+	}
+
+	@Test
+	void rejectsExpiredTokensAndTokensWithoutRole() {
+		String key = Base64.getEncoder().encodeToString("secret-key".getBytes());
+		String expired = Jwts.builder().setSubject("user").claim("role", new SimpleGrantedAuthority("ROLE_USER"))
+				.setExpiration(new Date(System.currentTimeMillis() - 1000)).signWith(SignatureAlgorithm.HS256, key).compact();
+		String withoutRole = Jwts.builder().setSubject("user")
+				.setExpiration(new Date(System.currentTimeMillis() + 60000)).signWith(SignatureAlgorithm.HS256, key).compact();
+
+		assertThrows(CustomException.class, () -> jwtTokenProvider.parseToken(expired));
+		assertThrows(CustomException.class, () -> jwtTokenProvider.parseToken(withoutRole));
+	}
+
+	@Test
+	void buildsTheStatelessPrincipalFromTheClaims() {
+		ReflectionTestUtils.setField(jwtTokenProvider, "statelessPrincipal", true);
+		JwtClaims claims = jwtTokenProvider.parseToken(jwtTokenProvider.createToken(2L, "admin", Role.ROLE_ADMIN));
+
+		UsernamePasswordAuthenticationToken authentication = jwtTokenProvider.getAuthentication(claims);
+
+		JwtPrincipal principal = (JwtPrincipal) authentication.getPrincipal();
+		assertEquals(2L, principal.getId());
+		assertEquals("admin", principal.getUsername());
+		assertEquals(AuthorityUtils.createAuthorityList("ROLE_ADMIN"), authentication.getAuthorities());
+		assertSame(claims, authentication.getDetails());
+		verifyNoInteractions(cachingUserDetails, cachingAdminDetails);
+	}
+
+	@Test
+	void loadsTheUserOfTokensWithoutUserId() {
+		ReflectionTestUtils.setField(jwtTokenProvider, "statelessPrincipal", true);
+		String key = Base64.getEncoder().encodeToString("secret-key".getBytes());
+		String legacy = Jwts.builder().setSubject("user").claim("role", new SimpleGrantedAuthority("ROLE_USER"))
+				.setExpiration(new Date(System.currentTimeMillis() + 60000)).signWith(SignatureAlgorithm.HS256, key).compact();
+		when(cachingUserDetails.loadUserByUsername("user")).thenReturn(org.springframework.security.core.userdetails.User
+				.withUsername("user").password("").authorities("ROLE_USER").build());
+
+		JwtClaims claims = jwtTokenProvider.parseToken(legacy);
+		UsernamePasswordAuthenticationToken authentication = jwtTokenProvider.getAuthentication(claims);
+
+		assertEquals(0L, claims.getUserId());
+		assertEquals("user", ((UserDetails) authentication.getPrincipal()).getUsername());
+		verify(cachingUserDetails).loadUserByUsername("user");
+	}
+}
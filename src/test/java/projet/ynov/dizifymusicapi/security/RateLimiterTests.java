@@ -0,0 +1,52 @@
+package projet.ynov.dizifymusicapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTests {
+
+	private final AtomicLong nanos = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+	// 3 at once, then one every 10 seconds
+	private final RateLimiter limiter = new RateLimiter(3, 6, nanos::get);
+
+	@Test
+	void allowsTheCapacityThenTheRate() {
+		assertEquals(0, limiter.tryAcquire("key"));
+		assertEquals(0, limiter.tryAcquire("key"));
+		assertEquals(0, limiter.tryAcquire("key"));
+		assertEquals(TimeUnit.SECONDS.toNanos(10), limiter.tryAcquire("key"));
+		assertEquals(0, limiter.tryAcquire("other key"));
+
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(4));
+		assertEquals(TimeUnit.SECONDS.toNanos(6), limiter.tryAcquire("key"));
+
+		// Rejected requests do not take tokens
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+		assertEquals(0, limiter.tryAcquire("key"));
+		assertTrue(limiter.tryAcquire("key") > 0);
+	}
+
+	@Test
+	void dropsTheBucketsFullAgain() {
+		limiter.tryAcquire("key");
+		limiter.tryAcquire("other key");
+		limiter.tryAcquire("other key");
+		limiter.tryAcquire("other key");
+		assertEquals(2, limiter.size());
+
+		// The sweep runs every 30 seconds, the time to fill a bucket
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(20));
+		limiter.tryAcquire("third key");
+		assertEquals(3, limiter.size());
+
+		// Every bucket is full again, the third one is taken from after the sweep
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+		limiter.tryAcquire("third key");
+		assertEquals(1, limiter.size());
+	}
+}
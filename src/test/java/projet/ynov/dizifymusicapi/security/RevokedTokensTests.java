@@ -0,0 +1,98 @@
+package projet.ynov.dizifymusicapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import projet.ynov.dizifymusicapi.entity.RevokedToken;
+import projet.ynov.dizifymusicapi.enums.Role;
+import projet.ynov.dizifymusicapi.repositories.RevokedTokenRepository;
+
+class RevokedTokensTests {
+
+	private RevokedTokenRepository revokedTokenRepository;
+	private VerifiedTokenCache verifiedTokenCache;
+	private RevokedTokens revokedTokens;
+
+	@BeforeEach
+	void createRevokedTokens() {
+		revokedTokenRepository = mock(RevokedTokenRepository.class);
+		verifiedTokenCache = mock(VerifiedTokenCache.class);
+		when(revokedTokenRepository.findTokenIdsNotExpired(any())).thenReturn(Collections.singletonList("restored"));
+		revokedTokens = new RevokedTokens(revokedTokenRepository, verifiedTokenCache, new SimpleMeterRegistry(), 1000);
+		revokedTokens.load();
+	}
+
+	@Test
+	void revokesTokensAndEvictsThem() {
+		JwtClaims claims = claims("revoked");
+		when(revokedTokenRepository.existsById("revoked")).thenReturn(true);
+
+		revokedTokens.revoke("token", claims);
+
+		assertTrue(revokedTokens.isRevoked(claims));
+		verify(verifiedTokenCache).invalidate("token");
+	}
+
+	@Test
+	void restoresTheRevokedTokens() {
+		when(revokedTokenRepository.existsById("restored")).thenReturn(true);
+
+		assertTrue(revokedTokens.isRevoked(claims("restored")));
+	}
+
+	@Test
+	void looksUpOnlyTheFilterPositives() {
+		// 1% of false positives expected, at most a few of the 100 tokens not revoked are looked up
+		for (int i = 0; i < 100; i++) {
+			assertFalse(revokedTokens.isRevoked(claims(UUID.randomUUID().toString())));
+		}
+		assertFalse(revokedTokens.isRevoked(claims(null)));
+
+		verify(revokedTokenRepository, atMost(5)).existsById(anyString());
+		verify(revokedTokenRepository, never()).existsById(null);
+	}
+
+	@Test
+	void pollsTheRevocationsOfTheOtherInstances() {
+		when(revokedTokenRepository.existsById("remote")).thenReturn(true);
+		assertFalse(revokedTokens.isRevoked(claims("remote")));
+
+		when(revokedTokenRepository.findRevokedAfter(any(), any()))
+				.thenReturn(Collections.singletonList(new RevokedToken("remote", new Date(System.currentTimeMillis() + 3600000L))));
+		revokedTokens.poll();
+
+		assertTrue(revokedTokens.isRevoked(claims("remote")));
+	}
+
+	@Test
+	void purgesTheExpiredTokensFromTheFilter() {
+		when(revokedTokenRepository.findTokenIdsNotExpired(any())).thenReturn(Collections.emptyList());
+
+		revokedTokens.purge();
+
+		assertFalse(revokedTokens.isRevoked(claims("restored")));
+		verify(revokedTokenRepository, times(2)).deleteExpired(any());
+		verify(revokedTokenRepository, never()).existsById("restored");
+	}
+
+	private static JwtClaims claims(String tokenId) {
+		long now = System.currentTimeMillis();
+		return new JwtClaims(tokenId, 1L, "user", Role.ROLE_USER, now, now + 3600000L);
+	}
+}
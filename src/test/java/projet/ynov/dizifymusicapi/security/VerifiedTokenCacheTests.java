@@ -0,0 +1,65 @@
+package projet.ynov.dizifymusicapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import projet.ynov.dizifymusicapi.enums.Role;
+
+class VerifiedTokenCacheTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+	private MeterRegistry meterRegistry;
+	private VerifiedTokenCache cache;
+
+	@BeforeEach
+	void createCache() {
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new VerifiedTokenCache(meterRegistry, 100, nanos::get);
+	}
+
+	@Test
+	void entriesExpireWithTheirToken() {
+		JwtClaims claims = claims(System.currentTimeMillis() + 60000);
+		cache.put("token", claims);
+
+		assertSame(claims, cache.get("token"));
+		assertNull(cache.get("other token"));
+
+		// Reads do not extend the lifetime of the entry
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+		assertSame(claims, cache.get("token"));
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+		assertNull(cache.get("token"));
+	}
+
+	@Test
+	void expiredTokensAreNotCached() {
+		cache.put("token", claims(System.currentTimeMillis() - 1000));
+
+		assertNull(cache.get("token"));
+	}
+
+	@Test
+	void publishesTheHitsAndMisses() {
+		cache.put("token", claims(System.currentTimeMillis() + 60000));
+		cache.get("token");
+		cache.get("token");
+		cache.get("other token");
+
+		assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "jwt.tokens").tag("result", "hit").functionCounter().count());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.tokens").tag("result", "miss").functionCounter().count());
+	}
+
+	private static JwtClaims claims(long expiresAt) {
+		return new JwtClaims("token-id", 1L, "user", Role.ROLE_USER, expiresAt - 3600000L, expiresAt);
+	}
+}
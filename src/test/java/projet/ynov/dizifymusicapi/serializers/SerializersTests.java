@@ -0,0 +1,234 @@
+package projet.ynov.dizifymusicapi.serializers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
+import java.sql.Time;
+import java.text.SimpleDateFormat;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import projet.ynov.dizifymusicapi.entity.Admin;
+import projet.ynov.dizifymusicapi.entity.Album;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Favorite;
+import projet.ynov.dizifymusicapi.entity.Playlist;
+import projet.ynov.dizifymusicapi.entity.PlaylistTitle;
+import projet.ynov.dizifymusicapi.entity.Title;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.projections.AlbumRow;
+import projet.ynov.dizifymusicapi.projections.ArtistRow;
+import projet.ynov.dizifymusicapi.projections.PlaylistRow;
+import projet.ynov.dizifymusicapi.projections.TitleRow;
+
+/**
+ * The serializers output, dates are written in CET whatever the default time zone.
+ */
+class SerializersTests {
+
+	// Summer and winter time
+	private static final Date SUMMER = new Date(1600000000123L);
+	private static final Date WINTER = new Date(1580000000456L);
+	// Publication dates are read from the database as timestamps
+	private static final Timestamp PUBLICATION = new Timestamp(1590000000789L);
+
+	private static TimeZone defaultTimeZone;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@BeforeAll
+	static void fixDefaultTimeZone() {
+		// Timestamp.toString depends on it
+		defaultTimeZone = TimeZone.getDefault();
+		TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+	}
+
+	@AfterAll
+	static void restoreDefaultTimeZone() {
+		TimeZone.setDefault(defaultTimeZone);
+	}
+
+	@Test
+	void title() throws Exception {
+		assertEquals("{\"id\":11,\"name\":\"title\",\"duration\":\"00:03:30\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"favoriteId\":22,\"album\":{\"id\":2,\"name\":\"album\",\"publicationDate\":\"2020-05-20 18:40:00.789\",\"image\":\"https://picsum.photos/200\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"},\"author\":{\"id\":1,\"name\":\"artist\",\"image\":\"https://i.pravatar.cc/200\",\"description\":\"description\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}}", objectMapper.writeValueAsString(catalog().getTitles().iterator().next()));
+	}
+
+	@Test
+	void album() throws Exception {
+		assertEquals("{\"id\":2,\"name\":\"album\",\"image\":\"https://picsum.photos/200\",\"publicationDate\":\"2020-05-20 18:40:00.789\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"favoriteId\":null,\"titles\":[{\"id\":11,\"name\":\"title\",\"duration\":\"00:03:30\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"favoriteId\":22}],\"author\":{\"id\":1,\"name\":\"artist\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}}", objectMapper.writeValueAsString(catalog().getAlbums().iterator().next()));
+	}
+
+	@Test
+	void artist() throws Exception {
+		assertEquals("{\"id\":1,\"name\":\"artist\",\"image\":\"https://i.pravatar.cc/200\",\"description\":\"description\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"favoriteId\":21,\"titles\":[{\"id\":11,\"name\":\"title\",\"duration\":\"00:03:30\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"favoriteId\":22,\"album\":2},{\"id\":12,\"name\":\"single\",\"duration\":\"00:04:00\",\"updatedAt\":\"2020-01-26T01:53:20.456+01:00\",\"createdAt\":\"2020-09-13T14:26:40.123+02:00\",\"favoriteId\":null,\"album\":null}],\"albums\":[{\"id\":2,\"name\":\"album\",\"image\":\"https://picsum.photos/200\",\"publicationDate\":\"2020-05-20T20:40:00.789+02:00\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}]}", objectMapper.writeValueAsString(catalog()));
+	}
+
+	@Test
+	void favorites() throws Exception {
+		Artist artist = catalog();
+		Album album = artist.getAlbums().iterator().next();
+		Title title = artist.getTitles().iterator().next();
+
+		Favorite albumFavorite = favorite(31);
+		albumFavorite.setAlbum(album);
+		Favorite artistFavorite = favorite(32);
+		artistFavorite.setArtist(artist);
+		Favorite titleFavorite = favorite(33);
+		titleFavorite.setTitle(title);
+
+		assertEquals("[{\"id\":31,\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"type\":\"ALBUM_TYPE\",\"album_id\":2,\"name\":\"album\",\"publicationDate\":\"2020-05-20 18:40:00.789\",\"image\":\"https://picsum.photos/200\",\"artist\":{\"id\":1,\"name\":\"artist\",\"image\":\"https://i.pravatar.cc/200\",\"description\":\"description\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}},{\"id\":32,\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"type\":\"ARTIST_TYPE\",\"artist_id\":1,\"name\":\"artist\",\"image\":\"https://i.pravatar.cc/200\",\"image\":\"https://i.pravatar.cc/200\"},{\"id\":33,\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"type\":\"TITLE_TYPE\",\"title_id\":11,\"name\":\"title\",\"duration\":\"00:03:30\",\"artist\":{\"id\":1,\"name\":\"artist\",\"image\":\"https://i.pravatar.cc/200\",\"description\":\"description\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}}]", objectMapper.writeValueAsString(Arrays.asList(albumFavorite, artistFavorite, titleFavorite)));
+	}
+
+	@Test
+	void playlistAndUser() throws Exception {
+		Artist artist = catalog();
+
+		User user = new User();
+		user.setId(41);
+		user.setUsername("user");
+		user.setEmail("user@gmail.com");
+		user.setImage("https://i.pravatar.cc/200");
+		user.setCreatedAt(WINTER);
+		user.setUpdatedAt(SUMMER);
+		user.setToken("token");
+
+		Playlist playlist = new Playlist();
+		playlist.setId(42);
+		playlist.setName("playlist");
+		playlist.setCreatedAt(WINTER);
+		playlist.setUpdatedAt(SUMMER);
+		playlist.setTrackCount(2);
+		playlist.setTotalDurationSeconds(450);
+		playlist.setUser(user);
+		List<PlaylistTitle> titles = new ArrayList<PlaylistTitle>();
+		for (Title title : artist.getTitles()) {
+			titles.add(new PlaylistTitle(playlist, title, (titles.size() + 1) * PlaylistTitle.POSITION_GAP));
+		}
+		playlist.setTitles(titles);
+		user.setPlaylists(new LinkedHashSet<Playlist>(Arrays.asList(playlist)));
+
+		assertEquals("{\"id\":42,\"name\":\"playlist\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"trackCount\":2,\"totalDurationSeconds\":450,\"titles\":[{\"id\":11,\"name\":\"title\",\"duration\":\"00:03:30\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"author\":{\"id\":1,\"name\":\"artist\",\"image\":\"https://i.pravatar.cc/200\",\"description\":\"description\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}},{\"id\":12,\"name\":\"single\",\"duration\":\"00:04:00\",\"updatedAt\":\"2020-01-26T01:53:20.456+01:00\",\"createdAt\":\"2020-09-13T14:26:40.123+02:00\",\"author\":{\"id\":1,\"name\":\"artist\",\"image\":\"https://i.pravatar.cc/200\",\"description\":\"description\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}}]}", objectMapper.writeValueAsString(playlist));
+		assertEquals("{\"id\":11,\"name\":\"title\",\"duration\":\"00:03:30\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"author\":{\"id\":1,\"name\":\"artist\",\"image\":\"https://i.pravatar.cc/200\",\"description\":\"description\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}}", objectMapper.writeValueAsString(titles.get(0)));
+		assertEquals("{\"id\":41,\"username\":\"user\",\"email\":\"user@gmail.com\",\"image\":\"https://i.pravatar.cc/200\",\"role\":\"ROLE_USER\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"token\":\"token\",\"playlists\":[{\"id\":42,\"name\":\"playlist\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}]}", objectMapper.writeValueAsString(user));
+	}
+
+	@Test
+	void admin() throws Exception {
+		Admin admin = new Admin();
+		admin.setId(51);
+		admin.setUsername("admin");
+		admin.setEmail("admin@gmail.com");
+		admin.setImage("https://i.pravatar.cc/200");
+		admin.setCreatedAt(WINTER);
+		admin.setUpdatedAt(SUMMER);
+
+		assertEquals("{\"id\":51,\"username\":\"admin\",\"email\":\"admin@gmail.com\",\"image\":\"https://i.pravatar.cc/200\",\"role\":\"ROLE_ADMIN\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}", objectMapper.writeValueAsString(admin));
+	}
+
+	@Test
+	void rows() throws Exception {
+		TitleRow title = new TitleRow(11, "title", Time.valueOf("00:03:30"), WINTER, SUMMER,
+				2L, "album", "https://picsum.photos/200", PUBLICATION, WINTER, SUMMER,
+				1L, "artist", "https://i.pravatar.cc/200", "description", WINTER, SUMMER);
+		title.setFavoriteId(61);
+		TitleRow single = new TitleRow(12, "single", Time.valueOf("00:04:00"), SUMMER, WINTER, null, 1L);
+
+		AlbumRow album = new AlbumRow(2, "album", "https://picsum.photos/200", PUBLICATION, WINTER, SUMMER, 1L, "artist", WINTER, SUMMER);
+		album.getTitles().add(new TitleRow(11, "title", Time.valueOf("00:03:30"), WINTER, SUMMER, 2L, 1L));
+		album.setFavoriteId(62);
+
+		ArtistRow artist = new ArtistRow(1, "artist", "https://i.pravatar.cc/200", "description", WINTER, SUMMER);
+		artist.getTitles().add(new TitleRow(11, "title", Time.valueOf("00:03:30"), WINTER, SUMMER, 2L, 1L));
+		artist.getTitles().add(single);
+		artist.getAlbums().add(new AlbumRow(2, "album", "https://picsum.photos/200", PUBLICATION, WINTER, SUMMER, 1L));
+
+		assertEquals("[{\"id\":11,\"name\":\"title\",\"duration\":\"00:03:30\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"favoriteId\":61,\"album\":{\"id\":2,\"name\":\"album\",\"publicationDate\":\"2020-05-20 18:40:00.789\",\"image\":\"https://picsum.photos/200\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"},\"author\":{\"id\":1,\"name\":\"artist\",\"image\":\"https://i.pravatar.cc/200\",\"description\":\"description\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}},{\"id\":12,\"name\":\"single\",\"duration\":\"00:04:00\",\"updatedAt\":\"2020-01-26T01:53:20.456+01:00\",\"createdAt\":\"2020-09-13T14:26:40.123+02:00\",\"favoriteId\":null,\"album\":null,\"author\":null}]", objectMapper.writeValueAsString(Arrays.asList(title, single)));
+		assertEquals("{\"id\":2,\"name\":\"album\",\"image\":\"https://picsum.photos/200\",\"publicationDate\":\"2020-05-20 18:40:00.789\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"favoriteId\":62,\"titles\":[{\"id\":11,\"name\":\"title\",\"duration\":\"00:03:30\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"favoriteId\":null}],\"author\":{\"id\":1,\"name\":\"artist\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}}", objectMapper.writeValueAsString(album));
+		assertEquals("{\"id\":1,\"name\":\"artist\",\"image\":\"https://i.pravatar.cc/200\",\"description\":\"description\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"favoriteId\":null,\"titles\":[{\"id\":11,\"name\":\"title\",\"duration\":\"00:03:30\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"favoriteId\":null,\"album\":2},{\"id\":12,\"name\":\"single\",\"duration\":\"00:04:00\",\"updatedAt\":\"2020-01-26T01:53:20.456+01:00\",\"createdAt\":\"2020-09-13T14:26:40.123+02:00\",\"favoriteId\":null,\"album\":null}],\"albums\":[{\"id\":2,\"name\":\"album\",\"image\":\"https://picsum.photos/200\",\"publicationDate\":\"2020-05-20T20:40:00.789+02:00\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\"}]}", objectMapper.writeValueAsString(artist));
+		assertEquals("{\"id\":42,\"name\":\"playlist\",\"updatedAt\":\"2020-09-13T14:26:40.123+02:00\",\"createdAt\":\"2020-01-26T01:53:20.456+01:00\",\"trackCount\":2,\"totalDurationSeconds\":450}", objectMapper.writeValueAsString(new PlaylistRow(42, "playlist", WINTER, SUMMER, 2, 450L)));
+	}
+
+	@Test
+	void datesAreFormattedAsBefore() throws Exception {
+		// Around the summer time changes, and a date before the epoch
+		long[] dates = { 1585443599999L, 1585443600000L, 1603587599999L, 1603587600000L, -1234567890123L, SUMMER.getTime(), WINTER.getTime() };
+		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+		sdf.setTimeZone(TimeZone.getTimeZone("CET"));
+
+		for (long date : dates) {
+			StringWriter out = new StringWriter();
+			JsonGenerator jgen = objectMapper.getFactory().createGenerator(out);
+			SerializerSupport.writeDate(jgen, new Date(date));
+			jgen.close();
+
+			assertEquals("\"" + sdf.format(new Date(date)) + "\"", out.toString());
+		}
+	}
+
+	/**
+	 * An artist with an album of one title, and a single.
+	 */
+	private Artist catalog() {
+		Artist artist = new Artist();
+		artist.setId(1);
+		artist.setName("artist");
+		artist.setImage("https://i.pravatar.cc/200");
+		artist.setDescription("description");
+		artist.setCreatedAt(WINTER);
+		artist.setUpdatedAt(SUMMER);
+		artist.setFavoriteId(21);
+
+		Album album = new Album();
+		album.setId(2);
+		album.setName("album");
+		album.setImage("https://picsum.photos/200");
+		album.setPublicationDate(PUBLICATION);
+		album.setCreatedAt(WINTER);
+		album.setUpdatedAt(SUMMER);
+		album.setAuthor(artist);
+
+		Title title = new Title();
+		title.setId(11);
+		title.setName("title");
+		title.setDuration(Time.valueOf("00:03:30"));
+		title.setCreatedAt(WINTER);
+		title.setUpdatedAt(SUMMER);
+		title.setAuthor(artist);
+		title.setAlbum(album);
+		title.setFavoriteId(22);
+
+		Title single = new Title();
+		single.setId(12);
+		single.setName("single");
+		single.setDuration(Time.valueOf("00:04:00"));
+		single.setCreatedAt(SUMMER);
+		single.setUpdatedAt(WINTER);
+		single.setAuthor(artist);
+
+		album.setTitles(new LinkedHashSet<Title>(Arrays.asList(title)));
+		artist.setAlbums(new LinkedHashSet<Album>(Arrays.asList(album)));
+		artist.setTitles(new LinkedHashSet<Title>(Arrays.asList(title, single)));
+
+		return artist;
+	}
+
+	private Favorite favorite(long id) {
+		Favorite favorite = new Favorite();
+		favorite.setId(id);
+		favorite.setCreatedAt(WINTER);
+		favorite.setUpdatedAt(SUMMER);
+		return favorite;
+	}
+}
@@ -0,0 +1,116 @@
+package projet.ynov.dizifymusicapi.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Date;
+import java.util.UUID;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import projet.ynov.dizifymusicapi.TestUsers;
+import projet.ynov.dizifymusicapi.entity.Artist;
+import projet.ynov.dizifymusicapi.entity.Favorite;
+import projet.ynov.dizifymusicapi.entity.User;
+import projet.ynov.dizifymusicapi.entity.params.ArtistParams;
+import projet.ynov.dizifymusicapi.entity.params.FavoriteParams;
+import projet.ynov.dizifymusicapi.enums.FavoriteType;
+import projet.ynov.dizifymusicapi.repositories.ArtistRepository;
+import projet.ynov.dizifymusicapi.repositories.FavoriteRepository;
+import projet.ynov.dizifymusicapi.repositories.UserRepository;
+
+@SpringBootTest
+class FavoritesIndexTests {
+
+	@Autowired
+	private FavoritesIndex favoritesIndex;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ArtistRepository artistRepository;
+	@Autowired
+	private FavoriteRepository favoriteRepository;
+
+	private User user;
+	private Artist artist;
+
+	@BeforeEach
+	void createUserAndArtist() {
+		String name = "index-" + UUID.randomUUID();
+		user = TestUsers.create(userRepository, name);
+		artist = artistRepository.save(new Artist(new ArtistParams(name, "https://i.pravatar.cc/200", "description", new Date(), new Date())));
+	}
+
+	@Test
+	void loadsOnceThenServesFromMemory() {
+		Favorite favorite = favoriteRepository.save(artistFavorite());
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		statistics.clear();
+		UserFavorites favorites = favoritesIndex.get(user.getId());
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(favorite.getId(), favorites.favoriteId(FavoriteType.ARTIST, artist.getId()));
+
+		statistics.clear();
+		assertSame(favorites, favoritesIndex.get(user.getId()));
+		assertEquals(0, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void isUpdatedInPlaceOnCreateAndDelete() {
+		UserFavorites favorites = favoritesIndex.get(user.getId());
+		assertEquals(0L, favorites.favoriteId(FavoriteType.ARTIST, artist.getId()));
+
+		Favorite favorite = favoriteRepository.save(artistFavorite());
+		favoritesIndex.added(favorite);
+		assertEquals(favorite.getId(), favoritesIndex.get(user.getId()).favoriteId(FavoriteType.ARTIST, artist.getId()));
+
+		favoriteRepository.delete(favorite);
+		favoritesIndex.removed(favorite);
+		assertEquals(0L, favoritesIndex.get(user.getId()).favoriteId(FavoriteType.ARTIST, artist.getId()));
+	}
+
+	@Test
+	void keepsATargetFavoritedTwice() {
+		Favorite first = favoriteRepository.save(artistFavorite());
+		Favorite second = favoriteRepository.save(artistFavorite());
+		long indexed = favoritesIndex.get(user.getId()).favoriteId(FavoriteType.ARTIST, artist.getId());
+		Favorite other = indexed == first.getId() ? second : first;
+
+		favoriteRepository.delete(other);
+		favoritesIndex.removed(other);
+
+		assertEquals(indexed, favoritesIndex.get(user.getId()).favoriteId(FavoriteType.ARTIST, artist.getId()));
+	}
+
+	@Test
+	void keepsATargetWhenItsIndexedFavoriteIsDeleted() {
+		favoritesIndex.get(user.getId());
+		Favorite first = favoriteRepository.save(artistFavorite());
+		favoritesIndex.added(first);
+		Favorite second = favoriteRepository.save(artistFavorite());
+		favoritesIndex.added(second);
+		assertEquals(second.getId(), favoritesIndex.get(user.getId()).favoriteId(FavoriteType.ARTIST, artist.getId()));
+
+		favoriteRepository.delete(second);
+		favoritesIndex.removed(second);
+
+		assertEquals(first.getId(), favoritesIndex.get(user.getId()).favoriteId(FavoriteType.ARTIST, artist.getId()));
+	}
+
+	private Favorite artistFavorite() {
+		Favorite favorite = new Favorite(new FavoriteParams(new Date(), new Date()));
+		favorite.setUser(user);
+		favorite.setArtist(artist);
+		return favorite;
+	}
+}
@@ -0,0 +1,72 @@
+package projet.ynov.dizifymusicapi.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import projet.ynov.dizifymusicapi.exceptions.ServiceBusyException;
+
+class PasswordHashingServiceTests {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	// Hashes wait for the release of the latch
+	private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+		@Override
+		public String encode(CharSequence rawPassword) {
+			await();
+			return "hash:" + rawPassword;
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			await();
+			return encodedPassword.equals("hash:" + rawPassword);
+		}
+	};
+
+	private final PasswordHashingService service = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 2, 3);
+
+	@AfterEach
+	void shutdown() {
+		release.countDown();
+		service.shutdown();
+	}
+
+	@Test
+	void rejectsRightAwayWhenSaturated() throws Exception {
+		// One hash running, two queued
+		CompletableFuture<String> running = service.encode("running");
+		CompletableFuture<Boolean> queued = service.matches("queued", "hash:queued");
+		service.encode("queued");
+
+		ServiceBusyException busy = assertThrows(ServiceBusyException.class, () -> service.encode("rejected"));
+		assertEquals(3, busy.getRetryAfterSeconds());
+		assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+		assertEquals(2.0, meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value());
+
+		release.countDown();
+		assertEquals("hash:running", running.get(5, TimeUnit.SECONDS));
+		assertTrue(queued.get(5, TimeUnit.SECONDS));
+		assertEquals(1L, meterRegistry.get("password.hashing").tag("operation", "matches").timer().count());
+	}
+
+	private void await() {
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}